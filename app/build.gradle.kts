@@ -1,3 +1,18 @@
+import groovy.json.JsonSlurper
+import java.security.MessageDigest
+import java.sql.DriverManager
+import java.util.zip.CRC32
+
+buildscript {
+    repositories {
+        mavenCentral()
+    }
+    dependencies {
+        // Driver SQLite usado solo en tiempo de build para generar la base de datos semilla
+        classpath("org.xerial:sqlite-jdbc:3.45.1.0")
+    }
+}
+
 plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.kotlin.android)
@@ -43,6 +58,16 @@ android {
     }
     buildFeatures {
         viewBinding = true
+        // BuildConfig.DEBUG activa StrictMode y el guardián de consultas en el hilo principal
+        buildConfig = true
+    }
+    sourceSets {
+        // Esquemas exportados por Room (room.schemaLocation): los lee MigrationTestHelper
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
+    testOptions {
+        // android.util.Log en los tests JVM (p. ej. avisos de WriteQueue) devuelve 0 en lugar de lanzar
+        unitTests.isReturnDefaultValues = true
     }
     kotlinOptions {
         jvmTarget = "11"
@@ -90,4 +115,429 @@ dependencies {
     testImplementation("junit:junit:4.13.2")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
+    androidTestImplementation("androidx.room:room-testing:$roomVersion")
+}
+
+// ==================== DATOS DERIVADOS DEL CATÁLOGO ====================
+
+/**
+ * Grafo evolutivo de evolutions.json, indexado por número de Pokédex.
+ * Lo calcula solo CatalogDerivation y lo comparten la semilla, el hash del
+ * catálogo y EvolutionTables, así que las tres ven la misma etapa y las
+ * mismas formas previa y siguiente.
+ */
+class EvolutionGraph(
+    val maxNumber: Int,
+    /** Especie de la que evoluciona cada número (0 = forma base) */
+    val evolvesFrom: IntArray,
+    /** Primera evolución declarada (0 = no evoluciona); Eevee -> Vaporeon */
+    val evolvesTo: IntArray,
+    /** Todas las evoluciones de cada número, en orden de declaración */
+    val branches: List<List<Int>>,
+    /** Etapa evolutiva: 0 = base, 1 = primera, 2 = segunda */
+    val stage: IntArray
+)
+
+/**
+ * Derivaciones del catálogo que necesitan varias tareas de build. Es el único
+ * sitio que calcula el grafo evolutivo y los códigos de PokemonType.
+ *
+ * Los tipos no se copian en el script: se leen de PokemonType.java, cuyas
+ * constantes llevan como primer argumento su nombre en pokedex.json y cuyo
+ * orden fija el código (posición + 1). Añadir un tipo al enum cambia la
+ * semilla en el siguiente build, sin pasos manuales.
+ */
+object CatalogDerivation {
+    private val TYPE_CONSTANT = Regex("""^\s+[A-Z_]+\("([^"]+)"""", RegexOption.MULTILINE)
+
+    fun evolutionGraph(pokedex: List<Map<String, Any?>>, evolutions: List<Map<String, Any?>>): EvolutionGraph {
+        val maxNumber = pokedex.maxOf { (it["number"] as Number).toInt() }
+        val evolvesFrom = IntArray(maxNumber + 1)
+        val evolvesTo = IntArray(maxNumber + 1)
+        val branches = List(maxNumber + 1) { mutableListOf<Int>() }
+        for (evolution in evolutions) {
+            val from = (evolution["from"] as Number).toInt()
+            val to = (evolution["to"] as Number).toInt()
+            require(from in 1..maxNumber && to in 1..maxNumber) { "Evolución fuera de rango: $from -> $to" }
+            // Evolutions coloca cada familia como un árbol: una sola forma previa por especie
+            require(evolvesFrom[to] == 0) { "$to evoluciona de más de una especie" }
+            evolvesFrom[to] = from
+            if (evolvesTo[from] == 0) evolvesTo[from] = to
+            branches[from].add(to)
+        }
+
+        val stage = IntArray(maxNumber + 1)
+        for (number in 1..maxNumber) {
+            var current = evolvesFrom[number]
+            while (current != 0) {
+                stage[number]++
+                require(stage[number] <= maxNumber) { "Ciclo en la cadena evolutiva de $number" }
+                current = evolvesFrom[current]
+            }
+        }
+        return EvolutionGraph(maxNumber, evolvesFrom, evolvesTo, branches, stage)
+    }
+
+    /** PokemonType.jsonName de cada constante, en el orden del enum */
+    fun typeNames(pokemonTypeSource: File): List<String> {
+        val constants = pokemonTypeSource.readText()
+            .substringAfter("enum PokemonType {")
+            .substringBefore(");")
+        val names = TYPE_CONSTANT.findAll(constants).map { it.groupValues[1] }.toList()
+        require(names.isNotEmpty()) { "No se encontraron constantes de PokemonType en $pokemonTypeSource" }
+        return names
+    }
+
+    /** PokemonType.code del nombre de tipo de pokedex.json, o null (vacío o desconocido) */
+    fun typeCode(typeNames: List<String>, name: String?): Int? =
+        name?.let { typeNames.indexOf(it) }?.takeIf { it >= 0 }?.plus(1)
+
+    /** PokemonType.mask de un código (0 para null) */
+    fun typeMask(code: Int?): Int = if (code == null) 0 else 1 shl (code - 1)
+}
+
+// ==================== VERSIONADO DEL CATÁLOGO ====================
+
+/**
+ * Hashes del catálogo compartidos por la base de datos semilla y CatalogVersion.
+ *
+ * rowHash debe producir el mismo valor que CatalogSeeder.rowHash(): la forma
+ * canónica de una especie son sus campos separados por U+001F, con U+0000 para
+ * los valores nulos, seguidos de etapa, evolvesFrom y evolvesTo.
+ */
+object CatalogRows {
+    fun canonical(data: Map<String, Any?>, stage: Int, evolvesFrom: Int, evolvesTo: Int): String {
+        val fields = listOf("name", "nameEn", "type1", "type2", "description", "descriptionEn").map { key ->
+            val value = data[key] as String?
+            if (key == "type2" && value != null && value.isEmpty()) null else value
+        }
+        return buildString {
+            append((data["number"] as Number).toInt())
+            fields.forEach { append('\u001f').append(it ?: "\u0000") }
+            append('\u001f').append(stage)
+            append('\u001f').append(evolvesFrom)
+            append('\u001f').append(evolvesTo)
+        }
+    }
+
+    fun rowHash(canonical: String): Int =
+        CRC32().apply { update(canonical.toByteArray(Charsets.UTF_8)) }.value.toInt()
+
+    /** Hash de todo el catálogo: cambia si cambia cualquier especie o el orden */
+    fun contentHash(canonicalRows: List<String>): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        canonicalRows.forEach { digest.update(it.toByteArray(Charsets.UTF_8)); digest.update(10) }
+        return digest.digest().take(8).joinToString("") { "%02x".format(it) }
+    }
+
+    /** Forma canónica de todas las especies, con los datos evolutivos de evolutions.json */
+    fun canonicalRows(pokedex: List<Map<String, Any?>>, evolutions: List<Map<String, Any?>>): List<String> {
+        val graph = CatalogDerivation.evolutionGraph(pokedex, evolutions)
+        return pokedex.map { data ->
+            val number = (data["number"] as Number).toInt()
+            canonical(data, graph.stage[number], graph.evolvesFrom[number], graph.evolvesTo[number])
+        }
+    }
+}
+
+/**
+ * Genera com.example.pokerun.data.catalog.CatalogVersion con el hash de contenido
+ * del catálogo. CatalogSeeder lo compara con el guardado en catalog_meta para
+ * decidir, con una sola consulta, si hay que sincronizar.
+ */
+abstract class GenerateCatalogVersionTask : DefaultTask() {
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val pokedexJson: RegularFileProperty
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val evolutionsJson: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        @Suppress("UNCHECKED_CAST")
+        val pokedex = JsonSlurper().parse(pokedexJson.get().asFile, "UTF-8") as List<Map<String, Any?>>
+        @Suppress("UNCHECKED_CAST")
+        val evolutions = JsonSlurper().parse(evolutionsJson.get().asFile, "UTF-8") as List<Map<String, Any?>>
+        val contentHash = CatalogRows.contentHash(CatalogRows.canonicalRows(pokedex, evolutions))
+
+        val file = outputDir.file("com/example/pokerun/data/catalog/CatalogVersion.java").get().asFile
+        file.parentFile.mkdirs()
+        file.writeText(
+            """
+            |// Generado por la tarea generateCatalogVersion a partir de pokedex.json y evolutions.json.
+            |// No editar a mano.
+            |package com.example.pokerun.data.catalog;
+            |
+            |public final class CatalogVersion {
+            |    private CatalogVersion() {}
+            |
+            |    /** Hash de contenido del catálogo empaquetado en este APK */
+            |    public static final String CONTENT_HASH = "$contentHash";
+            |
+            |    /** Número de especies del catálogo */
+            |    public static final int SPECIES_COUNT = ${pokedex.size};
+            |}
+            |""".trimMargin()
+        )
+    }
+}
+
+val generateCatalogVersion = tasks.register<GenerateCatalogVersionTask>("generateCatalogVersion") {
+    pokedexJson.set(layout.projectDirectory.file("src/main/assets/pokedex.json"))
+    evolutionsJson.set(layout.projectDirectory.file("src/main/assets/evolutions.json"))
+}
+
+// ==================== BASE DE DATOS SEMILLA ====================
+
+/**
+ * Genera la base de datos precargada (assets/database/pokerun_seed.db) a partir de
+ * pokedex.json y evolutions.json. Room la copia en el primer arranque mediante
+ * createFromAsset(), de modo que el catálogo ya está disponible sin parsear JSON.
+ *
+ * El esquema no se copia en el script: se ejecutan las sentencias createSql,
+ * de índices y setupQueries del último esquema exportado por Room
+ * (app/schemas/, room.schemaLocation), y user_version es su versión. Así la
+ * semilla es la base de datos que crearía Room para las entidades actuales,
+ * con su identityHash; si el esquema exportado se queda atrás, Room lo rechaza
+ * al abrir la copia. Los tipos y el grafo evolutivo salen de CatalogDerivation.
+ * También rellena catalog_rows y catalog_meta, de modo que una instalación nueva
+ * ya está sincronizada con CatalogVersion y no reescribe ninguna especie.
+ */
+abstract class GenerateCatalogSeedTask : DefaultTask() {
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val pokedexJson: RegularFileProperty
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val evolutionsJson: RegularFileProperty
+
+    /** Esquemas exportados por Room; se usa el de versión más alta */
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val schemaDir: DirectoryProperty
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val pokemonTypeSource: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        val dbFile = outputDir.file("database/pokerun_seed.db").get().asFile
+        dbFile.parentFile.mkdirs()
+        dbFile.delete()
+
+        @Suppress("UNCHECKED_CAST")
+        val pokedex = JsonSlurper().parse(pokedexJson.get().asFile, "UTF-8") as List<Map<String, Any?>>
+        @Suppress("UNCHECKED_CAST")
+        val evolutions = JsonSlurper().parse(evolutionsJson.get().asFile, "UTF-8") as List<Map<String, Any?>>
+
+        val graph = CatalogDerivation.evolutionGraph(pokedex, evolutions)
+        val typeNames = CatalogDerivation.typeNames(pokemonTypeSource.get().asFile)
+        val canonicalRows = CatalogRows.canonicalRows(pokedex, evolutions)
+        val schema = readSchema(latestSchema(schemaDir.get().asFile))
+
+        Class.forName("org.sqlite.JDBC")
+        DriverManager.getConnection("jdbc:sqlite:${dbFile.absolutePath}").use { connection ->
+            connection.createStatement().use { statement ->
+                schema.statements.forEach { statement.execute(it) }
+            }
+            connection.autoCommit = false
+            connection.prepareStatement(
+                "INSERT INTO species (pokedexNumber, name, type1, type2, typeMask, evolutionStage, " +
+                    "evolvesFrom, evolvesTo) VALUES (?, ?, ?, ?, ?, ?, ?, ?)"
+            ).use { insertSpecies ->
+                connection.prepareStatement(
+                    "INSERT INTO pokedex_entries (pokedexNumber, name, nameEn, type1, type2, " +
+                        "description, descriptionEn, isUnlocked) VALUES (?, ?, ?, ?, ?, ?, ?, 0)"
+                ).use { insertEntry ->
+                    for (data in pokedex) {
+                        val number = (data["number"] as Number).toInt()
+                        val type1 = CatalogDerivation.typeCode(typeNames, data["type1"] as String?)
+                        val type2 = CatalogDerivation.typeCode(typeNames, data["type2"] as String?)
+                        val typeMask = CatalogDerivation.typeMask(type1) or CatalogDerivation.typeMask(type2)
+
+                        insertSpecies.setInt(1, number)
+                        insertSpecies.setString(2, data["name"] as String?)
+                        insertSpecies.setObject(3, type1)
+                        insertSpecies.setObject(4, type2)
+                        insertSpecies.setInt(5, typeMask)
+                        insertSpecies.setInt(6, graph.stage[number])
+                        insertSpecies.setInt(7, graph.evolvesFrom[number])
+                        insertSpecies.setInt(8, graph.evolvesTo[number])
+                        insertSpecies.addBatch()
+
+                        insertEntry.setInt(1, number)
+                        insertEntry.setString(2, data["name"] as String?)
+                        insertEntry.setString(3, data["nameEn"] as String?)
+                        insertEntry.setObject(4, type1)
+                        insertEntry.setObject(5, type2)
+                        insertEntry.setString(6, data["description"] as String?)
+                        insertEntry.setString(7, data["descriptionEn"] as String?)
+                        insertEntry.addBatch()
+                    }
+                    insertSpecies.executeBatch()
+                    insertEntry.executeBatch()
+                }
+            }
+            connection.prepareStatement(
+                "INSERT INTO catalog_rows (pokedexNumber, rowHash) VALUES (?, ?)"
+            ).use { insertRow ->
+                pokedex.forEachIndexed { index, data ->
+                    insertRow.setInt(1, (data["number"] as Number).toInt())
+                    insertRow.setInt(2, CatalogRows.rowHash(canonicalRows[index]))
+                    insertRow.addBatch()
+                }
+                insertRow.executeBatch()
+            }
+            connection.prepareStatement(
+                "INSERT INTO catalog_meta (name, value) VALUES ('content_hash', ?)"
+            ).use { insertMeta ->
+                insertMeta.setString(1, CatalogRows.contentHash(canonicalRows))
+                insertMeta.executeUpdate()
+            }
+            connection.commit()
+            connection.autoCommit = true
+            connection.createStatement().use { it.execute("PRAGMA user_version = ${schema.version}") }
+        }
+        logger.lifecycle("Base de datos semilla generada (esquema ${schema.version}): ${pokedex.size} especies -> $dbFile")
+    }
+
+    /** Sentencias de creación de un esquema exportado y su versión */
+    private class RoomSchema(val version: Int, val statements: List<String>)
+
+    /** N.json con la N más alta: el esquema de la @Database(version) actual */
+    private fun latestSchema(dir: File): File =
+        dir.listFiles { file -> file.name.matches(Regex("\\d+\\.json")) }
+            ?.maxByOrNull { it.nameWithoutExtension.toInt() }
+            ?: throw GradleException("No hay esquemas exportados por Room en $dir")
+
+    /** Tablas e índices en el orden del export y después setupQueries (room_master_table) */
+    @Suppress("UNCHECKED_CAST")
+    private fun readSchema(file: File): RoomSchema {
+        val database = (JsonSlurper().parse(file, "UTF-8") as Map<String, Any?>)["database"] as Map<String, Any?>
+        val statements = mutableListOf<String>()
+        for (entity in database["entities"] as List<Map<String, Any?>>) {
+            val table = entity["tableName"] as String
+            statements += (entity["createSql"] as String).replace("\${TABLE_NAME}", table)
+            for (index in entity["indices"] as List<Map<String, Any?>>) {
+                statements += (index["createSql"] as String).replace("\${TABLE_NAME}", table)
+            }
+        }
+        statements += database["setupQueries"] as List<String>
+        return RoomSchema((database["version"] as Number).toInt(), statements)
+    }
+}
+
+val generateCatalogSeed = tasks.register<GenerateCatalogSeedTask>("generateCatalogSeed") {
+    pokedexJson.set(layout.projectDirectory.file("src/main/assets/pokedex.json"))
+    evolutionsJson.set(layout.projectDirectory.file("src/main/assets/evolutions.json"))
+    schemaDir.set(layout.projectDirectory.dir("schemas/com.example.pokerun.data.database.PokeRunDatabase"))
+    pokemonTypeSource.set(layout.projectDirectory.file("src/main/java/com/example/pokerun/data/catalog/PokemonType.java"))
+}
+
+// ==================== TABLAS DE EVOLUCIÓN ====================
+
+/**
+ * Genera com.example.pokerun.data.catalog.EvolutionTables a partir de evolutions.json
+ * y pokedex.json: arrays primitivos indexados por número de Pokédex, de modo que
+ * las consultas evolutivas en tiempo de ejecución son un simple acceso a array.
+ */
+abstract class GenerateEvolutionTablesTask : DefaultTask() {
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val pokedexJson: RegularFileProperty
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val evolutionsJson: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        @Suppress("UNCHECKED_CAST")
+        val pokedex = JsonSlurper().parse(pokedexJson.get().asFile, "UTF-8") as List<Map<String, Any?>>
+        @Suppress("UNCHECKED_CAST")
+        val evolutions = JsonSlurper().parse(evolutionsJson.get().asFile, "UTF-8") as List<Map<String, Any?>>
+
+        val graph = CatalogDerivation.evolutionGraph(pokedex, evolutions)
+        val maxNumber = graph.maxNumber
+
+        val branchOffsets = IntArray(maxNumber + 2)
+        for (number in 0..maxNumber) {
+            branchOffsets[number + 1] = branchOffsets[number] + graph.branches[number].size
+        }
+        val branchTargets = graph.branches.flatMap { it }
+
+        val file = outputDir.file("com/example/pokerun/data/catalog/EvolutionTables.java").get().asFile
+        file.parentFile.mkdirs()
+        file.writeText(
+            """
+            |// Generado por la tarea generateEvolutionTables a partir de evolutions.json y pokedex.json.
+            |// No editar a mano.
+            |package com.example.pokerun.data.catalog;
+            |
+            |final class EvolutionTables {
+            |    private EvolutionTables() {}
+            |
+            |    /** Número de Pokédex más alto del catálogo */
+            |    static final int MAX_NUMBER = $maxNumber;
+            |
+            |    /** Especie de la que evoluciona cada número (0 = forma base) */
+            |    static final int[] EVOLVES_FROM = {${javaArray(graph.evolvesFrom.toList())}};
+            |
+            |    /** Primera evolución declarada de cada número (0 = no evoluciona) */
+            |    static final int[] EVOLVES_TO = {${javaArray(graph.evolvesTo.toList())}};
+            |
+            |    /** Etapa evolutiva: 0 = base, 1 = primera, 2 = segunda */
+            |    static final byte[] STAGE = {${javaArray(graph.stage.toList())}};
+            |
+            |    /** Destinos de n en BRANCH_TARGETS[BRANCH_OFFSETS[n], BRANCH_OFFSETS[n + 1]) */
+            |    static final int[] BRANCH_OFFSETS = {${javaArray(branchOffsets.toList())}};
+            |
+            |    static final int[] BRANCH_TARGETS = {${javaArray(branchTargets)}};
+            |}
+            |""".trimMargin()
+        )
+    }
+
+    private fun javaArray(values: List<Int>): String =
+        values.chunked(20).joinToString(",\n            ", prefix = "\n            ", postfix = "\n    ") {
+            it.joinToString(", ")
+        }
+}
+
+val generateEvolutionTables = tasks.register<GenerateEvolutionTablesTask>("generateEvolutionTables") {
+    pokedexJson.set(layout.projectDirectory.file("src/main/assets/pokedex.json"))
+    evolutionsJson.set(layout.projectDirectory.file("src/main/assets/evolutions.json"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(
+            generateCatalogSeed,
+            GenerateCatalogSeedTask::outputDir
+        )
+        variant.sources.java?.addGeneratedSourceDirectory(
+            generateEvolutionTables,
+            GenerateEvolutionTablesTask::outputDir
+        )
+        variant.sources.java?.addGeneratedSourceDirectory(
+            generateCatalogVersion,
+            GenerateCatalogVersionTask::outputDir
+        )
+    }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.example.pokerun.data.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pokerun.data.database.dao.BagDao;
+import com.example.pokerun.data.database.dao.LedgerDao;
+import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.database.model.BagBalance;
+import com.example.pokerun.data.write.WriteFuture;
+import com.example.pokerun.data.write.WriteQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Prueba de estrés de los contadores de la mochila.
+ * 
+ * Miles de recompensas y descuentos concurrentes, directamente sobre
+ * LedgerDao.record() y a través de WriteQueue (con el mismo sumidero que la
+ * app), deben dejar la mochila con los totales exactos: los UPDATE en SQL no
+ * pierden actualizaciones, los descuentos condicionales nunca dejan un
+ * contador en negativo y la suma del libro coincide con la mochila.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BagCountersStressTest {
+    private static final String TEST_DB = "bag_counters_stress_test";
+    private static final int GRANT_THREADS = 8;
+    private static final int GRANTS_PER_THREAD = 500;
+    private static final int SPEND_THREADS = 2;
+    private static final int SPENDS_PER_THREAD = 1_500;
+    
+    private Context context;
+    private PokeRunDatabase db;
+    private BagDao bagDao;
+    private LedgerDao ledgerDao;
+    
+    @Before
+    public void createDatabase() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        db = Room.databaseBuilder(context, PokeRunDatabase.class, TEST_DB).build();
+        bagDao = db.bagDao();
+        ledgerDao = db.ledgerDao();
+        // Un movimiento nulo solo crea la mochila
+        ledgerDao.record(BagLedgerEntity.adjustment(0, 0, System.currentTimeMillis()));
+    }
+    
+    @After
+    public void deleteDatabase() {
+        db.close();
+        context.deleteDatabase(TEST_DB);
+    }
+    
+    @Test
+    public void concurrentDaoGrantsAndSpends_exactTotals() throws Exception {
+        AtomicInteger spent = new AtomicInteger();
+        
+        runConcurrently(
+            () -> {
+                for (int i = 0; i < GRANTS_PER_THREAD; i++) {
+                    assertTrue(ledgerDao.record(
+                        BagLedgerEntity.adjustment(1, 2, System.currentTimeMillis())));
+                }
+            },
+            () -> {
+                for (int i = 0; i < SPENDS_PER_THREAD; i++) {
+                    if (ledgerDao.record(BagLedgerEntity.adjustment(0, -1, System.currentTimeMillis()))) {
+                        spent.incrementAndGet();
+                    }
+                }
+            });
+        
+        int grants = GRANT_THREADS * GRANTS_PER_THREAD;
+        BagEntity bag = bagDao.getBagSync();
+        assertEquals(grants, bag.eggs);
+        assertEquals(2 * grants - spent.get(), bag.rareCandies);
+        assertTrue(bag.rareCandies >= 0);
+        assertLedgerMatchesBag(bag);
+    }
+    
+    @Test
+    public void concurrentQueueGrantsAndSpends_exactTotals() throws Exception {
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        WriteQueue queue = new WriteQueue(db::runInTransaction, (eggs, candies) ->
+            ledgerDao.record(BagLedgerEntity.adjustment(eggs, candies, System.currentTimeMillis())),
+            writer);
+        ConcurrentLinkedQueue<WriteFuture<Void>> grants = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<WriteFuture<Boolean>> spends = new ConcurrentLinkedQueue<>();
+        
+        runConcurrently(
+            () -> {
+                for (int i = 0; i < GRANTS_PER_THREAD; i++) {
+                    grants.add(queue.addToBag(1, 1));
+                }
+            },
+            () -> {
+                for (int i = 0; i < SPENDS_PER_THREAD; i++) {
+                    spends.add(queue.submit(() -> ledgerDao.record(
+                        BagLedgerEntity.adjustment(-1, 0, System.currentTimeMillis()))));
+                }
+            });
+        
+        for (WriteFuture<Void> grant : grants) {
+            grant.get(30, TimeUnit.SECONDS);
+        }
+        int spent = 0;
+        for (WriteFuture<Boolean> spend : spends) {
+            if (spend.get(30, TimeUnit.SECONDS)) spent++;
+        }
+        writer.shutdown();
+        
+        int granted = GRANT_THREADS * GRANTS_PER_THREAD;
+        BagEntity bag = bagDao.getBagSync();
+        assertEquals(granted - spent, bag.eggs);
+        assertEquals(granted, bag.rareCandies);
+        assertTrue(bag.eggs >= 0);
+        assertLedgerMatchesBag(bag);
+    }
+    
+    private void assertLedgerMatchesBag(BagEntity bag) {
+        BagBalance totals = ledgerDao.getTotals();
+        assertEquals(bag.eggs, totals.eggs);
+        assertEquals(bag.longEggs, totals.longEggs);
+        assertEquals(bag.rareCandies, totals.rareCandies);
+    }
+    
+    /** Arranca a la vez GRANT_THREADS hilos de recompensas y SPEND_THREADS de descuentos */
+    private static void runConcurrently(Runnable grant, Runnable spend) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(GRANT_THREADS + SPEND_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < GRANT_THREADS + SPEND_THREADS; t++) {
+            Runnable body = t < GRANT_THREADS ? grant : spend;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    body.run();
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        assertTrue("Fallos en los hilos: " + failures, failures.isEmpty());
+    }
+}
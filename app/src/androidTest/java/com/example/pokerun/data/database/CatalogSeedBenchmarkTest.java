@@ -0,0 +1,121 @@
+package com.example.pokerun.data.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.entity.PokedexEntryEntity;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark del sembrado en frío del catálogo en el primer arranque.
+ * 
+ * Compara el camino anterior (leer pokedex.json dos veces, Gson por reflexión,
+ * 151 inserciones individuales en pokedex_entries) con la copia de la base de
+ * datos semilla mediante createFromAsset(). Los tiempos (mediana de varias
+ * ejecuciones) se escriben en logcat con el tag CatalogSeedBenchmark.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CatalogSeedBenchmarkTest {
+    private static final String TAG = "CatalogSeedBenchmark";
+    private static final String BENCH_DB = "bench_seed_database";
+    private static final int RUNS = 5;
+    
+    @Test
+    public void coldSeed_jsonVersusPrepackaged() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        
+        long[] jsonTimes = new long[RUNS];
+        long[] assetTimes = new long[RUNS];
+        
+        for (int i = 0; i < RUNS; i++) {
+            context.deleteDatabase(BENCH_DB);
+            long start = SystemClock.elapsedRealtimeNanos();
+            PokeRunDatabase db = Room.databaseBuilder(context, PokeRunDatabase.class, BENCH_DB).build();
+            seedFromJson(context, db);
+            assertEquals(151, db.pokedexDao().getCount());
+            jsonTimes[i] = SystemClock.elapsedRealtimeNanos() - start;
+            db.close();
+            
+            context.deleteDatabase(BENCH_DB);
+            start = SystemClock.elapsedRealtimeNanos();
+            db = Room.databaseBuilder(context, PokeRunDatabase.class, BENCH_DB)
+                .createFromAsset(PokeRunDatabase.SEED_ASSET_PATH)
+                .build();
+            assertEquals(151, db.pokedexDao().getCount());
+            assertEquals(151, db.speciesDao().getCount());
+            assetTimes[i] = SystemClock.elapsedRealtimeNanos() - start;
+            db.close();
+        }
+        context.deleteDatabase(BENCH_DB);
+        
+        Log.i(TAG, "JSON + Gson (mediana): " + medianMillis(jsonTimes) + " ms");
+        Log.i(TAG, "Base de datos semilla (mediana): " + medianMillis(assetTimes) + " ms");
+    }
+    
+    /**
+     * Reproduce el sembrado previo: dos lecturas completas del asset y Gson.
+     */
+    private void seedFromJson(Context context, PokeRunDatabase db) throws Exception {
+        Gson gson = new Gson();
+        Type listType = new TypeToken<List<PokedexData>>(){}.getType();
+        
+        List<PokedexData> forSpecies = gson.fromJson(readAsset(context), listType);
+        List<SpeciesEntity> speciesList = new ArrayList<>();
+        for (PokedexData data : forSpecies) {
+            speciesList.add(new SpeciesEntity(data.number, data.name,
+                PokemonType.fromName(data.type1), PokemonType.fromName(data.type2), 0, 0, 0));
+        }
+        db.speciesDao().insertAll(speciesList);
+        
+        List<PokedexData> forPokedex = gson.fromJson(readAsset(context), listType);
+        for (PokedexData data : forPokedex) {
+            db.pokedexDao().insert(new PokedexEntryEntity(data.number, data.name, data.nameEn,
+                PokemonType.fromName(data.type1), PokemonType.fromName(data.type2),
+                data.description, data.descriptionEn));
+        }
+    }
+    
+    private String readAsset(Context context) throws Exception {
+        try (InputStream inputStream = context.getAssets().open("pokedex.json")) {
+            byte[] buffer = new byte[inputStream.available()];
+            inputStream.read(buffer);
+            return new String(buffer, StandardCharsets.UTF_8);
+        }
+    }
+    
+    private static double medianMillis(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1_000_000.0;
+    }
+    
+    private static class PokedexData {
+        int number;
+        String name;
+        String nameEn;
+        String type1;
+        String type2;
+        String description;
+        String descriptionEn;
+    }
+}
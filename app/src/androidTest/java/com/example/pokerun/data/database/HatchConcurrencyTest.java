@@ -0,0 +1,219 @@
+package com.example.pokerun.data.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.database.entity.PokedexEntryEntity;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+import com.example.pokerun.data.database.model.HatchResult;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+import com.example.pokerun.data.database.model.PokedexStatus;
+import com.example.pokerun.data.hatch.EggTier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lanza aperturas de huevo simultáneas contra HatchDao.hatch() y comprueba
+ * que ningún huevo se gasta dos veces ni se obtiene dos veces un Pokémon.
+ * 
+ * También comprueba que hatchMany() gasta solo los huevos que abre y que
+ * los huevos de 10 km salen de su propio saldo.
+ * 
+ * Se usa una base de datos en fichero (WAL, varias conexiones) para que los
+ * hilos compitan de verdad por el bloqueo de escritura de SQLite.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HatchConcurrencyTest {
+    private static final String TEST_DB = "hatch_concurrency_test";
+    private static final int BASE_SPECIES = 20;
+    private static final int EVOLVED_SPECIES = 5;
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 5;
+    
+    private Context context;
+    private PokeRunDatabase db;
+    
+    @Before
+    public void createDatabase() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        db = Room.databaseBuilder(context, PokeRunDatabase.class, TEST_DB).build();
+        
+        List<SpeciesEntity> species = new ArrayList<>();
+        for (int number = 1; number <= BASE_SPECIES + EVOLVED_SPECIES; number++) {
+            int stage = number <= BASE_SPECIES ? 0 : 1;
+            species.add(new SpeciesEntity(number, "Pokémon " + number, PokemonType.NORMAL, null, stage, 0, 0));
+            db.pokedexDao().insert(new PokedexEntryEntity(number, "Pokémon " + number, "Pokémon " + number,
+                PokemonType.NORMAL, null, "", ""));
+        }
+        db.speciesDao().insertAll(species);
+    }
+    
+    @After
+    public void deleteDatabase() {
+        db.close();
+        context.deleteDatabase(TEST_DB);
+    }
+    
+    @Test
+    public void concurrentHatches_neverSpendAnEggTwice() throws Exception {
+        // Menos huevos que intentos: los huevos son el recurso limitante
+        db.bagDao().insert(new BagEntity(12, 30));
+        
+        List<HatchResult> results = hatchConcurrently();
+        
+        List<OwnedPokemon> hatched = hatchedPokemon(results);
+        assertEquals(12, hatched.size());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - 12, count(results, HatchResult.Status.NOT_ENOUGH_ITEMS));
+        assertDistinctBaseStage(hatched);
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(0, bag.eggs);
+        assertEquals(18, bag.rareCandies);
+        assertEquals(12, db.pokemonDao().getAllObtainedPokemonSync().size());
+        assertEquals(12, unlockedCount());
+    }
+    
+    @Test
+    public void concurrentHatches_stopWhenAllObtained() throws Exception {
+        // Más huevos que especies base: se agotan los candidatos
+        db.bagDao().insert(new BagEntity(30, 30));
+        
+        List<HatchResult> results = hatchConcurrently();
+        
+        List<OwnedPokemon> hatched = hatchedPokemon(results);
+        assertEquals(BASE_SPECIES, hatched.size());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - BASE_SPECIES, count(results, HatchResult.Status.ALL_OBTAINED));
+        assertDistinctBaseStage(hatched);
+        
+        // Solo se descuenta la mochila en las aperturas con éxito
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(30 - BASE_SPECIES, bag.eggs);
+        assertEquals(30 - BASE_SPECIES, bag.rareCandies);
+        assertEquals(BASE_SPECIES, unlockedCount());
+    }
+    
+    @Test
+    public void hatchMany_spendsOnlyWhatItHatches() {
+        // Limitado por los caramelos
+        db.bagDao().insert(new BagEntity(7, 3));
+        HatchResult limited = db.hatchDao().hatchMany(10, System.currentTimeMillis());
+        assertEquals(HatchResult.Status.HATCHED, limited.status);
+        assertEquals(3, limited.hatched.size());
+        assertDistinctBaseStage(limited.hatched);
+        assertEquals(HatchResult.Status.NOT_ENOUGH_ITEMS,
+            db.hatchDao().hatchMany(10, System.currentTimeMillis()).status);
+        
+        // Limitado por las especies que quedan: sobran huevos
+        db.ledgerDao().record(BagLedgerEntity.adjustment(43, 47, System.currentTimeMillis()));
+        HatchResult rest = db.hatchDao().hatchMany(50, System.currentTimeMillis());
+        assertEquals(BASE_SPECIES - 3, rest.hatched.size());
+        assertDistinctBaseStage(rest.hatched);
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(50 - BASE_SPECIES, bag.eggs);
+        assertEquals(50 - BASE_SPECIES, bag.rareCandies);
+        assertEquals(BASE_SPECIES, unlockedCount());
+        assertEquals(HatchResult.Status.ALL_OBTAINED,
+            db.hatchDao().hatchMany(50, System.currentTimeMillis()).status);
+    }
+    
+    @Test
+    public void hatchLongEggs_spendsOnlyLongEggs() {
+        db.bagDao().insert(new BagEntity(2, 1, 5));
+        HatchResult result = db.hatchDao().hatchPicked(EggTier.LONG, 3, System.currentTimeMillis(),
+            db.hatchDao()::pickHatchCandidates);
+        assertEquals(HatchResult.Status.HATCHED, result.status);
+        assertEquals(1, result.hatched.size());
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(2, bag.eggs);
+        assertEquals(0, bag.longEggs);
+        assertEquals(4, bag.rareCandies);
+        // La mochila se creó sin libro: solo está el movimiento de la apertura
+        assertEquals(-1, db.ledgerDao().getTotals().longEggs);
+        assertEquals(HatchResult.Status.NOT_ENOUGH_ITEMS, db.hatchDao().hatchPicked(EggTier.LONG, 1,
+            System.currentTimeMillis(), db.hatchDao()::pickHatchCandidates).status);
+    }
+    
+    private List<HatchResult> hatchConcurrently() throws InterruptedException {
+        ConcurrentLinkedQueue<HatchResult> results = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        results.add(db.hatchDao().hatch(System.currentTimeMillis()));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, results.size());
+        return new ArrayList<>(results);
+    }
+    
+    private static List<OwnedPokemon> hatchedPokemon(List<HatchResult> results) {
+        List<OwnedPokemon> hatched = new ArrayList<>();
+        for (HatchResult result : results) {
+            if (result.status == HatchResult.Status.HATCHED) {
+                hatched.add(result.pokemon);
+            }
+        }
+        return hatched;
+    }
+    
+    private static int count(List<HatchResult> results, HatchResult.Status status) {
+        int count = 0;
+        for (HatchResult result : results) {
+            if (result.status == status) count++;
+        }
+        return count;
+    }
+    
+    private static void assertDistinctBaseStage(List<OwnedPokemon> hatched) {
+        Set<Integer> ids = new HashSet<>();
+        Set<Integer> species = new HashSet<>();
+        for (OwnedPokemon pokemon : hatched) {
+            assertTrue("Ejemplar repetido: " + pokemon.id, ids.add(pokemon.id));
+            assertTrue("Especie obtenida dos veces: " + pokemon.pokedexNumber, species.add(pokemon.pokedexNumber));
+            assertEquals(0, pokemon.evolutionStage);
+        }
+    }
+    
+    private int unlockedCount() {
+        int unlocked = 0;
+        for (PokedexStatus status : db.pokedexDao().getEntryStatusesSync()) {
+            if (status.isUnlocked) unlocked++;
+        }
+        return unlocked;
+    }
+}
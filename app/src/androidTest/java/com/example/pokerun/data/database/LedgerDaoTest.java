@@ -0,0 +1,196 @@
+package com.example.pokerun.data.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pokerun.data.database.dao.LedgerDao;
+import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.database.model.BagBalance;
+import com.example.pokerun.data.hatch.EggTier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Comprueba LedgerDao.record() y compact() contra el invariante del libro:
+ * después de cada operación, la suma de bag_ledger coincide con la fila de
+ * bag.
+ * 
+ * Cubre el reintento de una recompensa de entrenamiento (no se concede dos
+ * veces), la creación de la mochila con el primer movimiento, los descuentos
+ * sin saldo, los huevos de 10 km (saldo propio) y la compactación, que no
+ * debe alterar el saldo.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LedgerDaoTest {
+    private static final long NOW = 1_700_000_000_000L;
+    
+    private PokeRunDatabase db;
+    private LedgerDao ledgerDao;
+    
+    @Before
+    public void createDatabase() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, PokeRunDatabase.class).build();
+        ledgerDao = db.ledgerDao();
+    }
+    
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+    
+    @Test
+    public void record_withoutBag_createsBalanceRow() {
+        assertNull(db.bagDao().getBagSync());
+        
+        assertTrue(ledgerDao.record(BagLedgerEntity.adjustment(2, 3, NOW)));
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(2, bag.eggs);
+        assertEquals(3, bag.rareCandies);
+        assertEquals(1, ledgerDao.getBalanceRowCount());
+        assertEquals(1, ledgerDao.getCount());
+        assertLedgerMatchesBag();
+    }
+    
+    @Test
+    public void record_emptyMove_onlyCreatesBag() {
+        assertTrue(ledgerDao.record(BagLedgerEntity.adjustment(0, 0, NOW)));
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(0, bag.eggs);
+        assertEquals(0, bag.rareCandies);
+        assertEquals(0, ledgerDao.getCount());
+        
+        // La segunda vez la mochila ya existe: no se duplica
+        assertTrue(ledgerDao.record(BagLedgerEntity.adjustment(0, 0, NOW)));
+        assertEquals(1, ledgerDao.getBalanceRowCount());
+    }
+    
+    @Test
+    public void record_spendWithoutBag_writesNothing() {
+        assertFalse(ledgerDao.record(BagLedgerEntity.adjustment(-1, 0, NOW)));
+        
+        assertNull(db.bagDao().getBagSync());
+        assertEquals(0, ledgerDao.getCount());
+    }
+    
+    @Test
+    public void record_retriedWorkoutGrant_grantsOnce() {
+        assertTrue(ledgerDao.record(BagLedgerEntity.workoutReward(42, EggTier.STANDARD, 1, 5, NOW)));
+        // Reintento del mismo guardado
+        assertFalse(ledgerDao.record(BagLedgerEntity.workoutReward(42, EggTier.STANDARD, 1, 5, NOW + 1)));
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(1, bag.eggs);
+        assertEquals(5, bag.rareCandies);
+        assertEquals(1, ledgerDao.countWorkoutGrants(42));
+        assertEquals(1, ledgerDao.getCount());
+        
+        // Otro entrenamiento sí suma
+        assertTrue(ledgerDao.record(BagLedgerEntity.workoutReward(43, EggTier.STANDARD, 1, 5, NOW + 2)));
+        assertEquals(2, db.bagDao().getBagSync().eggs);
+        assertLedgerMatchesBag();
+    }
+    
+    @Test
+    public void record_longWorkoutAndHatch_useLongEggBalance() {
+        assertTrue(ledgerDao.record(BagLedgerEntity.workoutReward(7, EggTier.LONG, 1, 2, NOW)));
+        assertTrue(ledgerDao.record(BagLedgerEntity.workoutReward(8, EggTier.STANDARD, 1, 1, NOW)));
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(1, bag.eggs);
+        assertEquals(1, bag.longEggs);
+        assertEquals(3, bag.rareCandies);
+        
+        assertTrue(ledgerDao.record(BagLedgerEntity.hatch(1, EggTier.LONG, NOW + 1)));
+        // Ya no quedan huevos de 10 km, aunque sí de 5 km
+        assertFalse(ledgerDao.record(BagLedgerEntity.hatch(2, EggTier.LONG, NOW + 2)));
+        
+        bag = db.bagDao().getBagSync();
+        assertEquals(1, bag.eggs);
+        assertEquals(0, bag.longEggs);
+        assertEquals(2, bag.rareCandies);
+        assertLedgerMatchesBag();
+    }
+    
+    @Test
+    public void record_insufficientBalance_isRejected() {
+        ledgerDao.record(BagLedgerEntity.adjustment(1, 2, NOW));
+        
+        assertFalse(ledgerDao.record(BagLedgerEntity.adjustment(-2, 0, NOW)));
+        assertFalse(ledgerDao.record(BagLedgerEntity.evolution(2, 3, NOW)));
+        assertTrue(ledgerDao.record(BagLedgerEntity.evolution(2, 2, NOW)));
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(1, bag.eggs);
+        assertEquals(0, bag.rareCandies);
+        assertEquals(2, ledgerDao.getCount());
+        assertLedgerMatchesBag();
+    }
+    
+    @Test
+    public void compact_keepsBalanceAndRecentMoves() {
+        for (int i = 0; i < 30; i++) {
+            EggTier tier = i % 4 == 0 ? EggTier.LONG : EggTier.STANDARD;
+            ledgerDao.record(BagLedgerEntity.workoutReward(i, tier, 1, 5, NOW + i));
+            if (i % 3 == 0) {
+                ledgerDao.record(BagLedgerEntity.adjustment(-1, -2, NOW + i));
+            }
+        }
+        BagEntity before = db.bagDao().getBagSync();
+        int entries = ledgerDao.getCount();
+        
+        int removed = ledgerDao.compact(10, NOW + 100);
+        
+        assertEquals(entries - 10, removed);
+        assertEquals(11, ledgerDao.getCount());
+        BagEntity after = db.bagDao().getBagSync();
+        assertEquals(before.eggs, after.eggs);
+        assertEquals(before.longEggs, after.longEggs);
+        assertEquals(before.rareCandies, after.rareCandies);
+        assertLedgerMatchesBag();
+        
+        // Sin movimientos que plegar no cambia nada
+        assertEquals(0, ledgerDao.compact(20, NOW + 200));
+        assertEquals(11, ledgerDao.getCount());
+        assertLedgerMatchesBag();
+    }
+    
+    @Test
+    public void compact_thenRecord_keepsInvariant() {
+        for (int i = 0; i < 5; i++) {
+            ledgerDao.record(BagLedgerEntity.adjustment(2, 2, NOW + i));
+        }
+        ledgerDao.compact(0, NOW + 10);
+        assertEquals(1, ledgerDao.getCount());
+        
+        assertTrue(ledgerDao.record(BagLedgerEntity.hatch(1, EggTier.STANDARD, NOW + 11)));
+        assertFalse(ledgerDao.record(BagLedgerEntity.adjustment(-10, 0, NOW + 12)));
+        
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals(9, bag.eggs);
+        assertEquals(9, bag.rareCandies);
+        assertLedgerMatchesBag();
+    }
+    
+    private void assertLedgerMatchesBag() {
+        BagBalance totals = ledgerDao.getTotals();
+        BagEntity bag = db.bagDao().getBagSync();
+        assertEquals("huevos", bag.eggs, totals.eggs);
+        assertEquals("huevos de 10 km", bag.longEggs, totals.longEggs);
+        assertEquals("caramelos", bag.rareCandies, totals.rareCandies);
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.pokerun.data.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Migra desde cada versión del esquema hasta la actual con
+ * DatabaseMigrations.ALL y valida el resultado contra el esquema exportado
+ * (app/schemas/, empaquetado como asset de los tests).
+ * 
+ * Las versiones exportadas se crean con MigrationTestHelper. Las versiones
+ * 1-4 son anteriores a exportSchema: se reconstruyen con el SQL que generaba
+ * Room entonces (legacySchema) y se rellenan con progreso de usuario para
+ * comprobar que la migración lo conserva.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+    private static final String TEST_DB = "migration_test";
+    
+    private static final int LATEST_VERSION = DatabaseMigrations.ALL[DatabaseMigrations.ALL.length - 1].endVersion;
+    /** Primera versión con su esquema en app/schemas/ */
+    private static final int FIRST_EXPORTED_VERSION = 5;
+    
+    private static final String POKEMON_V1 = "CREATE TABLE IF NOT EXISTS `pokemon` (`id` INTEGER NOT NULL, "
+        + "`pokedexNumber` INTEGER NOT NULL, `name` TEXT, `type1` TEXT, `type2` TEXT, "
+        + "`evolutionStage` INTEGER NOT NULL, `evolvesFrom` INTEGER NOT NULL, `evolvesTo` INTEGER NOT NULL, "
+        + "`isObtained` INTEGER NOT NULL, `obtainedDate` INTEGER NOT NULL, PRIMARY KEY(`id`))";
+    private static final String POKEDEX_V1 = "CREATE TABLE IF NOT EXISTS `pokedex_entries` (`pokedexNumber` INTEGER NOT NULL, "
+        + "`name` TEXT, `nameEn` TEXT, `type1` TEXT, `type2` TEXT, `description` TEXT, `descriptionEn` TEXT, "
+        + "`isUnlocked` INTEGER NOT NULL, PRIMARY KEY(`pokedexNumber`))";
+    private static final String BAG_V1 = "CREATE TABLE IF NOT EXISTS `bag` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+        + "`eggs` INTEGER NOT NULL, `rareCandies` INTEGER NOT NULL)";
+    private static final String WORKOUTS_V1 = "CREATE TABLE IF NOT EXISTS `workouts` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+        + "`startTime` INTEGER NOT NULL, `endTime` INTEGER NOT NULL, `distance` REAL NOT NULL, "
+        + "`steps` INTEGER NOT NULL, `isFromStrava` INTEGER NOT NULL, `eggsEarned` INTEGER NOT NULL, "
+        + "`candiesEarned` INTEGER NOT NULL)";
+    private static final String SETTINGS_V1 = "CREATE TABLE IF NOT EXISTS `user_settings` (`id` INTEGER NOT NULL, "
+        + "`language` TEXT, `distanceUnit` TEXT, PRIMARY KEY(`id`))";
+    private static final String[] CATALOG_V2 = {
+        "CREATE TABLE IF NOT EXISTS `catalog_meta` (`name` TEXT NOT NULL, `value` TEXT, PRIMARY KEY(`name`))",
+        "CREATE TABLE IF NOT EXISTS `catalog_rows` (`pokedexNumber` INTEGER NOT NULL, `rowHash` INTEGER NOT NULL, PRIMARY KEY(`pokedexNumber`))"
+    };
+    private static final String[] LEDGER_V3 = {
+        "CREATE TABLE IF NOT EXISTS `bag_ledger` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `source` TEXT NOT NULL, "
+            + "`sourceId` INTEGER NOT NULL, `workoutId` INTEGER, `eggs` INTEGER NOT NULL, "
+            + "`rareCandies` INTEGER NOT NULL, `createdAt` INTEGER NOT NULL)",
+        "CREATE UNIQUE INDEX IF NOT EXISTS `index_bag_ledger_workoutId` ON `bag_ledger` (`workoutId`)"
+    };
+    private static final String[] SPECIES_V4 = {
+        "CREATE TABLE IF NOT EXISTS `species` (`pokedexNumber` INTEGER NOT NULL, `name` TEXT, `type1` TEXT, "
+            + "`type2` TEXT, `evolutionStage` INTEGER NOT NULL, `evolvesFrom` INTEGER NOT NULL, "
+            + "`evolvesTo` INTEGER NOT NULL, PRIMARY KEY(`pokedexNumber`))",
+        "CREATE INDEX IF NOT EXISTS `index_species_evolutionStage` ON `species` (`evolutionStage`)",
+        "CREATE TABLE IF NOT EXISTS `owned_pokemon` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+            + "`speciesNumber` INTEGER NOT NULL, `obtainedDate` INTEGER NOT NULL, "
+            + "FOREIGN KEY(`speciesNumber`) REFERENCES `species`(`pokedexNumber`) "
+            + "ON UPDATE NO ACTION ON DELETE NO ACTION )",
+        "CREATE INDEX IF NOT EXISTS `index_owned_pokemon_speciesNumber` ON `owned_pokemon` (`speciesNumber`)"
+    };
+    
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+        InstrumentationRegistry.getInstrumentation(), PokeRunDatabase.class);
+    
+    private Context context;
+    
+    @Before
+    public void deleteDatabase() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+    
+    @Test
+    public void migrationsCoverEveryVersion() {
+        int version = 1;
+        for (Migration migration : DatabaseMigrations.ALL) {
+            assertEquals("Hueco en DatabaseMigrations.ALL", version, migration.startVersion);
+            assertEquals(version + 1, migration.endVersion);
+            version = migration.endVersion;
+        }
+        assertTrue(FIRST_EXPORTED_VERSION <= LATEST_VERSION);
+    }
+    
+    @Test
+    public void latestSchemaIsExported() {
+        // Falla si no se ha versionado app/schemas/.../<versión actual>.json
+        helper.createDatabase(TEST_DB, LATEST_VERSION).close();
+    }
+    
+    @Test
+    public void exportedVersions_migrateToLatest() throws Exception {
+        for (int version = FIRST_EXPORTED_VERSION; version < LATEST_VERSION; version++) {
+            context.deleteDatabase(TEST_DB);
+            helper.createDatabase(TEST_DB, version).close();
+            helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true, DatabaseMigrations.ALL).close();
+        }
+    }
+    
+    @Test
+    public void legacyVersions_migrateToLatest() throws Exception {
+        for (int version = 1; version < FIRST_EXPORTED_VERSION; version++) {
+            context.deleteDatabase(TEST_DB);
+            createLegacyDatabase(version);
+            SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true,
+                DatabaseMigrations.ALL);
+            assertProgressKept(db, version);
+            db.close();
+        }
+    }
+    
+    @Test
+    public void version3_evolvedRowsKeepTheirIdAndRestoreTheCatalog() throws Exception {
+        createLegacyDatabase(3);
+        SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true,
+            DatabaseMigrations.ALL);
+        
+        // La fila 1 era Bulbasaur evolucionado en Ivysaur: sigue siendo el ejemplar 1
+        assertEquals(Arrays.asList("1:2:1000", "4:4:2000"),
+            rows(db, "SELECT id || ':' || speciesNumber || ':' || obtainedDate FROM owned_pokemon ORDER BY id"));
+        // Bulbasaur ya no tenía fila propia: se recupera de pokedex_entries
+        assertEquals(Arrays.asList("1:Bulbasaur", "2:Ivysaur", "4:Charmander", "7:Squirtle"),
+            rows(db, "SELECT pokedexNumber || ':' || name FROM species ORDER BY pokedexNumber"));
+        // Sin hashes de catálogo: CatalogSeeder reescribe todas las especies en el siguiente arranque
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM catalog_rows"));
+        assertNull(string(db, "SELECT value FROM catalog_meta WHERE name = 'content_hash'"));
+        db.close();
+    }
+    
+    @Test
+    public void version5_typeNamesBecomeCodesAndMask() throws Exception {
+        SupportSQLiteDatabase v5 = helper.createDatabase(TEST_DB, 5);
+        // Nombres de pokedex.json y una etiqueta en español de una base de datos antigua
+        v5.execSQL("INSERT INTO species VALUES (1, 'Bulbasaur', 'Grass', 'Poison', 0, 0, 2), "
+            + "(4, 'Charmander', 'Fuego', NULL, 0, 0, 5), (7, 'Squirtle', 'Water', '', 0, 0, 8)");
+        v5.execSQL("INSERT INTO pokedex_entries VALUES (1, 'Bulbasaur', 'Bulbasaur', 'Grass', 'Poison', '', '', 1)");
+        v5.execSQL("INSERT INTO owned_pokemon VALUES (1, 1, 1000)");
+        v5.close();
+        
+        SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 6, true, DatabaseMigrations.MIGRATION_5_6);
+        int grassPoison = PokemonType.maskOf(PokemonType.GRASS, PokemonType.POISON);
+        assertEquals(Arrays.asList(
+                "1:" + PokemonType.GRASS.code + ":" + PokemonType.POISON.code + ":" + grassPoison,
+                "4:" + PokemonType.FIRE.code + ":-:" + PokemonType.FIRE.mask,
+                "7:" + PokemonType.WATER.code + ":-:" + PokemonType.WATER.mask),
+            rows(db, "SELECT pokedexNumber || ':' || type1 || ':' || IFNULL(type2, '-') || ':' || typeMask "
+                + "FROM species ORDER BY pokedexNumber"));
+        assertEquals(Arrays.asList("1:" + PokemonType.GRASS.code + ":" + PokemonType.POISON.code + ":1"),
+            rows(db, "SELECT pokedexNumber || ':' || type1 || ':' || type2 || ':' || isUnlocked FROM pokedex_entries"));
+        assertEquals(Arrays.asList("1:1"), rows(db, "SELECT id || ':' || speciesNumber FROM owned_pokemon"));
+        db.close();
+    }
+    
+    @Test
+    public void version6_bagAndLedgerGainLongEggsAtZero() throws Exception {
+        SupportSQLiteDatabase v6 = helper.createDatabase(TEST_DB, 6);
+        v6.execSQL("INSERT INTO bag (eggs, rareCandies) VALUES (2, 4)");
+        v6.execSQL("INSERT INTO bag_ledger (source, sourceId, workoutId, eggs, rareCandies, createdAt) "
+            + "VALUES ('" + BagLedgerEntity.SOURCE_OPENING + "', 0, NULL, 1, 2, 0), "
+            + "('" + BagLedgerEntity.SOURCE_WORKOUT + "', 9, 9, 1, 2, 10)");
+        v6.close();
+        
+        SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 7, true, DatabaseMigrations.MIGRATION_6_7);
+        assertEquals(Arrays.asList("2:0:4"), rows(db, "SELECT eggs || ':' || longEggs || ':' || rareCandies FROM bag"));
+        assertEquals(Arrays.asList("2:0:4"),
+            rows(db, "SELECT SUM(eggs) || ':' || SUM(longEggs) || ':' || SUM(rareCandies) FROM bag_ledger"));
+        // La recompensa ya registrada sigue bloqueando su reintento
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM bag_ledger WHERE workoutId = 9"));
+        db.close();
+    }
+    
+    /** Crea la base de datos de una versión sin esquema exportado, con progreso de usuario */
+    private void createLegacyDatabase(int version) {
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper.Configuration.builder(context)
+            .name(TEST_DB)
+            .callback(new SupportSQLiteOpenHelper.Callback(version) {
+                @Override
+                public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                    for (String sql : legacySchema(version)) {
+                        db.execSQL(sql);
+                    }
+                    insertLegacyProgress(db, version);
+                }
+                
+                @Override
+                public void onUpgrade(@NonNull SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                    throw new IllegalStateException("Base de datos de prueba inesperada");
+                }
+            })
+            .build();
+        SupportSQLiteOpenHelper openHelper = new FrameworkSQLiteOpenHelperFactory().create(configuration);
+        openHelper.getWritableDatabase();
+        openHelper.close();
+    }
+    
+    /** SQL que generaba Room para cada versión anterior a exportSchema */
+    private static List<String> legacySchema(int version) {
+        List<String> schema = new ArrayList<>();
+        if (version < 4) {
+            schema.add(POKEMON_V1);
+        } else {
+            schema.addAll(Arrays.asList(SPECIES_V4));
+        }
+        schema.addAll(Arrays.asList(POKEDEX_V1, BAG_V1, WORKOUTS_V1, SETTINGS_V1));
+        if (version >= 2) {
+            schema.addAll(Arrays.asList(CATALOG_V2));
+        }
+        if (version >= 3) {
+            schema.addAll(Arrays.asList(LEDGER_V3));
+        }
+        return schema;
+    }
+    
+    /**
+     * Catálogo de cuatro especies, Bulbasaur obtenido y evolucionado (antes
+     * de la versión 4 eso sobrescribía su fila), Charmander obtenido, una
+     * mochila y un entrenamiento.
+     */
+    private static void insertLegacyProgress(SupportSQLiteDatabase db, int version) {
+        db.execSQL("INSERT INTO pokedex_entries VALUES (1, 'Bulbasaur', 'Bulbasaur', 'Grass', 'Poison', '', '', 1), "
+            + "(2, 'Ivysaur', 'Ivysaur', 'Grass', 'Poison', '', '', 1), "
+            + "(4, 'Charmander', 'Charmander', 'Fire', NULL, '', '', 1), "
+            + "(7, 'Squirtle', 'Squirtle', 'Water', NULL, '', '', 0)");
+        if (version < 4) {
+            db.execSQL("INSERT INTO pokemon VALUES (1, 2, 'Ivysaur', 'Grass', 'Poison', 1, 1, 3, 1, 1000), "
+                + "(2, 2, 'Ivysaur', 'Grass', 'Poison', 1, 1, 3, 0, 0), "
+                + "(4, 4, 'Charmander', 'Fire', NULL, 0, 0, 5, 1, 2000), "
+                + "(7, 7, 'Squirtle', 'Water', NULL, 0, 0, 8, 0, 0)");
+        } else {
+            db.execSQL("INSERT INTO species VALUES (1, 'Bulbasaur', 'Grass', 'Poison', 0, 0, 2), "
+                + "(2, 'Ivysaur', 'Grass', 'Poison', 1, 1, 3), "
+                + "(4, 'Charmander', 'Fire', NULL, 0, 0, 5), "
+                + "(7, 'Squirtle', 'Water', NULL, 0, 0, 8)");
+            db.execSQL("INSERT INTO owned_pokemon VALUES (1, 2, 1000), (4, 4, 2000)");
+        }
+        db.execSQL("INSERT INTO bag (eggs, rareCandies) VALUES (3, 5)");
+        db.execSQL("INSERT INTO workouts (startTime, endTime, distance, steps, isFromStrava, eggsEarned, candiesEarned) "
+            + "VALUES (100, 200, 5.5, 7000, 0, 1, 1)");
+        if (version >= 2) {
+            db.execSQL("INSERT INTO catalog_meta VALUES ('content_hash', 'abc')");
+            db.execSQL("INSERT INTO catalog_rows VALUES (1, 11), (2, 22)");
+        }
+        if (version >= 3) {
+            db.execSQL("INSERT INTO bag_ledger (source, sourceId, workoutId, eggs, rareCandies, createdAt) "
+                + "VALUES ('" + BagLedgerEntity.SOURCE_OPENING + "', 0, NULL, 3, 5, 0)");
+        }
+    }
+    
+    private static void assertProgressKept(SupportSQLiteDatabase db, int fromVersion) {
+        String label = "Desde la versión " + fromVersion + ": ";
+        assertEquals(label, Arrays.asList("1:2", "4:4"),
+            rows(db, "SELECT id || ':' || speciesNumber FROM owned_pokemon ORDER BY id"));
+        assertEquals(label, 4, count(db, "SELECT COUNT(*) FROM species"));
+        assertEquals(label, PokemonType.maskOf(PokemonType.GRASS, PokemonType.POISON),
+            count(db, "SELECT typeMask FROM species WHERE pokedexNumber = 1"));
+        assertEquals(label, PokemonType.FIRE.code, count(db, "SELECT type1 FROM pokedex_entries WHERE pokedexNumber = 4"));
+        assertEquals(label, 3, count(db, "SELECT COUNT(*) FROM pokedex_entries WHERE isUnlocked = 1"));
+        // Los huevos existentes quedan como huevos de 5 km
+        assertEquals(label, Arrays.asList("3:0:5"),
+            rows(db, "SELECT eggs || ':' || longEggs || ':' || rareCandies FROM bag"));
+        // Un único movimiento de apertura y el libro cuadra con la mochila
+        assertEquals(label, Arrays.asList("3:0:5"),
+            rows(db, "SELECT SUM(eggs) || ':' || SUM(longEggs) || ':' || SUM(rareCandies) FROM bag_ledger"));
+        assertEquals(label, 1, count(db, "SELECT COUNT(*) FROM workouts"));
+        assertTrue(label + "falta index_workouts_startTime",
+            count(db, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'index_workouts_startTime'") == 1);
+    }
+    
+    private static List<String> rows(SupportSQLiteDatabase db, String sql) {
+        List<String> rows = new ArrayList<>();
+        try (Cursor cursor = db.query(sql)) {
+            while (cursor.moveToNext()) {
+                rows.add(cursor.getString(0));
+            }
+        }
+        return rows;
+    }
+    
+    private static int count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+    
+    private static String string(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+}
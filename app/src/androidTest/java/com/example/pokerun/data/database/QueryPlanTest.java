@@ -0,0 +1,108 @@
+package com.example.pokerun.data.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pokerun.data.database.dao.HatchDao;
+import com.example.pokerun.data.database.dao.PokemonDao;
+import com.example.pokerun.data.database.dao.SpeciesDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Comprueba con EXPLAIN QUERY PLAN que las consultas frecuentes usan sus
+ * índices en lugar de recorrer la tabla u ordenar en un B-tree temporal.
+ * 
+ * Las consultas son las de los DAO; cuando el DAO expone el fragmento SQL
+ * (PokemonDao.OWNED_COLUMNS, HatchDao.CANDIDATE_FILTER) se reutiliza.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+    private static final String TEMP_SORT = "TEMP B-TREE";
+    
+    private PokeRunDatabase db;
+    
+    @Before
+    public void createDatabase() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, PokeRunDatabase.class).build();
+    }
+    
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+    
+    @Test
+    public void workoutHistory_walksStartTimeIndex() {
+        // WorkoutDao.getAllWorkouts()
+        String plan = plan("SELECT * FROM workouts ORDER BY startTime DESC");
+        assertTrue(plan, plan.contains("index_workouts_startTime"));
+        assertFalse(plan, plan.contains(TEMP_SORT));
+    }
+    
+    @Test
+    public void workoutByStartTime_isCoveredByIndex() {
+        // WorkoutDao.getIdByStartTime()
+        String plan = plan("SELECT id FROM workouts WHERE startTime = ? LIMIT 1", 100L);
+        assertTrue(plan, plan.contains("COVERING INDEX index_workouts_startTime"));
+    }
+    
+    @Test
+    public void hatchCandidates_areCoveredByIndices() {
+        // HatchDao.getHatchCandidates()
+        String plan = plan("SELECT pokedexNumber FROM species WHERE " + HatchDao.CANDIDATE_FILTER);
+        assertTrue(plan, plan.contains("COVERING INDEX index_species_evolutionStage"));
+        // El NOT IN se resuelve con el índice de owned_pokemon, sin leer sus filas
+        assertTrue(plan, plan.contains("INDEX index_owned_pokemon_speciesNumber"));
+    }
+    
+    @Test
+    public void ownedCollection_joinsThroughIndices() {
+        // PokemonDao.getAllObtainedPokemon()
+        String plan = plan("SELECT " + PokemonDao.OWNED_COLUMNS + " ORDER BY o.speciesNumber, o.id");
+        // Recorre el índice en el orden pedido y busca cada especie por su clave
+        assertTrue(plan, plan.contains("index_owned_pokemon_speciesNumber"));
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY"));
+        assertFalse(plan, plan.contains(TEMP_SORT));
+    }
+    
+    @Test
+    public void speciesByNumber_usesPrimaryKey() {
+        // SpeciesDao.getSpecies() y EvolutionDao.getSpecies()
+        String plan = plan("SELECT * FROM species WHERE pokedexNumber = ?", 1);
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY"));
+    }
+    
+    @Test
+    public void pokedexByType_scansOnlyTypeMaskIndex() {
+        // PokedexDao.getEntryStatusesByType()
+        String plan = plan("SELECT pokedexNumber, isUnlocked FROM pokedex_entries WHERE pokedexNumber IN "
+            + "(SELECT pokedexNumber FROM species WHERE " + SpeciesDao.TYPE_FILTER + ") ORDER BY pokedexNumber", 4);
+        assertTrue(plan, plan.contains("COVERING INDEX index_species_typeMask"));
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY"));
+        assertFalse(plan, plan.contains(TEMP_SORT));
+    }
+    
+    /** Columna detail de EXPLAIN QUERY PLAN, un paso por línea */
+    private String plan(String sql, Object... args) {
+        StringBuilder plan = new StringBuilder(sql);
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append('\n').append(cursor.getString(detail));
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.pokerun;
+
+import android.content.Context;
+
+import com.example.pokerun.data.repository.BagRepository;
+import com.example.pokerun.data.repository.PokedexRepository;
+import com.example.pokerun.data.repository.PokemonRepository;
+import com.example.pokerun.data.repository.UserSettingsRepository;
+import com.example.pokerun.data.repository.WorkoutRepository;
+
+/**
+ * Contenedor de los repositorios con ámbito de aplicación.
+ * 
+ * PATRÓN MVVM - CAPA MODEL:
+ * Cada repositorio se crea una sola vez, en el primer acceso, y se entrega la
+ * misma instancia a todos los ViewModels, Fragments y a la precarga. Todos
+ * comparten así la WriteQueue, las cachés de lectura (ReadCaches) y los
+ * carriles de AppExecutors, y navegar entre pestañas ya no construye
+ * repositorios ni repite comprobaciones de existencia contra Room.
+ * 
+ * La creación es perezosa para que Application.onCreate() no toque la base
+ * de datos en el hilo principal. Los constructores de los repositorios no
+ * hacen consultas; la mochila y la configuración por defecto las crea el
+ * arranque (PokeRunApplication).
+ */
+public final class AppContainer {
+    
+    private final Context appContext;
+    
+    private BagRepository bagRepository;
+    private PokemonRepository pokemonRepository;
+    private PokedexRepository pokedexRepository;
+    private UserSettingsRepository settingsRepository;
+    private WorkoutRepository workoutRepository;
+    
+    AppContainer(Context context) {
+        this.appContext = context.getApplicationContext();
+    }
+    
+    /**
+     * @return el contenedor de la aplicación a la que pertenece {@code context}
+     */
+    public static AppContainer from(Context context) {
+        return ((PokeRunApplication) context.getApplicationContext()).getContainer();
+    }
+    
+    public synchronized BagRepository bagRepository() {
+        if (bagRepository == null) {
+            bagRepository = new BagRepository(appContext);
+        }
+        return bagRepository;
+    }
+    
+    public synchronized PokemonRepository pokemonRepository() {
+        if (pokemonRepository == null) {
+            pokemonRepository = new PokemonRepository(appContext);
+        }
+        return pokemonRepository;
+    }
+    
+    public synchronized PokedexRepository pokedexRepository() {
+        if (pokedexRepository == null) {
+            pokedexRepository = new PokedexRepository(appContext);
+        }
+        return pokedexRepository;
+    }
+    
+    public synchronized UserSettingsRepository settingsRepository() {
+        if (settingsRepository == null) {
+            settingsRepository = new UserSettingsRepository(appContext);
+        }
+        return settingsRepository;
+    }
+    
+    public synchronized WorkoutRepository workoutRepository() {
+        if (workoutRepository == null) {
+            workoutRepository = new WorkoutRepository(appContext);
+        }
+        return workoutRepository;
+    }
+}
@@ -2,16 +2,24 @@ package com.example.pokerun;
 
 import android.app.Application;
 import android.content.res.Configuration;
+import android.os.StrictMode;
 import android.util.Log;
 
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.data.cache.ReadCaches;
+import com.example.pokerun.data.catalog.SpeciesCatalog;
 import com.example.pokerun.data.database.PokeRunDatabase;
-import com.example.pokerun.data.database.dao.BagDao;
 import com.example.pokerun.data.database.dao.UserSettingsDao;
 import com.example.pokerun.data.database.entity.BagEntity;
 import com.example.pokerun.data.database.entity.UserSettingsEntity;
-import com.example.pokerun.data.repository.PokedexRepository;
-import com.example.pokerun.data.repository.PokemonRepository;
+import com.example.pokerun.data.preferences.SettingsMirror;
+import com.example.pokerun.data.repository.CatalogSeeder;
+import com.example.pokerun.data.write.WriteQueue;
+import com.example.pokerun.startup.StartupOrchestrator;
+import com.example.pokerun.startup.StartupTask;
+import com.example.pokerun.ui.prefetch.PrefetchCache;
 
+import java.util.Arrays;
 import java.util.Locale;
 
 /**
@@ -27,63 +35,171 @@ import java.util.Locale;
  * 
  * Responsabilidades:
  * - Configuración del idioma español por defecto (internacionalización)
+ * - Contenedor de repositorios compartidos (AppContainer)
  * - Inicialización del singleton de Room Database
  * - Inicialización de la mochila del usuario (BagEntity)
- * - Carga inicial de datos de Pokémon y Pokédex desde archivos JSON
+ * - Verificación del catálogo de Pokémon y Pokédex (precargado desde la base
+ *   de datos semilla; solo se resincroniza si cambia su hash de contenido)
+ * 
+ * ARRANQUE ASÍNCRONO:
+ * Cada paso se declara como una StartupTask con sus dependencias y lo ejecuta
+ * el StartupOrchestrator:
+ * 
+ *   locale (bloqueante, hilo principal)
+ *   db-open ──> settings
+ *      ├──────> bag
+ *      └──────> catalog
+ *   species-catalog
+ * 
+ * onCreate() solo espera a las tareas bloqueantes (aplicar el idioma antes de
+ * que se dibuje la primera Activity); el resto termina en segundo plano y la
+ * UI puede observar su disponibilidad con getStartup().readiness(...).
+ * 
+ * El idioma se lee del SettingsMirror (SharedPreferences), por lo que el hilo
+ * principal no hace ninguna consulta a la base de datos durante el arranque.
+ * La excepción es el primer arranque con el espejo vacío (instalaciones que
+ * se actualizan): entonces locale depende de settings y espera a que el espejo
+ * se siembre desde user_settings, para no mostrar español ni leer millas como
+ * kilómetros durante toda la sesión.
  * 
  * @see PokeRunDatabase Singleton de la base de datos Room
- * @see PokemonRepository Repositorio que gestiona los datos de Pokémon
- * @see PokedexRepository Repositorio que gestiona las entradas de la Pokédex
+ * @see CatalogSeeder Sembrador del catálogo compartido por los repositorios
+ * @see StartupOrchestrator Ejecución del grafo de tareas de arranque
  */
 public class PokeRunApplication extends Application {
     private static final String TAG = "PokeRunApplication";
     
+    // Nombres de las tareas de arranque
+    public static final String TASK_DATABASE = "db-open";
+    public static final String TASK_SETTINGS = "settings";
+    public static final String TASK_LOCALE = "locale";
+    public static final String TASK_BAG = "bag";
+    public static final String TASK_CATALOG = "catalog";
+    public static final String TASK_SPECIES_CATALOG = "species-catalog";
+    
+    private StartupOrchestrator startup;
+    private AppContainer container;
+    /** El espejo ya tenía valores al arrancar: el idioma se aplicó antes de leer user_settings */
+    private boolean mirrorSeeded;
+    
     @Override
     public void onCreate() {
         super.onCreate();
+        container = new AppContainer(this);
+        if (BuildConfig.DEBUG) {
+            installStrictMode();
+        }
         
+        // Con el espejo vacío el idioma espera a user_settings; si no, no depende de Room
+        mirrorSeeded = SettingsMirror.isSeeded(this);
+        String[] localeDependencies = mirrorSeeded ? new String[0] : new String[] {TASK_SETTINGS};
+        
+        startup = new StartupOrchestrator(Arrays.asList(
+            new StartupTask(TASK_DATABASE, false, this::openDatabase),
+            new StartupTask(TASK_SETTINGS, false, this::initializeUserSettings, TASK_DATABASE),
+            new StartupTask(TASK_LOCALE, true, () -> applyLanguage(SettingsMirror.getLanguage(this)),
+                localeDependencies),
+            new StartupTask(TASK_BAG, false, this::initializeBag, TASK_DATABASE),
+            new StartupTask(TASK_CATALOG, false, this::loadInitialData, TASK_DATABASE),
+            new StartupTask(TASK_SPECIES_CATALOG, false, this::openSpeciesCatalog)
+        ), AppExecutors.getInstance().dbRead());
+        startup.start();
+    }
+    
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // La app pasa a segundo plano: buen momento para volcar las métricas de carriles y cachés
+        if (level == TRIM_MEMORY_UI_HIDDEN) {
+            AppExecutors.getInstance().logStats();
+            ReadCaches.getInstance(this).logStats();
+        }
+        // Las instantáneas precargadas se pueden reconstruir desde Room
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            PrefetchCache.getInstance().clear();
+        }
+    }
+    
+    /**
+     * StrictMode en depuración: avisa en logcat de E/S de disco en el hilo
+     * principal y de cursores SQLite sin cerrar. Solo registra (penaltyLog),
+     * porque SharedPreferences y Glide también leen disco; el fallo duro ante
+     * SQL en el hilo principal lo da el QueryCallback de PokeRunDatabase.
+     */
+    private void installStrictMode() {
+        StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+            .detectDiskReads()
+            .detectDiskWrites()
+            .penaltyLog()
+            .build());
+        StrictMode.setVmPolicy(new StrictMode.VmPolicy.Builder()
+            .detectLeakedSqlLiteObjects()
+            .detectLeakedClosableObjects()
+            .penaltyLog()
+            .build());
+    }
+    
+    /**
+     * @return repositorios compartidos por ViewModels y Fragments
+     */
+    public AppContainer getContainer() {
+        return container;
+    }
+    
+    /**
+     * @return orquestador del arranque, para observar la disponibilidad de cada tarea
+     */
+    public StartupOrchestrator getStartup() {
+        return startup;
+    }
+    
+    /**
+     * Abre la base de datos. La primera apertura copia la base de datos semilla
+     * o aplica las migraciones pendientes, así que se fuerza aquí y no en la
+     * primera consulta de la UI.
+     */
+    private void openDatabase() {
         try {
-            // Paso 1: Inicializar base de datos
             PokeRunDatabase database = PokeRunDatabase.getDatabase(this);
+            database.getOpenHelper().getWritableDatabase();
             Log.d(TAG, "Base de datos inicializada");
-            
-            // Paso 2: Inicializar configuración de usuario y aplicar idioma
-            initializeUserSettings(database);
-            
-            // Paso 3: Inicializar mochila de forma síncrona
-            initializeBag(database);
-            
-            // Paso 4: Cargar datos de Pokémon y Pokédex en hilo de fondo
-            loadInitialData();
-            
         } catch (Exception e) {
-            Log.e(TAG, "Error en la inicialización de la aplicación", e);
+            Log.e(TAG, "Error abriendo la base de datos", e);
         }
     }
     
     /**
-     * Inicializa la configuración del usuario y aplica el idioma.
+     * Inicializa la configuración del usuario y reconcilia el SettingsMirror con ella.
      * Por defecto: español (es) y kilómetros (km).
+     * Si el espejo ya se había usado para aplicar el idioma y no coincidía, se
+     * vuelve a aplicar en el hilo principal; MainActivity se recrea al ver que
+     * su idioma ya no es el del espejo.
      */
-    private void initializeUserSettings(PokeRunDatabase database) {
+    private void initializeUserSettings() {
         try {
-            UserSettingsDao settingsDao = database.userSettingsDao();
-            UserSettingsEntity settings = settingsDao.getSettingsSync();
+            UserSettingsDao settingsDao = PokeRunDatabase.getDatabase(this).userSettingsDao();
+            UserSettingsEntity settings = WriteQueue.getInstance(this).submit(() -> {
+                UserSettingsEntity current = settingsDao.getSettingsSync();
+                if (current == null) {
+                    // Crear configuración por defecto: español y kilómetros
+                    current = new UserSettingsEntity("es", "km");
+                    settingsDao.insert(current);
+                    Log.d(TAG, "Configuración inicial creada: español, km");
+                }
+                return current;
+            }).get();
             
-            if (settings == null) {
-                // Crear configuración por defecto: español y kilómetros
-                settings = new UserSettingsEntity("es", "km");
-                settingsDao.insert(settings);
-                Log.d(TAG, "Configuración inicial creada: español, km");
+            // user_settings es la fuente de verdad; el espejo solo se corrige si difiere
+            if (SettingsMirror.sync(this, settings.language, settings.distanceUnit)) {
+                Log.d(TAG, "Espejo de configuración actualizado: " + settings.language + ", " + settings.distanceUnit);
+                if (mirrorSeeded) {
+                    String language = SettingsMirror.getLanguage(this);
+                    AppExecutors.getInstance().main().execute(() -> applyLanguage(language));
+                }
             }
-            
-            // Aplicar el idioma guardado
-            applyLanguage(settings.language);
-            
+        
         } catch (Exception e) {
             Log.e(TAG, "Error inicializando configuración", e);
-            // En caso de error, aplicar español por defecto
-            applyLanguage("es");
         }
     }
     
@@ -103,45 +219,47 @@ public class PokeRunApplication extends Application {
     
     /**
      * Inicializa la mochila del usuario si no existe.
-     * Se ejecuta de forma síncrona para garantizar que esté disponible.
+     * Un incremento vacío en WriteQueue la crea si falta, sin escribir fuera del escritor único.
+     * Después compacta el libro de movimientos si ha crecido demasiado.
      */
-    private void initializeBag(PokeRunDatabase database) {
+    private void initializeBag() {
         try {
-            BagDao bagDao = database.bagDao();
-            BagEntity bag = bagDao.getBagSync();
-            
-            if (bag == null) {
-                BagEntity newBag = new BagEntity(0, 0);
-                bagDao.insert(newBag);
-                Log.d(TAG, "Mochila creada con éxito");
-            } else {
-                Log.d(TAG, "Mochila existente: " + bag.eggs + " huevos, " + bag.rareCandies + " caramelos");
-            }
+            WriteQueue.getInstance(this).addToBag(0, 0).get();
+            // Deja la mochila ya en la caché de lectura
+            BagEntity bag = ReadCaches.getInstance(this).bag().get(ReadCaches.SINGLE_ROW);
+            Log.d(TAG, "Mochila: " + bag.eggs + " huevos de 5 km, " + bag.longEggs + " de 10 km, "
+                + bag.rareCandies + " caramelos");
+            container.bagRepository().compactLedger();
         } catch (Exception e) {
             Log.e(TAG, "Error inicializando mochila", e);
         }
     }
     
     /**
-     * Carga los datos iniciales de Pokémon y Pokédex desde los archivos JSON.
-     * Se ejecuta en un hilo de fondo para no bloquear el arranque.
+     * Verifica que el catálogo de Pokémon y Pokédex esté al día.
+     * En instalaciones nuevas Room ya lo copia desde la base de datos semilla;
+     * CatalogSeeder solo recurre al JSON si el hash del catálogo ha cambiado,
+     * y en ese caso reescribe únicamente las especies modificadas.
      */
     private void loadInitialData() {
-        new Thread(() -> {
-            try {
-                // Cargar datos de Pokémon
-                PokemonRepository pokemonRepository = new PokemonRepository(this);
-                pokemonRepository.initializePokemon();
-                Log.d(TAG, "Datos de Pokémon cargados");
-                
-                // Cargar datos de Pokédex
-                PokedexRepository pokedexRepository = new PokedexRepository(this);
-                pokedexRepository.initializePokedex();
-                Log.d(TAG, "Datos de Pokédex cargados");
-                
-            } catch (Exception e) {
-                Log.e(TAG, "Error cargando datos iniciales", e);
-            }
-        }).start();
+        try {
+            // Una consulta si el catálogo está al día; si no, sincronización incremental
+            new CatalogSeeder(this).syncIfNeeded();
+            Log.d(TAG, "Catálogo de Pokémon y Pokédex verificado");
+        
+        } catch (Exception e) {
+            Log.e(TAG, "Error cargando datos iniciales", e);
+        }
+    }
+    
+    /**
+     * Deja preparado el catálogo binario que lee la pantalla de Pokédex
+     */
+    private void openSpeciesCatalog() {
+        try {
+            SpeciesCatalog.get(this);
+        } catch (Exception e) {
+            Log.e(TAG, "Error abriendo el catálogo de especies", e);
+        }
     }
 }
@@ -0,0 +1,147 @@
+package com.example.pokerun.concurrent;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutores compartidos por toda la aplicación, separados en carriles.
+ * 
+ * Sustituye a los new Thread(...) que lanzaban repositorios, ViewModels y
+ * Fragments: abrir un huevo llegaba a crear cuatro hilos, y varias escrituras
+ * simultáneas competían por el único escritor de SQLite.
+ * 
+ * CARRILES:
+ * - dbWrite(): un único hilo. Las escrituras se ejecutan en orden de llegada,
+ *   así que un flujo de lectura-modificación-escritura (mochila) no se
+ *   intercala con otro. Lo usa WriteQueue; los repositorios encolan ahí.
+ * - dbRead(): DB_READ_THREADS hilos para consultas síncronas a Room y para
+ *   lecturas bloqueantes de disco (abrir o generar el catálogo binario).
+ * - cpu(): solo cálculo, sin E/S, con como mucho MAX_CPU_THREADS hilos; un
+ *   hilo bloqueado en disco dejaría al carril sin uno de sus pocos hilos.
+ * - main(): publica en el hilo principal (sustituye a runOnUiThread).
+ * 
+ * PRIORIDADES:
+ * Todos los hilos corren con THREAD_PRIORITY_BACKGROUND para no quitarle CPU
+ * al renderizado; los carriles de base de datos suben un escalón
+ * (THREAD_PRIORITY_MORE_FAVORABLE) porque la UI suele estar esperando su
+ * resultado, mientras que cpu() se queda en la prioridad de fondo.
+ * 
+ * MÉTRICAS:
+ * Cada carril mide profundidad de cola, espera y duración de sus tareas
+ * (LaneStats). getStats() devuelve una copia y logStats() las escribe en
+ * logcat con el tag AppExecutors; las esperas largas se avisan al momento.
+ */
+public final class AppExecutors {
+    private static final String TAG = "AppExecutors";
+    
+    public static final String LANE_DB_WRITE = "db-write";
+    public static final String LANE_DB_READ = "db-read";
+    public static final String LANE_CPU = "cpu";
+    public static final String LANE_MAIN = "main";
+    
+    /** Room abre varias conexiones de lectura en WAL, pero más de dos no aporta en un móvil */
+    private static final int DB_READ_THREADS = 2;
+    private static final int MAX_CPU_THREADS = 4;
+    
+    private static final AppExecutors INSTANCE = new AppExecutors();
+    
+    private final InstrumentedExecutor dbWrite;
+    private final InstrumentedExecutor dbRead;
+    private final InstrumentedExecutor cpu;
+    private final InstrumentedExecutor main;
+    
+    private AppExecutors() {
+        int cpuThreads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_CPU_THREADS));
+        int dbPriority = Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_MORE_FAVORABLE;
+        
+        dbWrite = new InstrumentedExecutor(LANE_DB_WRITE,
+            newPool(1, threadFactory("pokerun-db-write", dbPriority)));
+        dbRead = new InstrumentedExecutor(LANE_DB_READ,
+            newPool(DB_READ_THREADS, threadFactory("pokerun-db-read", dbPriority)));
+        cpu = new InstrumentedExecutor(LANE_CPU,
+            newPool(cpuThreads, threadFactory("pokerun-cpu", Process.THREAD_PRIORITY_BACKGROUND)));
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        main = new InstrumentedExecutor(LANE_MAIN, mainHandler::post);
+    }
+    
+    public static AppExecutors getInstance() {
+        return INSTANCE;
+    }
+    
+    /** Carril serie donde WriteQueue aplica sus lotes de escrituras */
+    @NonNull
+    public Executor dbWrite() {
+        return dbWrite;
+    }
+    
+    /** Pool pequeño para consultas síncronas a Room y lecturas de disco */
+    @NonNull
+    public Executor dbRead() {
+        return dbRead;
+    }
+    
+    /** Pool acotado para cálculo puro, sin E/S */
+    @NonNull
+    public Executor cpu() {
+        return cpu;
+    }
+    
+    /** Publica en el hilo principal */
+    @NonNull
+    public Executor main() {
+        return main;
+    }
+    
+    /** @return copia de las métricas de cada carril */
+    @NonNull
+    public List<LaneStats.Snapshot> getStats() {
+        List<LaneStats.Snapshot> snapshots = new ArrayList<>();
+        for (InstrumentedExecutor lane : Arrays.asList(dbWrite, dbRead, cpu, main)) {
+            snapshots.add(lane.getStats().snapshot());
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Escribe en logcat el resumen de todos los carriles
+     */
+    public void logStats() {
+        StringBuilder summary = new StringBuilder("Métricas de ejecutores");
+        for (LaneStats.Snapshot snapshot : getStats()) {
+            summary.append("\n  ").append(snapshot);
+        }
+        Log.i(TAG, summary.toString());
+    }
+    
+    /**
+     * Pool de tamaño fijo con cola sin límite: el número de hilos está acotado
+     * y las ráfagas esperan en cola (y se ven en las métricas) en lugar de
+     * crear hilos nuevos.
+     */
+    private static ThreadPoolExecutor newPool(int threads, ThreadFactory factory) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), factory);
+    }
+    
+    private static ThreadFactory threadFactory(String prefix, int priority) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> new Thread(() -> {
+            Process.setThreadPriority(priority);
+            runnable.run();
+        }, prefix + "-" + count.incrementAndGet());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.pokerun.concurrent;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Carril de AppExecutors: delega en un Executor real (pool de hilos o Handler
+ * del hilo principal) y mide cada tarea en LaneStats.
+ * 
+ * Una tarea que lanza una excepción se registra en logcat y cuenta como
+ * fallida, pero no mata al hilo del pool ni al resto de tareas en cola.
+ */
+final class InstrumentedExecutor implements Executor {
+    private static final String TAG = "AppExecutors";
+    
+    /** Esperas en cola por encima de este umbral se avisan en logcat */
+    private static final long SLOW_WAIT_MS = 100;
+    
+    private final Executor delegate;
+    private final LaneStats stats;
+    
+    InstrumentedExecutor(String lane, Executor delegate) {
+        this.delegate = delegate;
+        this.stats = new LaneStats(lane);
+    }
+    
+    @Override
+    public void execute(@NonNull Runnable command) {
+        long enqueuedAt = SystemClock.elapsedRealtimeNanos();
+        stats.onEnqueued();
+        delegate.execute(() -> run(command, enqueuedAt));
+    }
+    
+    LaneStats getStats() {
+        return stats;
+    }
+    
+    private void run(Runnable command, long enqueuedAt) {
+        long begin = SystemClock.elapsedRealtimeNanos();
+        long waitNanos = begin - enqueuedAt;
+        stats.onStarted(waitNanos);
+        if (waitNanos / 1_000_000 > SLOW_WAIT_MS) {
+            Log.w(TAG, stats.snapshot().lane + ": tarea esperó " + waitNanos / 1_000_000
+                + " ms en cola (profundidad " + stats.getQueueDepth() + ")");
+        }
+        
+        boolean error = false;
+        try {
+            command.run();
+        } catch (RuntimeException e) {
+            error = true;
+            Log.e(TAG, "Error en una tarea del carril " + stats.snapshot().lane, e);
+        } finally {
+            stats.onFinished(SystemClock.elapsedRealtimeNanos() - begin, error);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.pokerun.concurrent;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de un carril de AppExecutors.
+ * 
+ * Cada tarea registra cuándo se encoló, cuánto esperó hasta obtener un hilo y
+ * cuánto duró. Los contadores son atómicos porque los actualizan a la vez los
+ * hilos que encolan y los que ejecutan; snapshot() devuelve una copia
+ * inmutable para escribirla en logcat o comprobarla en los tests.
+ */
+public final class LaneStats {
+    
+    private final String lane;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    
+    LaneStats(String lane) {
+        this.lane = lane;
+    }
+    
+    void onEnqueued() {
+        submitted.incrementAndGet();
+        int depth = queued.incrementAndGet();
+        int max;
+        while (depth > (max = maxQueued.get()) && !maxQueued.compareAndSet(max, depth)) {
+            // Reintentar hasta publicar el nuevo máximo
+        }
+    }
+    
+    void onStarted(long waitNanos) {
+        queued.decrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        updateMax(maxWaitNanos, waitNanos);
+    }
+    
+    void onFinished(long runNanos, boolean error) {
+        completed.incrementAndGet();
+        if (error) {
+            failed.incrementAndGet();
+        }
+        totalRunNanos.addAndGet(runNanos);
+        updateMax(maxRunNanos, runNanos);
+    }
+    
+    /** @return tareas encoladas que todavía no han empezado */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+    
+    @NonNull
+    public Snapshot snapshot() {
+        return new Snapshot(lane, queued.get(), maxQueued.get(), submitted.get(), completed.get(),
+            failed.get(), totalWaitNanos.get(), maxWaitNanos.get(), totalRunNanos.get(), maxRunNanos.get());
+    }
+    
+    private static void updateMax(AtomicLong target, long value) {
+        long max;
+        while (value > (max = target.get()) && !target.compareAndSet(max, value)) {
+            // Reintentar hasta publicar el nuevo máximo
+        }
+    }
+    
+    /**
+     * Copia de los contadores de un carril; tiempos en nanosegundos.
+     */
+    public static final class Snapshot {
+        public final String lane;
+        public final int queueDepth;
+        public final int maxQueueDepth;
+        public final long submitted;
+        public final long completed;
+        public final long failed;
+        public final long totalWaitNanos;
+        public final long maxWaitNanos;
+        public final long totalRunNanos;
+        public final long maxRunNanos;
+        
+        Snapshot(String lane, int queueDepth, int maxQueueDepth, long submitted, long completed, long failed,
+                 long totalWaitNanos, long maxWaitNanos, long totalRunNanos, long maxRunNanos) {
+            this.lane = lane;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.totalRunNanos = totalRunNanos;
+            this.maxRunNanos = maxRunNanos;
+        }
+        
+        /** @return espera media en cola, en milisegundos */
+        public double averageWaitMs() {
+            return completed == 0 ? 0 : totalWaitNanos / 1_000_000.0 / completed;
+        }
+        
+        /** @return duración media de las tareas, en milisegundos */
+        public double averageRunMs() {
+            return completed == 0 ? 0 : totalRunNanos / 1_000_000.0 / completed;
+        }
+        
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "%s: %d tareas (%d con error), cola %d (máx %d), espera media %.1f ms (máx %.1f), "
+                    + "duración media %.1f ms (máx %.1f)",
+                lane, completed, failed, queueDepth, maxQueueDepth,
+                averageWaitMs(), maxWaitNanos / 1_000_000.0, averageRunMs(), maxRunNanos / 1_000_000.0);
+        }
+    }
+}
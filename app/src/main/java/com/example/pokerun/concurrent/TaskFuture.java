@@ -0,0 +1,160 @@
+package com.example.pokerun.concurrent;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.pokerun.BuildConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resultado asíncrono de una tarea de la capa de datos.
+ * 
+ * Sustituye a CompletableFuture, que no está disponible con minSdk 22:
+ * - get() bloquea hasta el resultado; solo para hilos de fondo. En
+ *   depuración, llamarlo desde el hilo principal con la tarea sin terminar
+ *   lanza IllegalStateException.
+ * - addCallback() notifica en el Executor indicado, normalmente
+ *   AppExecutors.main(), sin bloquear a nadie. Es la forma de consumirlo
+ *   desde la UI.
+ * 
+ * Las tareas no se pueden cancelar una vez lanzadas. Cualquier Throwable de
+ * la tarea (también un Error como OutOfMemoryError) completa el futuro con
+ * ese error, así que get() y los callbacks nunca se quedan esperando.
+ */
+public class TaskFuture<T> implements Future<T> {
+    
+    public interface Callback<T> {
+        /** @param error null si la tarea terminó correctamente */
+        void onComplete(@Nullable T result, @Nullable Throwable error);
+    }
+    
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final List<Runnable> callbacks = new ArrayList<>();
+    
+    private T result;
+    private Throwable error;
+    private boolean done;
+    
+    protected TaskFuture() {}
+    
+    /**
+     * Ejecuta {@code task} en {@code executor} y devuelve su resultado futuro
+     */
+    @NonNull
+    public static <T> TaskFuture<T> supply(@NonNull Executor executor, @NonNull Callable<T> task) {
+        TaskFuture<T> future = new TaskFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.fail(t);
+            }
+        });
+        return future;
+    }
+    
+    /**
+     * Registra un callback que se ejecuta en {@code executor} al completarse;
+     * si ya está completa se ejecuta de inmediato.
+     */
+    public void addCallback(@NonNull Executor executor, @NonNull Callback<? super T> callback) {
+        Runnable notify = () -> executor.execute(() -> callback.onComplete(result, error));
+        synchronized (this) {
+            if (!done) {
+                callbacks.add(notify);
+                return;
+            }
+        }
+        notify.run();
+    }
+    
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+    
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+    
+    @Override
+    public boolean isDone() {
+        return latch.getCount() == 0;
+    }
+    
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        checkCanBlock();
+        latch.await();
+        return report();
+    }
+    
+    @Override
+    public T get(long timeout, @NonNull TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        checkCanBlock();
+        if (!latch.await(timeout, unit)) {
+            throw new TimeoutException("La tarea no terminó en " + timeout + " " + unit);
+        }
+        return report();
+    }
+    
+    protected void complete(T value) {
+        finish(value, null);
+    }
+    
+    protected void fail(Throwable cause) {
+        finish(null, cause);
+    }
+    
+    /**
+     * Lanza IllegalStateException si el hilo actual no puede esperar el
+     * resultado. En depuración, el hilo principal no puede esperar una tarea
+     * sin terminar (congelaría la UI); las subclases añaden sus propios casos.
+     */
+    protected void checkCanBlock() {
+        if (BuildConfig.DEBUG && !isDone() && isMainThread()) {
+            throw new IllegalStateException("get() en el hilo principal; usa addCallback()");
+        }
+    }
+    
+    private static boolean isMainThread() {
+        Looper mainLooper = Looper.getMainLooper();
+        return mainLooper != null && Looper.myLooper() == mainLooper;
+    }
+    
+    private void finish(T value, Throwable cause) {
+        List<Runnable> pending;
+        synchronized (this) {
+            if (done) return;
+            result = value;
+            error = cause;
+            done = true;
+            pending = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        latch.countDown();
+        for (Runnable callback : pending) {
+            callback.run();
+        }
+    }
+    
+    private T report() throws ExecutionException {
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.pokerun.data.cache;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.InvalidationTracker;
+
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.data.database.PokeRunDatabase;
+import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.entity.UserSettingsEntity;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Cachés de lectura compartidas por los repositorios.
+ * 
+ * PATRÓN MVVM - CAPA MODEL:
+ * Las lecturas de una fila que se repiten (configuración y mochila) se
+ * sirven desde memoria; los repositorios consultan aquí antes que al DAO.
+ * Cada caché observa su tabla en el InvalidationTracker de Room y, cuando
+ * la tabla cambia, recarga sus entradas en sitio: un lector nunca encuentra
+ * la caché vacía por una escritura.
+ * 
+ * LEER LO ESCRITO:
+ * El tracker avisa de forma asíncrona, unos milisegundos después del commit.
+ * Para que quien espera un WriteFuture lea ya sus propios cambios, WriteQueue
+ * llama a refreshVersionsSync() en el hilo escritor tras cada commit:
+ * solo se avisa a los observadores de las tablas que la transacción tocó
+ * (guardar un entrenamiento no recarga la configuración) y la recarga
+ * termina antes de completar los futuros.
+ * 
+ * @see RowCache
+ */
+public final class ReadCaches {
+    private static final String TAG = "ReadCaches";
+    
+    /** Clave de las tablas de una sola fila (bag, user_settings) */
+    public static final Integer SINGLE_ROW = 0;
+    
+    private static volatile ReadCaches INSTANCE;
+    
+    private final RowCache<Integer, UserSettingsEntity> settings;
+    private final RowCache<Integer, BagEntity> bag;
+    
+    private ReadCaches(PokeRunDatabase database) {
+        // Los observadores se registran en el carril de lectura: crear las
+        // cachés no toca la base de datos y es seguro en el hilo principal
+        Executor registration = AppExecutors.getInstance().dbRead();
+        InvalidationTracker tracker = database.getInvalidationTracker();
+        settings = new RowCache<>("user_settings", tracker, "user_settings", registration,
+            key -> database.userSettingsDao().getSettingsSync());
+        bag = new RowCache<>("bag", tracker, "bag", registration,
+            key -> database.bagDao().getBagSync());
+    }
+    
+    public static ReadCaches getInstance(final Context context) {
+        if (INSTANCE == null) {
+            synchronized (ReadCaches.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ReadCaches(PokeRunDatabase.getDatabase(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+    
+    public RowCache<Integer, UserSettingsEntity> settings() {
+        return settings;
+    }
+    
+    public RowCache<Integer, BagEntity> bag() {
+        return bag;
+    }
+    
+    /**
+     * Escribe en logcat los contadores de aciertos y fallos de cada caché
+     */
+    public void logStats() {
+        Log.i(TAG, "Cachés de lectura\n  " + settings + "\n  " + bag);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.pokerun.data.cache;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria de lecturas de una fila, invalidada por Room.
+ * 
+ * Se registra como InvalidationTracker.Observer de su tabla: cualquier
+ * escritura en ella (DAO, WriteQueue o sincronización del catálogo) recarga
+ * en sitio las claves ya cacheadas. Mientras dura la recarga los lectores
+ * siguen recibiendo el valor anterior; nunca encuentran la caché vacía.
+ * 
+ * CONSISTENCIA:
+ * Cada recarga incrementa una generación. Una carga solo se publica si la
+ * generación no cambió mientras consultaba, de modo que un valor leído antes
+ * de una escritura nunca sobrescribe la recarga posterior.
+ * 
+ * REGISTRO:
+ * InvalidationTracker.addObserver() sincroniza los triggers de Room en el
+ * hilo que lo llama, y ReadCaches puede crearse desde el hilo principal (al
+ * construir un repositorio). Por eso el observador se registra en el
+ * ejecutor recibido (el carril de lectura) y, hasta que está registrado,
+ * get() consulta SQLite sin guardar nada: sin observador no habría forma de
+ * enterarse de una escritura.
+ * 
+ * Los valores null también se cachean (p. ej. "no existe la mochila"). Las
+ * entidades devueltas son compartidas: se leen, nunca se modifican.
+ */
+public final class RowCache<K, V> {
+    private static final String TAG = "RowCache";
+    
+    public interface Loader<K, V> {
+        @Nullable
+        V load(@NonNull K key);
+    }
+    
+    /** ConcurrentHashMap no admite null: se guarda este marcador */
+    private static final Object NULL = new Object();
+    
+    private final String name;
+    private final Loader<K, V> loader;
+    private final ConcurrentHashMap<K, Object> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    /** true desde que el observador de la tabla está registrado */
+    private volatile boolean observing;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    /**
+     * @param registration ejecutor de fondo en el que se registra el observador
+     */
+    public RowCache(@NonNull String name, @NonNull InvalidationTracker tracker, @NonNull String table,
+                    @NonNull Executor registration, @NonNull Loader<K, V> loader) {
+        this.name = name;
+        this.loader = loader;
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer(table) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                refresh();
+            }
+        };
+        registration.execute(() -> {
+            try {
+                tracker.addObserver(observer);
+                observing = true;
+            } catch (Exception e) {
+                Log.e(TAG, "No se pudo observar " + table + "; " + name + " no cacheará", e);
+            }
+        });
+    }
+    
+    /**
+     * Devuelve el valor cacheado o lo carga con el Loader (consulta a Room).
+     */
+    @WorkerThread
+    @Nullable
+    public V get(@NonNull K key) {
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return unwrap(cached);
+        }
+        misses.incrementAndGet();
+        // Solo se publica lo cargado con el observador ya registrado
+        boolean cacheable = observing;
+        long loadedAt = generation.get();
+        V value = loader.load(key);
+        synchronized (this) {
+            if (cacheable && generation.get() == loadedAt) {
+                entries.put(key, value != null ? value : NULL);
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * Valor cacheado sin consultar nunca SQLite; seguro en el hilo principal.
+     * @return null si no está en caché
+     */
+    @Nullable
+    public V peek(@NonNull K key) {
+        Object cached = entries.get(key);
+        return cached != null ? unwrap(cached) : null;
+    }
+    
+    /**
+     * Vuelve a cargar las claves cacheadas sin retirarlas antes. Si llega otra
+     * recarga mientras tanto, esta se abandona: la nueva ya leerá lo último.
+     */
+    @WorkerThread
+    public void refresh() {
+        long refreshing = generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        for (K key : entries.keySet()) {
+            V value;
+            try {
+                value = loader.load(key);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Error recargando " + name + " (" + key + ")", e);
+                synchronized (this) {
+                    if (generation.get() == refreshing) {
+                        entries.remove(key);
+                    }
+                }
+                continue;
+            }
+            synchronized (this) {
+                if (generation.get() != refreshing) {
+                    return;
+                }
+                entries.put(key, value != null ? value : NULL);
+            }
+        }
+    }
+    
+    public long getHits() {
+        return hits.get();
+    }
+    
+    public long getMisses() {
+        return misses.get();
+    }
+    
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+    
+    @NonNull
+    @Override
+    public String toString() {
+        long total = hits.get() + misses.get();
+        return String.format(Locale.ROOT, "%s: %d aciertos, %d fallos (%.0f%% aciertos), %d invalidaciones",
+            name, hits.get(), misses.get(), total == 0 ? 0.0 : hits.get() * 100.0 / total, invalidations.get());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private V unwrap(Object cached) {
+        return cached == NULL ? null : (V) cached;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.pokerun.data.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Grafo evolutivo inmutable sobre las tablas generadas en tiempo de build.
+ * 
+ * EvolutionTables se genera con la tarea generateEvolutionTables a partir de
+ * evolutions.json y pokedex.json, por lo que cada consulta es un acceso a
+ * array sin parseo ni consultas a la base de datos.
+ * 
+ * GRAFO:
+ * - Aristas: listas de adyacencia BRANCH_OFFSETS/BRANCH_TARGETS indexadas por
+ *   número de Pokédex, con todas las ramas (las tres de Eevee, no solo la primera).
+ * - Familias: al cargar la clase se calcula la raíz de cada especie y se
+ *   colocan las familias contiguas en CHAIN_MEMBERS (preorden desde la raíz).
+ * 
+ * COSTE:
+ * - root, branchCount/branch y chainSize/chainMember son O(1) y no reservan
+ *   memoria: son los que debe usar la UI al pintar o evolucionar.
+ * - nextStages y chain devuelven una copia, O(k) en el tamaño de la rama o de
+ *   la familia; sirven cuando se necesita el array entero.
+ * La carga ocurre una vez, en el primer uso (el sembrado del arranque), y los
+ * arrays no se modifican después: se comparten entre hilos sin sincronizar.
+ * 
+ * Lo usan el repositorio, los adapters y el diálogo de evolución; la base de
+ * datos solo interviene para escribir la evolución (EvolutionDao).
+ * 
+ * Los números fuera del catálogo devuelven 0 (sin evolución) en lugar de lanzar.
+ */
+public final class Evolutions {
+    
+    private static final int[] NO_STAGES = new int[0];
+    
+    /** Raíz de la familia de cada especie (ella misma si es forma base) */
+    private static final int[] ROOT = new int[EvolutionTables.MAX_NUMBER + 1];
+    /** Familias contiguas; la de la raíz r es [CHAIN_START[r], CHAIN_END[r]) */
+    private static final int[] CHAIN_MEMBERS = new int[EvolutionTables.MAX_NUMBER];
+    private static final int[] CHAIN_START = new int[EvolutionTables.MAX_NUMBER + 1];
+    private static final int[] CHAIN_END = new int[EvolutionTables.MAX_NUMBER + 1];
+    
+    static {
+        int next = 0;
+        for (int number = 1; number <= EvolutionTables.MAX_NUMBER; number++) {
+            if (EvolutionTables.EVOLVES_FROM[number] == 0) {
+                CHAIN_START[number] = next;
+                next = appendFamily(number, number, next);
+                CHAIN_END[number] = next;
+            }
+        }
+    }
+    
+    private Evolutions() {}
+    
+    /** Añade la especie y sus evoluciones en preorden; devuelve la siguiente posición libre */
+    private static int appendFamily(int number, int root, int next) {
+        ROOT[number] = root;
+        CHAIN_MEMBERS[next++] = number;
+        for (int i = EvolutionTables.BRANCH_OFFSETS[number]; i < EvolutionTables.BRANCH_OFFSETS[number + 1]; i++) {
+            next = appendFamily(EvolutionTables.BRANCH_TARGETS[i], root, next);
+        }
+        return next;
+    }
+    
+    /** Número de Pokédex más alto incluido en las tablas */
+    public static int maxNumber() {
+        return EvolutionTables.MAX_NUMBER;
+    }
+    
+    /** @return número del que evoluciona, o 0 si es forma base */
+    public static int evolvesFrom(int number) {
+        return inRange(number) ? EvolutionTables.EVOLVES_FROM[number] : 0;
+    }
+    
+    /** @return primera evolución declarada, o 0 si no evoluciona */
+    public static int evolvesTo(int number) {
+        return inRange(number) ? EvolutionTables.EVOLVES_TO[number] : 0;
+    }
+    
+    /** @return etapa evolutiva: 0 = base, 1 = primera, 2 = segunda */
+    public static int stage(int number) {
+        return inRange(number) ? EvolutionTables.STAGE[number] : 0;
+    }
+    
+    /** @return número de evoluciones posibles (3 para Eevee) */
+    public static int branchCount(int number) {
+        if (!inRange(number)) return 0;
+        return EvolutionTables.BRANCH_OFFSETS[number + 1] - EvolutionTables.BRANCH_OFFSETS[number];
+    }
+    
+    /** @return la evolución número {@code index} de la especie, en orden de declaración */
+    public static int branch(int number, int index) {
+        if (index < 0 || index >= branchCount(number)) {
+            throw new IndexOutOfBoundsException("Rama " + index + " inexistente para #" + number);
+        }
+        return EvolutionTables.BRANCH_TARGETS[EvolutionTables.BRANCH_OFFSETS[number] + index];
+    }
+    
+    /** @return true si la especie tiene al menos una evolución */
+    public static boolean canEvolve(int number) {
+        return branchCount(number) > 0;
+    }
+    
+    /** @return true si {@code to} es una de las evoluciones directas de {@code from} */
+    public static boolean isBranch(int from, int to) {
+        return from != 0 && evolvesFrom(to) == from;
+    }
+    
+    /**
+     * Siguientes etapas en orden de declaración. Copia O(k) de las ramas; para
+     * recorrerlas sin reservar, branchCount() y branch()
+     * @return copia; vacío si no evoluciona
+     */
+    public static int[] nextStages(int number) {
+        if (!canEvolve(number)) return NO_STAGES;
+        return Arrays.copyOfRange(EvolutionTables.BRANCH_TARGETS,
+            EvolutionTables.BRANCH_OFFSETS[number], EvolutionTables.BRANCH_OFFSETS[number + 1]);
+    }
+    
+    /** @return forma base de la familia de la especie, o 0 fuera del catálogo */
+    public static int root(int number) {
+        return inRange(number) ? ROOT[number] : 0;
+    }
+    
+    /** @return número de especies de la familia (1 si no evoluciona ni procede de otra) */
+    public static int chainSize(int number) {
+        int root = root(number);
+        return root != 0 ? CHAIN_END[root] - CHAIN_START[root] : 0;
+    }
+    
+    /** @return miembro número {@code index} de la familia, en el mismo orden que chain() */
+    public static int chainMember(int number, int index) {
+        if (index < 0 || index >= chainSize(number)) {
+            throw new IndexOutOfBoundsException("Miembro " + index + " inexistente en la familia de #" + number);
+        }
+        return CHAIN_MEMBERS[CHAIN_START[ROOT[number]] + index];
+    }
+    
+    /**
+     * Familia completa de la especie, desde la raíz y en preorden: cada forma
+     * va seguida de sus evoluciones (133, 134, 135, 136 para Eevee).
+     * Copia O(k) de la familia; para recorrerla sin reservar, chainSize() y chainMember()
+     * @return copia; vacío fuera del catálogo
+     */
+    public static int[] chain(int number) {
+        int root = root(number);
+        if (root == 0) return NO_STAGES;
+        return Arrays.copyOfRange(CHAIN_MEMBERS, CHAIN_START[root], CHAIN_END[root]);
+    }
+    
+    private static boolean inRange(int number) {
+        return number > 0 && number <= EvolutionTables.MAX_NUMBER;
+    }
+}
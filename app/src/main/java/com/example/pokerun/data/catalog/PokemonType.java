@@ -0,0 +1,130 @@
+package com.example.pokerun.data.catalog;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Los 18 tipos Pokémon con su código persistente, su bit de máscara, su color
+ * y sus etiquetas en español e inglés.
+ * 
+ * CODIFICACIÓN:
+ * - code: ordinal + 1 (1-18); 0 = sin tipo. Es lo que guardan las columnas
+ *   type1/type2 (Converters) y el catálogo binario (SpeciesCatalogWriter).
+ * - mask: 1 << ordinal. species.typeMask es el OR de los dos tipos, de modo
+ *   que filtrar por uno o varios tipos es un único (typeMask & :mask) != 0.
+ * 
+ * El orden de las constantes es parte del formato persistido: los tipos
+ * nuevos se añaden al final y nunca se reordenan. La semilla de build
+ * (CatalogDerivation en app/build.gradle.kts) lee los nombres de este
+ * fichero: cada constante va en su propia línea con jsonName como primer
+ * argumento literal.
+ * 
+ * Color y etiqueta son campos de la constante y la decodificación es un
+ * acceso a BY_CODE, por lo que enlazar una fila no calcula ningún hash.
+ */
+public enum PokemonType {
+    NORMAL("Normal", "Normal", 0xFFA8A878),
+    FIRE("Fire", "Fuego", 0xFFF08030),
+    WATER("Water", "Agua", 0xFF6890F0),
+    GRASS("Grass", "Planta", 0xFF78C850),
+    ELECTRIC("Electric", "Eléctrico", 0xFFF8D030),
+    ICE("Ice", "Hielo", 0xFF98D8D8),
+    FIGHTING("Fighting", "Lucha", 0xFFC03028),
+    POISON("Poison", "Veneno", 0xFFA040A0),
+    GROUND("Ground", "Tierra", 0xFFE0C068),
+    FLYING("Flying", "Volador", 0xFFA890F0),
+    PSYCHIC("Psychic", "Psíquico", 0xFFF85888),
+    BUG("Bug", "Bicho", 0xFFA8B820),
+    ROCK("Rock", "Roca", 0xFFB8A038),
+    GHOST("Ghost", "Fantasma", 0xFF705898),
+    DRAGON("Dragon", "Dragón", 0xFF7038F8),
+    DARK("Dark", "Siniestro", 0xFF705848),
+    STEEL("Steel", "Acero", 0xFFB8B8D0),
+    FAIRY("Fairy", "Hada", 0xFFEE99AC);
+    
+    /** Código de "sin tipo" (type2 de las especies de un solo tipo) */
+    public static final int NONE = 0;
+    /** Color de un tipo desconocido y de las entradas bloqueadas */
+    public static final int UNKNOWN_COLOR = 0xFF888888;
+    
+    /** Índice = código; BY_CODE[NONE] es null */
+    private static final PokemonType[] BY_CODE = new PokemonType[values().length + 1];
+    static {
+        for (PokemonType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+    
+    /** Nombre en pokedex.json (inglés) */
+    public final String jsonName;
+    public final int code;
+    public final int mask;
+    /** Color ARGB del tipo */
+    public final int color;
+    private final String labelEs;
+    
+    PokemonType(String jsonName, String labelEs, int color) {
+        this.jsonName = jsonName;
+        this.labelEs = labelEs;
+        this.color = color;
+        this.code = ordinal() + 1;
+        this.mask = 1 << ordinal();
+    }
+    
+    /** Etiqueta en el idioma activo */
+    public String label(boolean english) {
+        return english ? jsonName : labelEs;
+    }
+    
+    /** @return el tipo del código, o null para NONE y códigos desconocidos */
+    @Nullable
+    public static PokemonType fromCode(int code) {
+        return code > NONE && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+    
+    /** @return código del tipo, NONE si es null */
+    public static int codeOf(@Nullable PokemonType type) {
+        return type != null ? type.code : NONE;
+    }
+    
+    /**
+     * Tipo a partir de su nombre en pokedex.json; acepta también la etiqueta
+     * en español, que es lo que pueden contener bases de datos antiguas.
+     * Solo se usa al sembrar y al migrar, nunca al enlazar una fila.
+     * @return null si el nombre es null, vacío o desconocido
+     */
+    @Nullable
+    public static PokemonType fromName(@Nullable String name) {
+        if (name == null || name.isEmpty()) return null;
+        for (PokemonType type : values()) {
+            if (type.jsonName.equalsIgnoreCase(name) || type.labelEs.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+    
+    /** Máscara de una especie: OR de sus tipos (los null no aportan bits) */
+    public static int maskOf(@Nullable PokemonType type1, @Nullable PokemonType type2) {
+        return (type1 != null ? type1.mask : 0) | (type2 != null ? type2.mask : 0);
+    }
+    
+    /** Máscara que selecciona cualquiera de los tipos indicados */
+    public static int maskOf(PokemonType... types) {
+        int mask = 0;
+        for (PokemonType type : types) {
+            mask |= type.mask;
+        }
+        return mask;
+    }
+    
+    /**
+     * Etiqueta "Tipo1 / Tipo2" (o solo "Tipo1") en el idioma activo
+     * @return null si la especie no tiene tipos
+     */
+    @Nullable
+    public static String label(@Nullable PokemonType type1, @Nullable PokemonType type2, boolean english) {
+        if (type1 == null) return type2 != null ? type2.label(english) : null;
+        if (type2 == null) return type1.label(english);
+        return type1.label(english) + " / " + type2.label(english);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.pokerun.data.catalog;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Catálogo estático de especies en formato binario, leído mediante un MappedByteBuffer.
+ * 
+ * Sustituye a las listas de PokedexEntryEntity para las lecturas de solo catálogo:
+ * el heap de Java solo contiene el mapeo y las cadenas se decodifican de UTF-8
+ * únicamente cuando una fila se enlaza en pantalla, y solo en el idioma pedido.
+ * Los tipos son códigos de un byte (PokemonType), sin ninguna cadena que decodificar.
+ * 
+ * El fichero se genera una vez en filesDir a partir de pokedex.json
+ * (SpeciesCatalogWriter) y se regenera si cambia el APK o la versión del formato.
+ * El índice es de ancho fijo, por lo que escala al Pokédex nacional completo
+ * sin cambiar el coste de acceso.
+ * 
+ * @see SpeciesCatalogWriter Descripción del formato
+ */
+public final class SpeciesCatalog {
+    private static final String TAG = "SpeciesCatalog";
+    private static final String POKEDEX_ASSET = "pokedex.json";
+    private static final String FILE_NAME = "species_catalog.bin";
+    
+    private static volatile SpeciesCatalog INSTANCE;
+    
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int maxNumber;
+    private final int rowsOffset;
+    private final int heapOffset;
+    
+    // Cursor y buffer de decodificación reutilizados (acceso sincronizado)
+    private final ByteBuffer cursor;
+    private byte[] scratch = new byte[256];
+    
+    private SpeciesCatalog(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(SpeciesCatalogWriter.OFFSET_COUNT);
+        this.maxNumber = buffer.getInt(SpeciesCatalogWriter.OFFSET_MAX_NUMBER);
+        this.heapOffset = buffer.getInt(SpeciesCatalogWriter.OFFSET_HEAP);
+        this.rowsOffset = SpeciesCatalogWriter.HEADER_SIZE + (maxNumber + 1) * 4;
+        this.cursor = buffer.duplicate();
+    }
+    
+    /**
+     * Devuelve el catálogo compartido, escribiéndolo la primera vez que se necesita.
+     * Puede tocar disco, por lo que debe llamarse desde un hilo de fondo.
+     */
+    @WorkerThread
+    public static SpeciesCatalog get(Context context) throws IOException {
+        if (INSTANCE == null) {
+            synchronized (SpeciesCatalog.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = open(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+    
+    /** @return el catálogo si ya se ha abierto, sin tocar disco */
+    @Nullable
+    public static SpeciesCatalog peek() {
+        return INSTANCE;
+    }
+    
+    private static SpeciesCatalog open(Context context) throws IOException {
+        File file = new File(context.getFilesDir(), FILE_NAME);
+        long stamp = sourceStamp(context);
+        
+        if (file.exists()) {
+            MappedByteBuffer mapped = map(file);
+            if (isValid(mapped, stamp)) {
+                return new SpeciesCatalog(mapped);
+            }
+            Log.d(TAG, "Catálogo binario obsoleto, se regenera");
+        }
+        
+        try (InputStream inputStream = context.getAssets().open(POKEDEX_ASSET)) {
+            SpeciesCatalogWriter.write(inputStream, file, stamp);
+        }
+        MappedByteBuffer mapped = map(file);
+        if (!isValid(mapped, stamp)) {
+            throw new IOException("Catálogo binario inválido tras escribirlo");
+        }
+        return new SpeciesCatalog(mapped);
+    }
+    
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+    
+    private static boolean isValid(ByteBuffer buffer, long stamp) {
+        return buffer.capacity() >= SpeciesCatalogWriter.HEADER_SIZE
+            && buffer.getInt(0) == SpeciesCatalogWriter.MAGIC
+            && buffer.getInt(4) == SpeciesCatalogWriter.FORMAT_VERSION
+            && buffer.getLong(SpeciesCatalogWriter.OFFSET_STAMP) == stamp;
+    }
+    
+    /** El catálogo se regenera cuando se instala una nueva versión del APK */
+    private static long sourceStamp(Context context) {
+        try {
+            return context.getPackageManager()
+                .getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+    
+    // ==================== CONSULTAS ====================
+    
+    /** @return número de especies del catálogo */
+    public int size() {
+        return count;
+    }
+    
+    public boolean contains(int number) {
+        return rowOf(number) >= 0;
+    }
+    
+    @Nullable
+    public String name(int number, boolean english) {
+        return localized(number, SpeciesCatalogWriter.FIELD_NAME, SpeciesCatalogWriter.FIELD_NAME_EN, english);
+    }
+    
+    @Nullable
+    public String description(int number, boolean english) {
+        return localized(number, SpeciesCatalogWriter.FIELD_DESCRIPTION,
+            SpeciesCatalogWriter.FIELD_DESCRIPTION_EN, english);
+    }
+    
+    @Nullable
+    public PokemonType type1(int number) {
+        return type(number, 0);
+    }
+    
+    /** @return tipo secundario, o null si la especie solo tiene uno */
+    @Nullable
+    public PokemonType type2(int number) {
+        return type(number, 1);
+    }
+    
+    /** En inglés recurre al texto en español si falta la traducción */
+    private String localized(int number, int spanishField, int englishField, boolean english) {
+        if (english) {
+            String value = string(number, englishField);
+            if (value != null) return value;
+        }
+        return string(number, spanishField);
+    }
+    
+    private int rowOf(int number) {
+        if (number < 0 || number > maxNumber) return -1;
+        return buffer.getInt(SpeciesCatalogWriter.HEADER_SIZE + number * 4);
+    }
+    
+    private PokemonType type(int number, int slot) {
+        int row = rowOf(number);
+        if (row < 0) return null;
+        return PokemonType.fromCode(buffer.get(rowsOffset + row * SpeciesCatalogWriter.ROW_SIZE
+            + SpeciesCatalogWriter.ROW_TYPES + slot));
+    }
+    
+    private String string(int number, int field) {
+        int row = rowOf(number);
+        if (row < 0) return null;
+        
+        int ref = rowsOffset + row * SpeciesCatalogWriter.ROW_SIZE + 4
+            + field * SpeciesCatalogWriter.STRING_REF_SIZE;
+        int offset = buffer.getInt(ref);
+        if (offset < 0) return null;
+        int length = buffer.getChar(ref + 4);
+        return decode(heapOffset + offset, length);
+    }
+    
+    private synchronized String decode(int position, int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        cursor.position(position);
+        cursor.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.pokerun.data.catalog;
+
+import com.example.pokerun.data.json.JsonCodecs;
+import com.example.pokerun.data.json.PokedexRecord;
+import com.example.pokerun.data.json.PokedexRecordCodec;
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escribe el catálogo binario de especies leído por SpeciesCatalog.
+ * 
+ * FORMATO (big-endian):
+ * - Cabecera de HEADER_SIZE bytes: magic, versión de formato, sello de origen,
+ *   número de filas, número de Pokédex máximo y offset del heap de cadenas.
+ * - Tabla de slots: (maxNumber + 1) enteros con la fila de cada número o -1.
+ * - Índice de ancho fijo: ROW_SIZE bytes por especie con el número; para cada
+ *   cadena, su offset (int, -1 = null) y longitud (unsigned short) en el heap;
+ *   y los dos tipos como PokemonType.code (un byte cada uno, 0 = sin tipo).
+ * - Heap UTF-8 con nombres y descripciones.
+ */
+public final class SpeciesCatalogWriter {
+    
+    static final int MAGIC = 0x504B4354; // "PKCT"
+    static final int FORMAT_VERSION = 2;
+    
+    static final int HEADER_SIZE = 28;
+    static final int OFFSET_STAMP = 8;
+    static final int OFFSET_COUNT = 16;
+    static final int OFFSET_MAX_NUMBER = 20;
+    static final int OFFSET_HEAP = 24;
+    
+    static final int FIELD_NAME = 0;
+    static final int FIELD_NAME_EN = 1;
+    static final int FIELD_DESCRIPTION = 2;
+    static final int FIELD_DESCRIPTION_EN = 3;
+    static final int FIELD_COUNT = 4;
+    
+    static final int STRING_REF_SIZE = 6;
+    /** Posición de los códigos de tipo dentro de la fila */
+    static final int ROW_TYPES = 4 + FIELD_COUNT * STRING_REF_SIZE;
+    static final int ROW_SIZE = ROW_TYPES + 2;
+    
+    private SpeciesCatalogWriter() {}
+    
+    /**
+     * Lee pokedex.json en streaming y escribe el catálogo en {@code target}.
+     * El fichero se escribe primero en un temporal y se renombra al terminar,
+     * de modo que un lector nunca ve un catálogo a medias.
+     */
+    public static void write(InputStream pokedexJson, File target, long stamp) throws IOException {
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+        ByteBuffer rows = ByteBuffer.allocate(ROW_SIZE * 256);
+        int count = 0;
+        int maxNumber = 0;
+        String[] fields = new String[FIELD_COUNT];
+        PokedexRecord record = new PokedexRecord();
+        
+        try (JsonReader reader = JsonCodecs.newReader(pokedexJson)) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                PokedexRecordCodec.INSTANCE.read(reader, record);
+                int number = record.number;
+                fields[FIELD_NAME] = record.name;
+                fields[FIELD_NAME_EN] = record.nameEn;
+                fields[FIELD_DESCRIPTION] = record.description;
+                fields[FIELD_DESCRIPTION_EN] = record.descriptionEn;
+                if (rows.remaining() < ROW_SIZE) {
+                    ByteBuffer grown = ByteBuffer.allocate(rows.capacity() * 2);
+                    rows.flip();
+                    grown.put(rows);
+                    rows = grown;
+                }
+                rows.putInt(number);
+                for (String value : fields) {
+                    putString(rows, value, heap);
+                }
+                rows.put((byte) PokemonType.codeOf(PokemonType.fromName(record.type1)));
+                rows.put((byte) PokemonType.codeOf(PokemonType.fromName(record.type2)));
+                maxNumber = Math.max(maxNumber, number);
+                count++;
+            }
+            reader.endArray();
+        }
+        
+        int slotsSize = (maxNumber + 1) * 4;
+        int heapOffset = HEADER_SIZE + slotsSize + count * ROW_SIZE;
+        ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + slotsSize);
+        head.putInt(MAGIC);
+        head.putInt(FORMAT_VERSION);
+        head.putLong(stamp);
+        head.putInt(count);
+        head.putInt(maxNumber);
+        head.putInt(heapOffset);
+        int[] slots = new int[maxNumber + 1];
+        Arrays.fill(slots, -1);
+        for (int row = 0; row < count; row++) {
+            slots[rows.getInt(row * ROW_SIZE)] = row;
+        }
+        for (int slot : slots) {
+            head.putInt(slot);
+        }
+        
+        File temp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(head.array(), 0, head.position());
+            out.write(rows.array(), 0, rows.position());
+            heap.writeTo(out);
+            out.getFD().sync();
+        }
+        if (!temp.renameTo(target)) {
+            throw new IOException("No se pudo mover el catálogo a " + target);
+        }
+    }
+    
+    private static void putString(ByteBuffer rows, String value, ByteArrayOutputStream heap) {
+        if (value == null) {
+            rows.putInt(-1);
+            rows.putChar((char) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Cadena demasiado larga para el catálogo: " + bytes.length);
+        }
+        rows.putInt(heap.size());
+        heap.write(bytes, 0, bytes.length);
+        rows.putChar((char) bytes.length);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.pokerun.data.database;
+
+import androidx.room.TypeConverter;
+
+import com.example.pokerun.data.catalog.PokemonType;
+
+/**
+ * TypeConverters de PokeRunDatabase (registrados con @TypeConverters).
+ * 
+ * PokemonType se guarda como su código entero (PokemonType.code) y null
+ * como NULL, en lugar del nombre del enum que usaría Room por defecto: la
+ * columna ocupa un byte y se compara sin colaciones de texto.
+ */
+public final class Converters {
+    
+    private Converters() {}
+    
+    @TypeConverter
+    public static Integer fromPokemonType(PokemonType type) {
+        return type != null ? type.code : null;
+    }
+    
+    @TypeConverter
+    public static PokemonType toPokemonType(Integer code) {
+        return code != null ? PokemonType.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.pokerun.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+
+/**
+ * Migraciones de PokeRunDatabase, una por cada subida de versión.
+ * 
+ * VERSIONADO:
+ * Cada cambio de esquema sube @Database(version), añade aquí la Migration
+ * de la versión anterior a la nueva y la incluye al final de ALL. Las
+ * sentencias son las que Room genera para las entidades (mismos nombres de
+ * índice), porque Room valida el resultado contra el esquema esperado al
+ * abrir la base de datos.
+ * 
+ * ESQUEMAS EXPORTADOS:
+ * Desde la versión 5 Room exporta el esquema de cada versión a
+ * app/schemas/ (exportSchema), que se versiona con el código. MigrationTest
+ * crea la base de datos de cada esquema exportado y de las versiones 1-4
+ * (anteriores a la exportación, reconstruidas con su SQL) y comprueba que
+ * ALL la lleva hasta la versión actual conservando los datos.
+ * 
+ * La semilla (generateCatalogSeed en app/build.gradle.kts) se crea siempre
+ * con el esquema actual, así que no pasa por estas migraciones.
+ */
+final class DatabaseMigrations {
+    
+    private DatabaseMigrations() {}
+    
+    /**
+     * Versión 2: tablas de versionado del catálogo.
+     * Quedan vacías, por lo que el siguiente arranque sincroniza todas las especies una vez.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `catalog_meta` (`name` TEXT NOT NULL, `value` TEXT, PRIMARY KEY(`name`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `catalog_rows` (`pokedexNumber` INTEGER NOT NULL, `rowHash` INTEGER NOT NULL, PRIMARY KEY(`pokedexNumber`))");
+        }
+    };
+    
+    /**
+     * Versión 3: libro de movimientos de la mochila.
+     * El saldo actual entra como movimiento "opening", de modo que la suma
+     * del libro coincide con bag desde el primer momento.
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `bag_ledger` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `source` TEXT NOT NULL, `sourceId` INTEGER NOT NULL, `workoutId` INTEGER, `eggs` INTEGER NOT NULL, `rareCandies` INTEGER NOT NULL, `createdAt` INTEGER NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_bag_ledger_workoutId` ON `bag_ledger` (`workoutId`)");
+            db.execSQL("INSERT INTO `bag_ledger` (`source`, `sourceId`, `workoutId`, `eggs`, `rareCandies`, `createdAt`) "
+                + "SELECT '" + BagLedgerEntity.SOURCE_OPENING + "', 0, NULL, eggs, rareCandies, 0 FROM bag");
+        }
+    };
+    
+    /**
+     * Versión 4: la tabla pokemon se separa en species (catálogo) y
+     * owned_pokemon (colección del usuario).
+     * 
+     * Cada Pokémon obtenido pasa a owned_pokemon con el mismo id, su especie
+     * actual y su fecha, así que bag_ledger sigue apuntando a él. Las
+     * evoluciones antiguas copiaban datos de catálogo sobre la fila, de modo
+     * que la fila de una especie puede no existir o estar alterada: species se
+     * rellena primero con las filas intactas (id = pokedexNumber), después con
+     * cualquier otra y por último con pokedex_entries. Los datos evolutivos de
+     * estas últimas son provisionales: se vacía catalog_rows y se borra el hash
+     * de contenido, de modo que CatalogSeeder reescribe todas las especies en
+     * el siguiente arranque.
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `species` (`pokedexNumber` INTEGER NOT NULL, `name` TEXT, `type1` TEXT, `type2` TEXT, `evolutionStage` INTEGER NOT NULL, `evolvesFrom` INTEGER NOT NULL, `evolvesTo` INTEGER NOT NULL, PRIMARY KEY(`pokedexNumber`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_species_evolutionStage` ON `species` (`evolutionStage`)");
+            db.execSQL("INSERT OR IGNORE INTO `species` SELECT pokedexNumber, name, type1, type2, evolutionStage, evolvesFrom, evolvesTo "
+                + "FROM `pokemon` WHERE id = pokedexNumber");
+            db.execSQL("INSERT OR IGNORE INTO `species` SELECT pokedexNumber, name, type1, type2, evolutionStage, evolvesFrom, evolvesTo "
+                + "FROM `pokemon` ORDER BY id");
+            db.execSQL("INSERT OR IGNORE INTO `species` SELECT pokedexNumber, name, type1, type2, 0, 0, 0 FROM `pokedex_entries`");
+            
+            db.execSQL("CREATE TABLE IF NOT EXISTS `owned_pokemon` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `speciesNumber` INTEGER NOT NULL, `obtainedDate` INTEGER NOT NULL, FOREIGN KEY(`speciesNumber`) REFERENCES `species`(`pokedexNumber`) ON UPDATE NO ACTION ON DELETE NO ACTION )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_owned_pokemon_speciesNumber` ON `owned_pokemon` (`speciesNumber`)");
+            db.execSQL("INSERT INTO `owned_pokemon` (id, speciesNumber, obtainedDate) "
+                + "SELECT id, pokedexNumber, obtainedDate FROM `pokemon` WHERE isObtained = 1");
+            db.execSQL("DROP TABLE `pokemon`");
+            
+            db.execSQL("DELETE FROM `catalog_rows`");
+            db.execSQL("DELETE FROM `catalog_meta` WHERE name = 'content_hash'");
+        }
+    };
+    
+    /**
+     * Versión 5: índice de workouts.startTime.
+     * El historial se lista con ORDER BY startTime DESC y la importación de
+     * Strava busca por startTime; sin índice ambas recorrían la tabla (y la
+     * primera además ordenaba en un B-tree temporal). Con el índice, la
+     * búsqueda de id por startTime se resuelve solo con el índice (incluye
+     * el rowid) y el listado lo recorre en orden inverso.
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_workouts_startTime` ON `workouts` (`startTime`)");
+        }
+    };
+    
+    /**
+     * Versión 6: tipos codificados como PokemonType.code en lugar de texto,
+     * y species.typeMask (con índice) para filtrar por tipo.
+     * 
+     * SQLite no cambia el tipo de una columna, así que species y
+     * pokedex_entries se reconstruyen: cada nombre de tipo (inglés, o la
+     * etiqueta en español de bases de datos antiguas) pasa a su código y los
+     * desconocidos a NULL. owned_pokemon sigue apuntando a species por nombre.
+     * Los hashes de catalog_rows se calculan sobre pokedex.json, no sobre las
+     * columnas, así que siguen siendo válidos y no se resincroniza nada.
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `_new_species` (`pokedexNumber` INTEGER NOT NULL, `name` TEXT, `type1` INTEGER, `type2` INTEGER, `typeMask` INTEGER NOT NULL, `evolutionStage` INTEGER NOT NULL, `evolvesFrom` INTEGER NOT NULL, `evolvesTo` INTEGER NOT NULL, PRIMARY KEY(`pokedexNumber`))");
+            db.execSQL("INSERT INTO `_new_species` SELECT pokedexNumber, name, "
+                + typeCase("type1", false) + ", " + typeCase("type2", false) + ", "
+                + typeCase("type1", true) + " | " + typeCase("type2", true) + ", "
+                + "evolutionStage, evolvesFrom, evolvesTo FROM `species`");
+            db.execSQL("DROP TABLE `species`");
+            db.execSQL("ALTER TABLE `_new_species` RENAME TO `species`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_species_evolutionStage` ON `species` (`evolutionStage`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_species_typeMask` ON `species` (`typeMask`)");
+            
+            db.execSQL("CREATE TABLE IF NOT EXISTS `_new_pokedex_entries` (`pokedexNumber` INTEGER NOT NULL, `name` TEXT, `nameEn` TEXT, `type1` INTEGER, `type2` INTEGER, `description` TEXT, `descriptionEn` TEXT, `isUnlocked` INTEGER NOT NULL, PRIMARY KEY(`pokedexNumber`))");
+            db.execSQL("INSERT INTO `_new_pokedex_entries` SELECT pokedexNumber, name, nameEn, "
+                + typeCase("type1", false) + ", " + typeCase("type2", false) + ", "
+                + "description, descriptionEn, isUnlocked FROM `pokedex_entries`");
+            db.execSQL("DROP TABLE `pokedex_entries`");
+            db.execSQL("ALTER TABLE `_new_pokedex_entries` RENAME TO `pokedex_entries`");
+        }
+    };
+    
+    /**
+     * Expresión CASE que traduce el nombre de tipo de {@code column} a su
+     * código (NULL si no lo reconoce) o, con {@code mask}, a su bit (0)
+     */
+    private static String typeCase(String column, boolean mask) {
+        StringBuilder sql = new StringBuilder("(CASE ").append(column);
+        for (PokemonType type : PokemonType.values()) {
+            int value = mask ? type.mask : type.code;
+            sql.append(" WHEN '").append(type.jsonName).append("' THEN ").append(value);
+            sql.append(" WHEN '").append(type.label(false)).append("' THEN ").append(value);
+        }
+        return sql.append(mask ? " ELSE 0 END)" : " END)").toString();
+    }
+    
+    /**
+     * Versión 7: huevos de 10 km (EggTier.LONG) en bag y bag_ledger.
+     * La columna nueva empieza a 0 en ambas tablas, así que la suma del libro
+     * sigue coincidiendo con la mochila; los huevos existentes quedan como
+     * huevos de 5 km.
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `bag` ADD COLUMN `longEggs` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `bag_ledger` ADD COLUMN `longEggs` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+    
+    /** Todas las migraciones en orden de versión; se registran con addMigrations() */
+    static final Migration[] ALL = {
+        MIGRATION_1_2,
+        MIGRATION_2_3,
+        MIGRATION_3_4,
+        MIGRATION_4_5,
+        MIGRATION_5_6,
+        MIGRATION_6_7
+    };
+}
@@ -1,23 +1,38 @@
 package com.example.pokerun.data.database;
 
 import android.content.Context;
+import android.os.Looper;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
+import com.example.pokerun.BuildConfig;
 import com.example.pokerun.data.database.dao.BagDao;
+import com.example.pokerun.data.database.dao.CatalogDao;
+import com.example.pokerun.data.database.dao.EvolutionDao;
+import com.example.pokerun.data.database.dao.HatchDao;
+import com.example.pokerun.data.database.dao.LedgerDao;
 import com.example.pokerun.data.database.dao.PokedexDao;
 import com.example.pokerun.data.database.dao.PokemonDao;
+import com.example.pokerun.data.database.dao.SpeciesDao;
 import com.example.pokerun.data.database.dao.UserSettingsDao;
 import com.example.pokerun.data.database.dao.WorkoutDao;
 import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.database.entity.CatalogMetaEntity;
+import com.example.pokerun.data.database.entity.CatalogRowEntity;
+import com.example.pokerun.data.database.entity.OwnedPokemonEntity;
 import com.example.pokerun.data.database.entity.PokedexEntryEntity;
-import com.example.pokerun.data.database.entity.PokemonEntity;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
 import com.example.pokerun.data.database.entity.UserSettingsEntity;
 import com.example.pokerun.data.database.entity.WorkoutEntity;
 
+import java.util.List;
+
 /**
  * Base de datos Room para la aplicación PokeRun.
  * 
@@ -31,51 +46,131 @@ import com.example.pokerun.data.database.entity.WorkoutEntity;
  * - Soporte nativo para LiveData (observabilidad reactiva)
  * - Conversión automática de entidades Java a tablas SQL
  * 
- * La base de datos contiene 5 tablas principales:
- * - pokemon: Pokémon disponibles y estado de obtención
+ * La base de datos contiene 6 tablas principales:
+ * - species: Catálogo de especies (solo lectura tras la siembra)
+ * - owned_pokemon: Pokémon obtenidos por el usuario (un ejemplar por fila)
  * - pokedex_entries: Información completa de la Pokédex
- * - bag: Inventario del usuario (huevos, caramelos)
+ * - bag: Inventario del usuario (huevos de 5 y 10 km, caramelos)
  * - workouts: Historial de entrenamientos
  * - user_settings: Preferencias del usuario
  * 
- * @see PokemonEntity Entidad que representa un Pokémon
+ * El historial de la mochila:
+ * - bag_ledger: Movimientos de huevos y caramelos (bag guarda el saldo)
+ * 
+ * Y dos tablas auxiliares de versionado del catálogo:
+ * - catalog_meta: Hash de contenido del catálogo aplicado
+ * - catalog_rows: Hash de los datos aplicados de cada especie
+ * 
+ * BASE DE DATOS PRECARGADA:
+ * Las tablas de catálogo (species, pokedex_entries) se generan en tiempo de build
+ * (tarea generateCatalogSeed) y se empaquetan en assets/database/pokerun_seed.db.
+ * En el primer arranque Room copia ese fichero en lugar de parsear pokedex.json,
+ * por lo que la Pokédex está disponible tras una simple copia de fichero.
+ * 
+ * ACCESO DESDE EL HILO PRINCIPAL:
+ * No se usa allowMainThreadQueries(): Room rechaza cualquier DAO llamado desde
+ * el hilo principal y los repositorios solo exponen LiveData, TaskFuture o
+ * WriteFuture. En depuración, además, un QueryCallback rechaza cualquier SQL
+ * en el hilo principal y PokeRunApplication activa StrictMode.
+ * 
+ * MIGRACIONES:
+ * Cada versión del esquema tiene su Migration en DatabaseMigrations; nunca
+ * se recrea la base de datos perdiendo la colección del usuario. Room exporta
+ * el esquema de cada versión a app/schemas/ y MigrationTest migra desde cada
+ * versión anterior y valida el resultado contra el esquema exportado.
+ * 
+ * TIPOS:
+ * Los tipos se guardan como PokemonType.code (Converters) y species.typeMask
+ * reúne los dos tipos de cada especie en una máscara de bits indexada.
+ * 
+ * VERSIONADO DEL CATÁLOGO:
+ * La semilla incluye el hash de contenido del catálogo. Si un APK nuevo trae
+ * otro catálogo, CatalogSeeder detecta el cambio y reescribe solo las especies
+ * modificadas, conservando el estado del usuario.
+ * 
+ * @see SpeciesEntity Entidad que representa una especie
+ * @see OwnedPokemonEntity Entidad para los Pokémon obtenidos
  * @see PokedexEntryEntity Entidad para entradas de la Pokédex
  * @see BagEntity Entidad para el inventario del usuario
  * @see WorkoutEntity Entidad para los entrenamientos
  * @see UserSettingsEntity Entidad para las preferencias
+ * @see CatalogMetaEntity Metadatos del catálogo aplicado
+ * @see BagLedgerEntity Movimientos de la mochila
  */
 @Database(
     entities = {
-        PokemonEntity.class,
+        SpeciesEntity.class,
+        OwnedPokemonEntity.class,
         PokedexEntryEntity.class,
         BagEntity.class,
         WorkoutEntity.class,
-        UserSettingsEntity.class
+        UserSettingsEntity.class,
+        CatalogMetaEntity.class,
+        CatalogRowEntity.class,
+        BagLedgerEntity.class
     },
-    version = 1,
-    exportSchema = false
+    version = 7,
+    exportSchema = true
 )
-@TypeConverters({})
+@TypeConverters({Converters.class})
 public abstract class PokeRunDatabase extends RoomDatabase {
+    private static final String DATABASE_NAME = "pokerun_database";
+    
+    /** Base de datos semilla generada en tiempo de build con el catálogo completo */
+    public static final String SEED_ASSET_PATH = "database/pokerun_seed.db";
+    
     private static volatile PokeRunDatabase INSTANCE;
     
     public abstract PokemonDao pokemonDao();
+    public abstract SpeciesDao speciesDao();
     public abstract PokedexDao pokedexDao();
     public abstract BagDao bagDao();
     public abstract WorkoutDao workoutDao();
     public abstract UserSettingsDao userSettingsDao();
+    public abstract CatalogDao catalogDao();
+    public abstract HatchDao hatchDao();
+    public abstract EvolutionDao evolutionDao();
+    public abstract LedgerDao ledgerDao();
+    
+    /**
+     * Activa las claves foráneas (owned_pokemon → species), que SQLite trae
+     * desactivadas, en la conexión de escritura
+     */
+    private static final Callback FOREIGN_KEYS = new Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("PRAGMA foreign_keys = ON");
+        }
+    };
+    
+    /**
+     * Guardián de depuración: cualquier sentencia SQL en el hilo principal,
+     * incluidas las que no pasan por un DAO (getOpenHelper()), lanza una
+     * excepción y hace fallar los tests instrumentados que la provoquen.
+     */
+    private static void assertNotMainThread(@NonNull String sql, @NonNull List<?> bindArgs) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            throw new IllegalStateException("Consulta SQL en el hilo principal: " + sql);
+        }
+    }
     
     public static PokeRunDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
             synchronized (PokeRunDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(
+                    RoomDatabase.Builder<PokeRunDatabase> builder = Room.databaseBuilder(
                         context.getApplicationContext(),
                         PokeRunDatabase.class,
-                        "pokerun_database"
+                        DATABASE_NAME
                     )
-                    .allowMainThreadQueries() // Permitir queries en el hilo principal temporalmente
-                    .build();
+                    .createFromAsset(SEED_ASSET_PATH)
+                    .addMigrations(DatabaseMigrations.ALL)
+                    .addCallback(FOREIGN_KEYS);
+                    if (BuildConfig.DEBUG) {
+                        // El callback se ejecuta en el hilo que lanza la consulta (executor directo)
+                        builder.setQueryCallback(PokeRunDatabase::assertNotMainThread, Runnable::run);
+                    }
+                    INSTANCE = builder.build();
                 }
             }
         }
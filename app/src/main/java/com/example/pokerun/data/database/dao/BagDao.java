@@ -9,6 +9,16 @@ import androidx.room.Update;
 
 import com.example.pokerun.data.database.entity.BagEntity;
 
+/**
+ * Acceso a la mochila (una sola fila).
+ * 
+ * La fila es el saldo en caché de bag_ledger: los contadores solo cambian
+ * con LedgerDao.record() (o HatchDao al abrir huevos), que anota el
+ * movimiento y aplica su delta con un único UPDATE condicional en la misma
+ * transacción. Aquí solo se lee la fila y se crea o reemplaza entera.
+ * 
+ * @see LedgerDao
+ */
 @Dao
 public interface BagDao {
     @Query("SELECT * FROM bag LIMIT 1")
@@ -22,17 +32,4 @@ public interface BagDao {
     
     @Update
     void update(BagEntity bag);
-    
-    @Query("UPDATE bag SET eggs = eggs + :amount")
-    void addEggs(int amount);
-    
-    @Query("UPDATE bag SET rareCandies = rareCandies + :amount")
-    void addCandies(int amount);
-    
-    @Query("UPDATE bag SET eggs = eggs - 1 WHERE eggs > 0")
-    void removeEgg();
-    
-    @Query("UPDATE bag SET rareCandies = rareCandies - :amount WHERE rareCandies >= :amount")
-    void removeCandies(int amount);
 }
-
@@ -0,0 +1,26 @@
+package com.example.pokerun.data.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.pokerun.data.database.entity.CatalogMetaEntity;
+import com.example.pokerun.data.database.entity.CatalogRowEntity;
+
+import java.util.List;
+
+@Dao
+public interface CatalogDao {
+    @Query("SELECT value FROM catalog_meta WHERE name = :name")
+    String getMeta(String name);
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void putMeta(CatalogMetaEntity meta);
+    
+    @Query("SELECT * FROM catalog_rows")
+    List<CatalogRowEntity> getRowHashes();
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void putRowHash(CatalogRowEntity row);
+}
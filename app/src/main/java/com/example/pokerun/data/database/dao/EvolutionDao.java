@@ -0,0 +1,89 @@
+package com.example.pokerun.data.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.pokerun.data.catalog.Evolutions;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+import com.example.pokerun.data.database.model.EvolutionResult;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+
+/**
+ * Evolución de Pokémon en una sola transacción.
+ * 
+ * Antes la evolución eran escrituras separadas (descontar caramelo, actualizar
+ * el Pokémon, desbloquear la Pokédex) y, si la segunda fallaba, una escritura
+ * compensatoria devolvía el caramelo. Aquí las tres se confirman juntas o no
+ * se confirma ninguna, así que no hace falta compensar nada. El gasto de
+ * caramelos queda anotado en bag_ledger en el mismo commit.
+ * 
+ * La evolución solo cambia la especie del ejemplar en owned_pokemon; el
+ * catálogo (species) no se modifica. La forma de destino la elige quien llama
+ * entre las ramas del grafo (Evolutions.branch) y aquí se comprueba que
+ * sea una evolución directa de la especie actual.
+ */
+@Dao
+public interface EvolutionDao {
+    
+    /** Ejemplar obtenido con evolución pendiente (null si no lo es) */
+    @Query("SELECT " + PokemonDao.OWNED_COLUMNS + " WHERE o.id = :id AND s.evolvesTo > 0")
+    OwnedPokemon getEvolvablePokemon(int id);
+    
+    @Query("SELECT * FROM species WHERE pokedexNumber = :pokedexNumber")
+    SpeciesEntity getSpecies(int pokedexNumber);
+    
+    /**
+     * Descuenta caramelos raros solo si hay suficientes
+     * @return 1 si se descontaron, 0 si no había
+     */
+    @Query("UPDATE bag SET rareCandies = rareCandies - :amount WHERE rareCandies >= :amount")
+    int consumeCandies(int amount);
+    
+    /**
+     * Cambia la especie del ejemplar a la evolucionada, solo si sigue siendo
+     * la forma leída (speciesNumber = :fromNumber)
+     * @return filas actualizadas
+     */
+    @Query("UPDATE owned_pokemon SET speciesNumber = :toNumber WHERE id = :id AND speciesNumber = :fromNumber")
+    int applyEvolution(int id, int fromNumber, int toNumber);
+    
+    @Query("UPDATE pokedex_entries SET isUnlocked = 1 WHERE pokedexNumber = :number")
+    void unlockEntry(int number);
+    
+    @Insert
+    void appendLedger(BagLedgerEntity entry);
+    
+    /**
+     * Evoluciona un Pokémon: comprueba y descuenta los caramelos, cambia la
+     * especie del ejemplar y desbloquea la entrada de la Pokédex en un
+     * único commit. Devuelve el nombre de la evolución en el mismo resultado.
+     * @param targetNumber forma elegida; debe ser una rama de la especie actual
+     * @param candyCost caramelos raros que cuesta la evolución
+     * @param date fecha del movimiento en bag_ledger
+     */
+    @Transaction
+    default EvolutionResult evolve(int pokemonId, int targetNumber, int candyCost, long date) {
+        OwnedPokemon current = getEvolvablePokemon(pokemonId);
+        if (current == null || !Evolutions.isBranch(current.pokedexNumber, targetNumber)) {
+            return EvolutionResult.cannotEvolve();
+        }
+        SpeciesEntity evolved = getSpecies(targetNumber);
+        if (evolved == null) {
+            return EvolutionResult.cannotEvolve();
+        }
+        if (consumeCandies(candyCost) == 0) {
+            return EvolutionResult.notEnoughCandies();
+        }
+        int updated = applyEvolution(pokemonId, current.pokedexNumber, evolved.pokedexNumber);
+        if (updated == 0) {
+            // Imposible dentro de la transacción; se revierte el descuento
+            throw new IllegalStateException("Pokémon " + pokemonId + " modificado durante la evolución");
+        }
+        unlockEntry(evolved.pokedexNumber);
+        appendLedger(BagLedgerEntity.evolution(evolved.pokedexNumber, candyCost, date));
+        return EvolutionResult.evolved(evolved.name, evolved.pokedexNumber);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.pokerun.data.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.database.entity.OwnedPokemonEntity;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+import com.example.pokerun.data.database.model.HatchCandidate;
+import com.example.pokerun.data.database.model.HatchResult;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+import com.example.pokerun.data.hatch.EggTier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Apertura de huevos en una sola transacción.
+ * 
+ * Sustituye a la secuencia leer mochila → descontar (lectura-modificación-
+ * escritura) → cargar todos los no obtenidos en Java → marcar → desbloquear,
+ * que eran varias idas a la base de datos con ventanas en las que dos
+ * pulsaciones podían gastar el mismo huevo.
+ * 
+ * El descuento es un UPDATE condicional (solo afecta a la fila si quedan
+ * huevo y caramelo) y el candidato se elige en SQL, así que la comprobación
+ * y la escritura no pueden separarse. El gasto queda anotado en bag_ledger
+ * en el mismo commit.
+ * 
+ * Abrir N huevos (hatchMany) usa las mismas sentencias que abrir uno: el
+ * descuento, la inserción y el desbloqueo trabajan sobre la lista completa.
+ * 
+ * TIPOS DE HUEVO:
+ * Cada apertura gasta huevos de un solo tipo (EggTier): bag.eggs para los
+ * de 5 km y bag.longEggs para los de 10 km, siempre con un caramelo por huevo.
+ * 
+ * CANDIDATOS:
+ * Especies de primera etapa de las que el usuario no tiene ahora ningún
+ * ejemplar. Cada huevo añade una fila a owned_pokemon; el catálogo (species)
+ * no se modifica.
+ */
+@Dao
+public interface HatchDao {
+    
+    /**
+     * Huevos que se pueden abrir ahora: min(huevos del tipo, caramelos) o null sin mochila
+     * @param longEggs true para los huevos de 10 km
+     */
+    @Query("SELECT MIN(CASE WHEN :longEggs THEN longEggs ELSE eggs END, rareCandies) FROM bag LIMIT 1")
+    Integer getHatchableCount(boolean longEggs);
+    
+    /**
+     * Descuenta los huevos de cada tipo y los caramelos raros indicados si hay suficientes
+     * @return 1 si se descontaron, 0 si no había
+     */
+    @Query("UPDATE bag SET eggs = eggs - :eggs, longEggs = longEggs - :longEggs, "
+        + "rareCandies = rareCandies - :candies "
+        + "WHERE eggs >= :eggs AND longEggs >= :longEggs AND rareCandies >= :candies")
+    int consumeEggsAndCandies(int eggs, int longEggs, int candies);
+    
+    /** Filtro de candidatos sobre species: primera etapa y sin ningún ejemplar en owned_pokemon */
+    String CANDIDATE_FILTER = "evolutionStage = 0 "
+        + "AND pokedexNumber NOT IN (SELECT speciesNumber FROM owned_pokemon)";
+    
+    /**
+     * Hasta count especies candidatas, distintas y al azar, en una sola
+     * consulta (lista vacía si no queda ninguna)
+     */
+    @Query("SELECT * FROM species WHERE " + CANDIDATE_FILTER + " ORDER BY RANDOM() LIMIT :count")
+    List<SpeciesEntity> pickHatchCandidates(int count);
+    
+    /** Todas las especies que pueden salir de un huevo (reconstrucción de HatchSampler) */
+    @Query("SELECT pokedexNumber FROM species WHERE " + CANDIDATE_FILTER)
+    List<HatchCandidate> getHatchCandidates();
+    
+    /** Las especies indicadas que siguen siendo candidatas */
+    @Query("SELECT * FROM species WHERE pokedexNumber IN (:numbers) AND " + CANDIDATE_FILTER)
+    List<SpeciesEntity> getPickedCandidates(List<Integer> numbers);
+    
+    /** @return id de cada ejemplar insertado, en el mismo orden */
+    @Insert
+    List<Long> insertOwned(List<OwnedPokemonEntity> pokemon);
+    
+    @Query("UPDATE pokedex_entries SET isUnlocked = 1 WHERE pokedexNumber IN (:numbers)")
+    void unlockEntries(List<Integer> numbers);
+    
+    @Insert
+    void appendLedger(List<BagLedgerEntity> entries);
+    
+    /** Elige, dentro de la transacción, hasta count especies candidatas distintas */
+    interface CandidatePicker {
+        List<SpeciesEntity> pick(int count);
+    }
+    
+    /**
+     * Abre un huevo de 5 km: equivale a hatchMany(1, date)
+     * @param date fecha de obtención (System.currentTimeMillis())
+     */
+    default HatchResult hatch(long date) {
+        return hatchMany(1, date);
+    }
+    
+    /**
+     * Abre hasta count huevos de 5 km eligiendo los candidatos en SQL
+     * (ORDER BY RANDOM()); equivale a hatchPicked con pickHatchCandidates
+     */
+    default HatchResult hatchMany(int count, long date) {
+        return hatchPicked(EggTier.STANDARD, count, date, this::pickHatchCandidates);
+    }
+    
+    /**
+     * Abre hasta count huevos de tipo tier en un único commit: reserva los
+     * items, pide a picker las especies, inserta un ejemplar de cada una en
+     * owned_pokemon y desbloquea sus entradas de la Pokédex con una sentencia
+     * cada paso.
+     * 
+     * Se abren min(count, huevos del tipo, caramelos, candidatos) huevos; el
+     * coste es el mismo número de sentencias para 1 que para 50. Si no hay
+     * items o no queda candidato no se modifica nada.
+     * @param tier tipo de huevo que se gasta
+     * @param date fecha de obtención (System.currentTimeMillis())
+     * @param picker origen de los candidatos (SQL o HatchSampler)
+     */
+    @Transaction
+    default HatchResult hatchPicked(EggTier tier, int count, long date, CandidatePicker picker) {
+        boolean longEggs = tier == EggTier.LONG;
+        Integer hatchable = getHatchableCount(longEggs);
+        if (count < 1 || hatchable == null || hatchable < 1) {
+            return HatchResult.notEnoughItems();
+        }
+        List<SpeciesEntity> candidates = picker.pick(Math.min(count, hatchable));
+        if (candidates.isEmpty()) {
+            return HatchResult.allObtained();
+        }
+        int hatched = candidates.size();
+        if (consumeEggsAndCandies(longEggs ? 0 : hatched, longEggs ? hatched : 0, hatched) == 0) {
+            // Imposible tras leer la mochila en la misma transacción; se
+            // revierte para que picker pueda deshacer su elección
+            throw new IllegalStateException("Mochila sin " + hatched + " huevos y caramelos");
+        }
+        
+        List<OwnedPokemonEntity> rows = new ArrayList<>(hatched);
+        List<Integer> numbers = new ArrayList<>(hatched);
+        for (SpeciesEntity species : candidates) {
+            rows.add(new OwnedPokemonEntity(species.pokedexNumber, date));
+            numbers.add(species.pokedexNumber);
+        }
+        List<Long> ids = insertOwned(rows);
+        
+        List<OwnedPokemon> pokemon = new ArrayList<>(hatched);
+        List<BagLedgerEntity> entries = new ArrayList<>(hatched);
+        for (int i = 0; i < hatched; i++) {
+            int id = ids.get(i).intValue();
+            pokemon.add(OwnedPokemon.of(id, candidates.get(i), date));
+            entries.add(BagLedgerEntity.hatch(id, tier, date));
+        }
+        unlockEntries(numbers);
+        appendLedger(entries);
+        return HatchResult.hatched(pokemon);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.pokerun.data.database.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.database.model.BagBalance;
+
+import java.util.List;
+
+/**
+ * Libro de movimientos de la mochila y su saldo en caché.
+ * 
+ * record() añade el movimiento y aplica su delta a la fila de bag en la misma
+ * transacción, así que leer el saldo sigue siendo leer una fila (BagDao). El
+ * libro crece una fila por movimiento; compact() pliega los antiguos en una
+ * sola fila "compaction" para acotar su tamaño sin alterar la suma.
+ * 
+ * @see BagLedgerEntity
+ */
+@Dao
+public interface LedgerDao {
+    
+    @Insert
+    long insert(BagLedgerEntity entry);
+    
+    @Query("SELECT * FROM bag_ledger ORDER BY id DESC")
+    LiveData<List<BagLedgerEntity>> getEntries();
+    
+    @Query("SELECT COUNT(*) FROM bag_ledger")
+    int getCount();
+    
+    @Query("SELECT COUNT(*) FROM bag_ledger WHERE workoutId = :workoutId")
+    int countWorkoutGrants(long workoutId);
+    
+    /** Suma de todo el libro; debe coincidir con la fila de bag */
+    @Query("SELECT COALESCE(SUM(eggs), 0) AS eggs, COALESCE(SUM(longEggs), 0) AS longEggs, "
+        + "COALESCE(SUM(rareCandies), 0) AS rareCandies FROM bag_ledger")
+    BagBalance getTotals();
+    
+    /**
+     * Aplica un delta al saldo sin dejarlo en negativo
+     * @return 1 si se aplicó, 0 si no existe la mochila o no hay saldo suficiente
+     */
+    @Query("UPDATE bag SET eggs = eggs + :eggs, longEggs = longEggs + :longEggs, "
+        + "rareCandies = rareCandies + :candies "
+        + "WHERE eggs + :eggs >= 0 AND longEggs + :longEggs >= 0 AND rareCandies + :candies >= 0")
+    int applyToBalance(int eggs, int longEggs, int candies);
+    
+    @Query("SELECT COUNT(*) FROM bag")
+    int getBalanceRowCount();
+    
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertBalance(BagEntity bag);
+    
+    /** Id del movimiento más reciente que se plegaría al conservar los :keep últimos */
+    @Query("SELECT id FROM bag_ledger ORDER BY id DESC LIMIT 1 OFFSET :keep")
+    Long getCompactionCutoff(int keep);
+    
+    @Query("SELECT COALESCE(SUM(eggs), 0) AS eggs, COALESCE(SUM(longEggs), 0) AS longEggs, "
+        + "COALESCE(SUM(rareCandies), 0) AS rareCandies FROM bag_ledger WHERE id <= :cutoff")
+    BagBalance sumUpTo(long cutoff);
+    
+    @Query("DELETE FROM bag_ledger WHERE id <= :cutoff")
+    int deleteUpTo(long cutoff);
+    
+    /**
+     * Registra un movimiento y actualiza el saldo en una transacción.
+     * Una recompensa de entrenamiento ya registrada se ignora (reintento), y
+     * un descuento sin saldo suficiente no escribe nada. Un movimiento nulo
+     * solo crea la mochila si aún no existe.
+     * @return true si el movimiento se aplicó
+     */
+    @Transaction
+    default boolean record(BagLedgerEntity entry) {
+        if (entry.workoutId != null && countWorkoutGrants(entry.workoutId) > 0) {
+            return false;
+        }
+        if (applyToBalance(entry.eggs, entry.longEggs, entry.rareCandies) == 0) {
+            if (entry.eggs < 0 || entry.longEggs < 0 || entry.rareCandies < 0 || getBalanceRowCount() > 0) {
+                return false;
+            }
+            insertBalance(new BagEntity(entry.eggs, entry.longEggs, entry.rareCandies));
+        }
+        if (entry.eggs != 0 || entry.longEggs != 0 || entry.rareCandies != 0) {
+            insert(entry);
+        }
+        return true;
+    }
+    
+    /**
+     * Pliega todos los movimientos salvo los {@code keepRecent} más recientes
+     * en una única fila "compaction" con su suma. El saldo no cambia.
+     * 
+     * Las recompensas plegadas pierden su clave de idempotencia, así que no
+     * bastan para frenar un guardado repetido: WorkoutRepository.saveWorkout
+     * solo otorga la recompensa al insertar el entrenamiento.
+     * @return movimientos eliminados
+     */
+    @Transaction
+    default int compact(int keepRecent, long now) {
+        Long cutoff = getCompactionCutoff(keepRecent);
+        if (cutoff == null) {
+            return 0;
+        }
+        BagBalance folded = sumUpTo(cutoff);
+        int removed = deleteUpTo(cutoff);
+        insert(BagLedgerEntity.compaction(cutoff, folded, now));
+        return removed;
+    }
+}
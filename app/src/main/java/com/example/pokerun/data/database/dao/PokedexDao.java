@@ -7,7 +7,9 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
 
+import com.example.pokerun.data.catalog.PokemonType;
 import com.example.pokerun.data.database.entity.PokedexEntryEntity;
+import com.example.pokerun.data.database.model.PokedexStatus;
 
 import java.util.List;
 
@@ -16,6 +18,21 @@ public interface PokedexDao {
     @Query("SELECT * FROM pokedex_entries ORDER BY pokedexNumber")
     LiveData<List<PokedexEntryEntity>> getAllEntries();
     
+    @Query("SELECT pokedexNumber, isUnlocked FROM pokedex_entries ORDER BY pokedexNumber")
+    LiveData<List<PokedexStatus>> getEntryStatuses();
+    
+    @Query("SELECT pokedexNumber, isUnlocked FROM pokedex_entries ORDER BY pokedexNumber")
+    List<PokedexStatus> getEntryStatusesSync();
+    
+    /**
+     * Estados de las entradas con alguno de los tipos de typeMask
+     * (PokemonType.maskOf): el filtro lo resuelve el índice de species y cada
+     * entrada se lee por su clave, ya en orden de Pokédex
+     */
+    @Query("SELECT pokedexNumber, isUnlocked FROM pokedex_entries WHERE pokedexNumber IN "
+        + "(SELECT pokedexNumber FROM species WHERE " + SpeciesDao.TYPE_FILTER + ") ORDER BY pokedexNumber")
+    LiveData<List<PokedexStatus>> getEntryStatusesByType(int typeMask);
+    
     @Query("SELECT * FROM pokedex_entries WHERE pokedexNumber = :number")
     LiveData<PokedexEntryEntity> getEntryByNumber(int number);
     
@@ -36,5 +53,8 @@ public interface PokedexDao {
     
     @Query("UPDATE pokedex_entries SET isUnlocked = 1 WHERE pokedexNumber = :number")
     void unlockEntry(int number);
+    
+    @Query("UPDATE pokedex_entries SET name = :name, nameEn = :nameEn, type1 = :type1, type2 = :type2, description = :description, descriptionEn = :descriptionEn WHERE pokedexNumber = :number")
+    int updateCatalogData(int number, String name, String nameEn, PokemonType type1, PokemonType type2, String description, String descriptionEn);
 }
 
@@ -3,50 +3,38 @@ package com.example.pokerun.data.database.dao;
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
-import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
-import androidx.room.Update;
 
-import com.example.pokerun.data.database.entity.PokemonEntity;
+import com.example.pokerun.data.database.entity.OwnedPokemonEntity;
+import com.example.pokerun.data.database.model.OwnedPokemon;
 
 import java.util.List;
 
+/**
+ * Colección del usuario: owned_pokemon unido con los datos de su especie.
+ */
 @Dao
 public interface PokemonDao {
-    @Query("SELECT * FROM pokemon WHERE isObtained = 1 ORDER BY pokedexNumber")
-    LiveData<List<PokemonEntity>> getAllObtainedPokemon();
+    /** Columnas de OwnedPokemon: el ejemplar (o) y su especie (s) */
+    String OWNED_COLUMNS = "o.id, s.pokedexNumber, s.name, s.type1, s.type2, s.evolutionStage, "
+        + "s.evolvesFrom, s.evolvesTo, o.obtainedDate "
+        + "FROM owned_pokemon o INNER JOIN species s ON s.pokedexNumber = o.speciesNumber";
     
-    @Query("SELECT * FROM pokemon WHERE id = :id")
-    LiveData<PokemonEntity> getPokemonById(int id);
+    @Query("SELECT " + OWNED_COLUMNS + " ORDER BY o.speciesNumber, o.id")
+    LiveData<List<OwnedPokemon>> getAllObtainedPokemon();
     
-    @Query("SELECT * FROM pokemon WHERE pokedexNumber = :pokedexNumber")
-    PokemonEntity getPokemonByPokedexNumber(int pokedexNumber);
+    @Query("SELECT " + OWNED_COLUMNS + " ORDER BY o.speciesNumber, o.id")
+    List<OwnedPokemon> getAllObtainedPokemonSync();
     
-    @Query("SELECT * FROM pokemon WHERE isObtained = 0")
-    List<PokemonEntity> getUnobtainedPokemon();
+    @Query("SELECT " + OWNED_COLUMNS + " WHERE o.id = :id")
+    LiveData<OwnedPokemon> getPokemonById(int id);
     
-    @Query("SELECT COUNT(*) FROM pokemon WHERE isObtained = 1")
-    LiveData<Integer> getObtainedCount();
-    
-    @Insert(onConflict = OnConflictStrategy.IGNORE)
-    void insert(PokemonEntity pokemon);
-    
-    @Insert(onConflict = OnConflictStrategy.IGNORE)
-    void insertAll(List<PokemonEntity> pokemonList);
-    
-    @Query("SELECT COUNT(*) FROM pokemon")
-    int getCount();
+    @Query("SELECT " + OWNED_COLUMNS + " WHERE o.id = :id")
+    OwnedPokemon getPokemonByIdSync(int id);
     
-    @Update
-    void update(PokemonEntity pokemon);
-    
-    @Query("UPDATE pokemon SET isObtained = 1, obtainedDate = :date WHERE id = :id")
-    void markAsObtained(int id, long date);
-    
-    @Query("SELECT * FROM pokemon WHERE id = :id")
-    PokemonEntity getPokemonByIdSync(int id);
+    @Query("SELECT COUNT(*) FROM owned_pokemon")
+    LiveData<Integer> getObtainedCount();
     
-    @Query("UPDATE pokemon SET pokedexNumber = :newPokedexNumber, name = :newName, type1 = :newType1, type2 = :newType2, evolutionStage = :newStage, evolvesFrom = :newEvolvesFrom, evolvesTo = :newEvolvesTo WHERE id = :pokemonId")
-    void updatePokemonEvolution(int pokemonId, int newPokedexNumber, String newName, String newType1, String newType2, int newStage, int newEvolvesFrom, int newEvolvesTo);
+    @Insert
+    long insert(OwnedPokemonEntity pokemon);
 }
-
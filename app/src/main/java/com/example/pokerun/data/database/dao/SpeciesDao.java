@@ -0,0 +1,42 @@
+package com.example.pokerun.data.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+
+import java.util.List;
+
+/**
+ * Catálogo de especies (tabla species). Solo lo escribe CatalogSeeder.
+ */
+@Dao
+public interface SpeciesDao {
+    /**
+     * Filtro por tipo sobre species: especies con alguno de los tipos de
+     * :typeMask (PokemonType.maskOf). Se resuelve recorriendo solo
+     * index_species_typeMask, que ya incluye pokedexNumber (rowid).
+     */
+    String TYPE_FILTER = "(typeMask & :typeMask) != 0";
+    
+    @Query("SELECT * FROM species WHERE pokedexNumber = :pokedexNumber")
+    SpeciesEntity getSpecies(int pokedexNumber);
+    
+    @Query("SELECT * FROM species ORDER BY pokedexNumber")
+    List<SpeciesEntity> getAllSpecies();
+    
+    @Query("SELECT COUNT(*) FROM species")
+    int getCount();
+    
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insert(SpeciesEntity species);
+    
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertAll(List<SpeciesEntity> speciesList);
+    
+    @Query("UPDATE species SET name = :name, type1 = :type1, type2 = :type2, typeMask = :typeMask, evolutionStage = :stage, evolvesFrom = :evolvesFrom, evolvesTo = :evolvesTo WHERE pokedexNumber = :pokedexNumber")
+    int updateSpeciesData(int pokedexNumber, String name, PokemonType type1, PokemonType type2, int typeMask, int stage, int evolvesFrom, int evolvesTo);
+}
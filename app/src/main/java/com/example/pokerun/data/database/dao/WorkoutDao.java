@@ -18,7 +18,11 @@ public interface WorkoutDao {
     LiveData<WorkoutEntity> getWorkoutById(long id);
     
     @Insert
-    void insert(WorkoutEntity workout);
+    long insert(WorkoutEntity workout);
+    
+    /** Entrenamiento ya guardado con ese inicio (null si no existe) */
+    @Query("SELECT id FROM workouts WHERE startTime = :startTime LIMIT 1")
+    Long getIdByStartTime(long startTime);
     
     @Query("SELECT SUM(distance) FROM workouts")
     LiveData<Double> getTotalDistance();
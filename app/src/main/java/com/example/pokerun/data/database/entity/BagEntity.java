@@ -1,5 +1,6 @@
 package com.example.pokerun.data.database.entity;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 
@@ -8,16 +9,26 @@ public class BagEntity {
     @PrimaryKey(autoGenerate = true)
     public long id;
     
+    /** Huevos de 5 km (EggTier.STANDARD) */
     public int eggs;
     public int rareCandies;
     
+    /** Huevos de 10 km (EggTier.LONG); columna añadida en la migración 6 → 7 */
+    @ColumnInfo(defaultValue = "0")
+    public int longEggs;
+    
     public BagEntity() {
         this.eggs = 0;
         this.rareCandies = 0;
     }
     
     public BagEntity(int eggs, int rareCandies) {
+        this(eggs, 0, rareCandies);
+    }
+    
+    public BagEntity(int eggs, int longEggs, int rareCandies) {
         this.eggs = eggs;
+        this.longEggs = longEggs;
         this.rareCandies = rareCandies;
     }
 }
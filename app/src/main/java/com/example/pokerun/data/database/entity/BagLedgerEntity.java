@@ -0,0 +1,110 @@
+package com.example.pokerun.data.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.pokerun.data.database.model.BagBalance;
+import com.example.pokerun.data.hatch.EggTier;
+
+/**
+ * Movimiento del libro de la mochila (bag_ledger).
+ * 
+ * Cada cambio de huevos o caramelos se añade como una fila con su delta y su
+ * origen; las filas nunca se modifican. Los huevos llevan un delta por tipo
+ * (eggs para los de 5 km, longEggs para los de 10 km). La fila de la tabla bag es el saldo
+ * en caché: se actualiza en la misma transacción que cada movimiento, de modo
+ * que en todo momento bag = suma de bag_ledger.
+ * 
+ * ORÍGENES (source / sourceId):
+ * - workout: recompensa de un entrenamiento (sourceId = id del entrenamiento)
+ * - hatch: apertura de un huevo de cualquier tipo (sourceId = id del Pokémon obtenido)
+ * - evolution: evolución (sourceId = número de Pokédex de la nueva forma)
+ * - adjustment: incrementos o descuentos sin origen concreto
+ * - opening: saldo existente al crear el libro (migración 2 → 3)
+ * - compaction: suma de los movimientos antiguos plegados por LedgerDao.compact()
+ * 
+ * IDEMPOTENCIA:
+ * workoutId tiene índice único (los null no chocan entre sí), así que la
+ * recompensa de un entrenamiento solo se puede registrar una vez mientras su
+ * fila no se compacte. La garantía definitiva la da WorkoutRepository, que
+ * solo la otorga al insertar el entrenamiento.
+ * 
+ * @see com.example.pokerun.data.database.dao.LedgerDao
+ */
+@Entity(tableName = "bag_ledger", indices = {@Index(value = "workoutId", unique = true)})
+public class BagLedgerEntity {
+    public static final String SOURCE_WORKOUT = "workout";
+    public static final String SOURCE_HATCH = "hatch";
+    public static final String SOURCE_EVOLUTION = "evolution";
+    public static final String SOURCE_ADJUSTMENT = "adjustment";
+    public static final String SOURCE_OPENING = "opening";
+    public static final String SOURCE_COMPACTION = "compaction";
+    
+    @PrimaryKey(autoGenerate = true)
+    public long id;
+    
+    @NonNull
+    public String source = SOURCE_ADJUSTMENT;
+    
+    public long sourceId;
+    
+    /** Solo en las recompensas de entrenamiento; clave de idempotencia */
+    public Long workoutId;
+    
+    public int eggs;
+    public int rareCandies;
+    public long createdAt;
+    
+    /** Delta de huevos de 10 km; columna añadida en la migración 6 → 7 */
+    @ColumnInfo(defaultValue = "0")
+    public int longEggs;
+    
+    public BagLedgerEntity() {}
+    
+    private static BagLedgerEntity of(String source, long sourceId, int eggs, int longEggs,
+                                      int rareCandies, long createdAt) {
+        BagLedgerEntity entry = new BagLedgerEntity();
+        entry.source = source;
+        entry.sourceId = sourceId;
+        entry.eggs = eggs;
+        entry.longEggs = longEggs;
+        entry.rareCandies = rareCandies;
+        entry.createdAt = createdAt;
+        return entry;
+    }
+    
+    /**
+     * Recompensa de un entrenamiento
+     * @param tier tipo de los huevos ganados (null si no ganó ninguno)
+     */
+    public static BagLedgerEntity workoutReward(long workoutId, EggTier tier, int eggs, int rareCandies,
+                                                long createdAt) {
+        boolean longEgg = tier == EggTier.LONG;
+        BagLedgerEntity entry = of(SOURCE_WORKOUT, workoutId, longEgg ? 0 : eggs, longEgg ? eggs : 0,
+            rareCandies, createdAt);
+        entry.workoutId = workoutId;
+        return entry;
+    }
+    
+    /** Apertura de un huevo de tipo {@code tier}: un huevo y un caramelo */
+    public static BagLedgerEntity hatch(int pokemonId, EggTier tier, long createdAt) {
+        boolean longEgg = tier == EggTier.LONG;
+        return of(SOURCE_HATCH, pokemonId, longEgg ? 0 : -1, longEgg ? -1 : 0, -1, createdAt);
+    }
+    
+    public static BagLedgerEntity evolution(int evolvedPokedexNumber, int candyCost, long createdAt) {
+        return of(SOURCE_EVOLUTION, evolvedPokedexNumber, 0, 0, -candyCost, createdAt);
+    }
+    
+    /** Ajuste de huevos de 5 km y caramelos */
+    public static BagLedgerEntity adjustment(int eggs, int rareCandies, long createdAt) {
+        return of(SOURCE_ADJUSTMENT, 0, eggs, 0, rareCandies, createdAt);
+    }
+    
+    public static BagLedgerEntity compaction(long lastFoldedId, BagBalance folded, long createdAt) {
+        return of(SOURCE_COMPACTION, lastFoldedId, folded.eggs, folded.longEggs, folded.rareCandies, createdAt);
+    }
+}
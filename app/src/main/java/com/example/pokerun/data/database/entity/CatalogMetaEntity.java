@@ -0,0 +1,31 @@
+package com.example.pokerun.data.database.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Par clave/valor con metadatos del catálogo aplicado en la base de datos.
+ * 
+ * Guarda el hash de contenido del catálogo (CatalogVersion.CONTENT_HASH) con el
+ * que se sincronizaron por última vez las tablas species y pokedex_entries.
+ * Se escribe en la misma transacción que los datos, así que un sembrado
+ * interrumpido deja el valor anterior y se repara en el siguiente arranque.
+ * 
+ * @see CatalogDao
+ */
+@Entity(tableName = "catalog_meta")
+public class CatalogMetaEntity {
+    @PrimaryKey
+    @NonNull
+    public String name = "";
+    
+    public String value;
+    
+    public CatalogMetaEntity() {}
+    
+    public CatalogMetaEntity(@NonNull String name, String value) {
+        this.name = name;
+        this.value = value;
+    }
+}
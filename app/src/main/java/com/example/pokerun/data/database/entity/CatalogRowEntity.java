@@ -0,0 +1,29 @@
+package com.example.pokerun.data.database.entity;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Hash de los datos de catálogo aplicados para cada especie.
+ * 
+ * Permite que una actualización del catálogo solo reescriba las especies
+ * cuyo contenido ha cambiado, sin tocar el estado del usuario.
+ * 
+ * @see CatalogDao
+ */
+@Entity(tableName = "catalog_rows")
+public class CatalogRowEntity {
+    /** Número en la Pokédex oficial - Primary Key */
+    @PrimaryKey
+    public int pokedexNumber;
+    
+    /** CRC32 de los datos de catálogo de la especie (ver CatalogSeeder.rowHash) */
+    public int rowHash;
+    
+    public CatalogRowEntity() {}
+    
+    public CatalogRowEntity(int pokedexNumber, int rowHash) {
+        this.pokedexNumber = pokedexNumber;
+        this.rowHash = rowHash;
+    }
+}
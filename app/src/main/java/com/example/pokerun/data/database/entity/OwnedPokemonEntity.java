@@ -0,0 +1,49 @@
+package com.example.pokerun.data.database.entity;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Entidad Room que representa un Pokémon obtenido por el usuario.
+ * 
+ * PATRÓN MVVM - CAPA MODEL (Entity):
+ * Esta clase define la estructura de la tabla 'owned_pokemon'. Cada fila es
+ * un ejemplar concreto: su id propio, la especie que es ahora y cuándo se
+ * obtuvo. Los datos de la especie (nombre, tipos, evolución) se leen de
+ * species con un JOIN (OwnedPokemon), así que la fila es estrecha y se
+ * pueden tener varios ejemplares de la misma especie.
+ * 
+ * EVOLUCIÓN:
+ * Evolucionar solo cambia speciesNumber; el id se conserva (bag_ledger lo
+ * usa como sourceId de las aperturas) y el catálogo no se toca.
+ * 
+ * INTEGRIDAD:
+ * speciesNumber tiene clave foránea a species(pokedexNumber) e índice, que
+ * usan tanto la comprobación de la clave como las consultas por especie.
+ * 
+ * @see SpeciesEntity Catálogo de especies
+ * @see com.example.pokerun.data.database.model.OwnedPokemon Fila con los datos de su especie
+ */
+@Entity(
+    tableName = "owned_pokemon",
+    foreignKeys = {@ForeignKey(entity = SpeciesEntity.class, parentColumns = "pokedexNumber", childColumns = "speciesNumber")},
+    indices = {@Index("speciesNumber")}
+)
+public class OwnedPokemonEntity {
+    @PrimaryKey(autoGenerate = true)
+    public int id;
+    
+    /** Especie actual del ejemplar (species.pokedexNumber) */
+    public int speciesNumber;
+    /** Timestamp de cuando el usuario obtuvo este Pokémon */
+    public long obtainedDate;
+    
+    public OwnedPokemonEntity() {}
+    
+    public OwnedPokemonEntity(int speciesNumber, long obtainedDate) {
+        this.speciesNumber = speciesNumber;
+        this.obtainedDate = obtainedDate;
+    }
+}
@@ -3,6 +3,8 @@ package com.example.pokerun.data.database.entity;
 import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 
+import com.example.pokerun.data.catalog.PokemonType;
+
 /**
  * Entidad Room que representa una entrada de la Pokédex.
  * 
@@ -39,9 +41,9 @@ public class PokedexEntryEntity {
     /** Nombre del Pokémon en inglés */
     public String nameEn;
     /** Tipo primario del Pokémon */
-    public String type1;
+    public PokemonType type1;
     /** Tipo secundario del Pokémon (puede ser null) */
-    public String type2;
+    public PokemonType type2;
     /** Descripción del Pokémon en español */
     public String description;
     /** Descripción del Pokémon en inglés */
@@ -52,7 +54,7 @@ public class PokedexEntryEntity {
     public PokedexEntryEntity() {}
     
     public PokedexEntryEntity(int pokedexNumber, String name, String nameEn, 
-                             String type1, String type2, String description, String descriptionEn) {
+                             PokemonType type1, PokemonType type2, String description, String descriptionEn) {
         this.pokedexNumber = pokedexNumber;
         this.name = name;
         this.nameEn = nameEn;
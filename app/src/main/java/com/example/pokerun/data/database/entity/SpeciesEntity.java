@@ -0,0 +1,67 @@
+package com.example.pokerun.data.database.entity;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.pokerun.data.catalog.PokemonType;
+
+/**
+ * Entidad Room que representa una especie del catálogo.
+ * 
+ * PATRÓN MVVM - CAPA MODEL (Entity):
+ * Esta clase define la estructura de la tabla 'species' en Room Database.
+ * Cada fila es una especie de la primera generación (151 en total) y solo
+ * contiene datos de catálogo: el estado del usuario vive en owned_pokemon.
+ * 
+ * CAMPOS PRINCIPALES:
+ * - pokedexNumber: Número en la Pokédex oficial (1-151, Primary Key)
+ * - name: Nombre de la especie en español
+ * - type1, type2: Tipos de la especie (código de PokemonType, ver Converters)
+ * - typeMask: OR de los bits de ambos tipos, para filtrar por tipo
+ * - evolutionStage: Etapa evolutiva (0=base, 1=primera, 2=segunda)
+ * - evolvesFrom/evolvesTo: Cadena evolutiva
+ * 
+ * SOLO LECTURA:
+ * Se rellena con la semilla de build y solo la reescribe CatalogSeeder
+ * cuando cambia el catálogo. Nada del juego la modifica, así que puede
+ * cachearse entera en memoria (HatchSampler).
+ * 
+ * @see SpeciesDao DAO de consulta y siembra
+ * @see OwnedPokemonEntity Pokémon obtenidos por el usuario
+ */
+@Entity(tableName = "species", indices = {@Index("evolutionStage"), @Index("typeMask")})
+public class SpeciesEntity {
+    /** Número en la Pokédex oficial (1-151) - Primary Key */
+    @PrimaryKey
+    public int pokedexNumber;
+    
+    /** Nombre de la especie en español */
+    public String name;
+    /** Tipo primario de la especie */
+    public PokemonType type1;
+    /** Tipo secundario de la especie (puede ser null) */
+    public PokemonType type2;
+    /** PokemonType.maskOf(type1, type2); índice cubriente para los filtros por tipo */
+    public int typeMask;
+    /** Etapa evolutiva: 0 = base, 1 = primera evolución, 2 = segunda evolución */
+    public int evolutionStage;
+    /** Número de Pokédex del que evoluciona (0 si es forma base) */
+    public int evolvesFrom;
+    /** Número de Pokédex al que evoluciona (0 si no evoluciona más) */
+    public int evolvesTo;
+    
+    public SpeciesEntity() {}
+    
+    public SpeciesEntity(int pokedexNumber, String name, PokemonType type1, PokemonType type2,
+                         int evolutionStage, int evolvesFrom, int evolvesTo) {
+        this.pokedexNumber = pokedexNumber;
+        this.name = name;
+        this.type1 = type1;
+        this.type2 = type2;
+        this.typeMask = PokemonType.maskOf(type1, type2);
+        this.evolutionStage = evolutionStage;
+        this.evolvesFrom = evolvesFrom;
+        this.evolvesTo = evolvesTo;
+    }
+}
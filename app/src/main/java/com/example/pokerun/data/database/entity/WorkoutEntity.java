@@ -1,9 +1,14 @@
 package com.example.pokerun.data.database.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "workouts")
+/**
+ * startTime está indexado: el historial se ordena por él y la importación de
+ * Strava lo usa para no duplicar entrenamientos (WorkoutDao.getIdByStartTime).
+ */
+@Entity(tableName = "workouts", indices = {@Index("startTime")})
 public class WorkoutEntity {
     @PrimaryKey(autoGenerate = true)
     public long id;
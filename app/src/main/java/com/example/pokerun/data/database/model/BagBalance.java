@@ -0,0 +1,10 @@
+package com.example.pokerun.data.database.model;
+
+/**
+ * Suma de movimientos de bag_ledger (huevos de 5 y 10 km y caramelos raros).
+ */
+public class BagBalance {
+    public int eggs;
+    public int longEggs;
+    public int rareCandies;
+}
@@ -0,0 +1,41 @@
+package com.example.pokerun.data.database.model;
+
+/**
+ * Resultado de evolucionar un Pokémon con EvolutionDao.evolve().
+ * 
+ * Si status es EVOLVED, evolvedName y evolvedPokedexNumber describen la nueva
+ * forma; en cualquier otro caso la transacción no ha escrito nada.
+ */
+public class EvolutionResult {
+    
+    public enum Status {
+        /** Caramelos descontados, Pokémon evolucionado y entrada desbloqueada */
+        EVOLVED,
+        /** No hay caramelos raros suficientes */
+        NOT_ENOUGH_CANDIES,
+        /** El Pokémon no existe, no tiene evolución o la forma pedida no es una de sus ramas */
+        CANNOT_EVOLVE
+    }
+    
+    public final Status status;
+    public final String evolvedName;
+    public final int evolvedPokedexNumber;
+    
+    private EvolutionResult(Status status, String evolvedName, int evolvedPokedexNumber) {
+        this.status = status;
+        this.evolvedName = evolvedName;
+        this.evolvedPokedexNumber = evolvedPokedexNumber;
+    }
+    
+    public static EvolutionResult evolved(String evolvedName, int evolvedPokedexNumber) {
+        return new EvolutionResult(Status.EVOLVED, evolvedName, evolvedPokedexNumber);
+    }
+    
+    public static EvolutionResult notEnoughCandies() {
+        return new EvolutionResult(Status.NOT_ENOUGH_CANDIES, null, 0);
+    }
+    
+    public static EvolutionResult cannotEvolve() {
+        return new EvolutionResult(Status.CANNOT_EVOLVE, null, 0);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pokerun.data.database.model;
+
+/**
+ * Especie que puede salir de un huevo; pokedexNumber es a la vez el id con
+ * el que la sortea HatchSampler y la clave de sus pesos en hatch_weights.json.
+ */
+public class HatchCandidate {
+    public int pokedexNumber;
+    
+    public HatchCandidate() {}
+    
+    public HatchCandidate(int pokedexNumber) {
+        this.pokedexNumber = pokedexNumber;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.pokerun.data.database.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de abrir huevos con HatchDao.hatchPicked() (o sus atajos hatch() y hatchMany()).
+ * 
+ * Si status es HATCHED, hatched contiene los ejemplares ya añadidos a
+ * owned_pokemon (uno por huevo gastado) y pokemon es el primero de ellos; en
+ * cualquier otro caso la lista está vacía, pokemon es null y la mochila no
+ * se ha modificado.
+ */
+public class HatchResult {
+    
+    public enum Status {
+        /** Se descontaron huevo y caramelo y se obtuvo el Pokémon */
+        HATCHED,
+        /** No había al menos un huevo y un caramelo raro */
+        NOT_ENOUGH_ITEMS,
+        /** No queda ninguna especie de primera etapa sin ejemplar en la colección */
+        ALL_OBTAINED
+    }
+    
+    public final Status status;
+    public final OwnedPokemon pokemon;
+    public final List<OwnedPokemon> hatched;
+    
+    private HatchResult(Status status, List<OwnedPokemon> hatched) {
+        this.status = status;
+        this.hatched = hatched;
+        this.pokemon = hatched.isEmpty() ? null : hatched.get(0);
+    }
+    
+    public static HatchResult hatched(List<OwnedPokemon> hatched) {
+        return new HatchResult(Status.HATCHED, Collections.unmodifiableList(hatched));
+    }
+    
+    public static HatchResult notEnoughItems() {
+        return new HatchResult(Status.NOT_ENOUGH_ITEMS, Collections.<OwnedPokemon>emptyList());
+    }
+    
+    public static HatchResult allObtained() {
+        return new HatchResult(Status.ALL_OBTAINED, Collections.<OwnedPokemon>emptyList());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.pokerun.data.database.model;
+
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+
+/**
+ * Pokémon obtenido junto con los datos de su especie: resultado de unir
+ * owned_pokemon con species. Es lo que consumen la colección, la apertura de
+ * huevos y la evolución.
+ * 
+ * id es el del ejemplar (owned_pokemon.id); el resto de campos, salvo
+ * obtainedDate, son los de la especie actual.
+ */
+public class OwnedPokemon {
+    public int id;
+    /** Número en la Pokédex de la especie actual */
+    public int pokedexNumber;
+    public String name;
+    public PokemonType type1;
+    /** Tipo secundario (puede ser null) */
+    public PokemonType type2;
+    /** Etapa evolutiva: 0 = base, 1 = primera evolución, 2 = segunda evolución */
+    public int evolutionStage;
+    public int evolvesFrom;
+    /** Número de Pokédex al que evoluciona (0 si no evoluciona más) */
+    public int evolvesTo;
+    public long obtainedDate;
+    
+    /** Ejemplar recién insertado con id {@code id} de la especie {@code species} */
+    public static OwnedPokemon of(int id, SpeciesEntity species, long obtainedDate) {
+        OwnedPokemon pokemon = new OwnedPokemon();
+        pokemon.id = id;
+        pokemon.pokedexNumber = species.pokedexNumber;
+        pokemon.name = species.name;
+        pokemon.type1 = species.type1;
+        pokemon.type2 = species.type2;
+        pokemon.evolutionStage = species.evolutionStage;
+        pokemon.evolvesFrom = species.evolvesFrom;
+        pokemon.evolvesTo = species.evolvesTo;
+        pokemon.obtainedDate = obtainedDate;
+        return pokemon;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        OwnedPokemon that = (OwnedPokemon) obj;
+        return id == that.id;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
+}
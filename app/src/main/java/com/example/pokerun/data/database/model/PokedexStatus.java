@@ -0,0 +1,20 @@
+package com.example.pokerun.data.database.model;
+
+/**
+ * Proyección mínima de una entrada de la Pokédex: número y estado de desbloqueo.
+ * 
+ * Los textos (nombres, tipos, descripciones) no se cargan desde Room sino
+ * desde el SpeciesCatalog binario al enlazar cada fila, de modo que cada
+ * emisión de la lista solo materializa dos campos por especie.
+ * 
+ * @see com.example.pokerun.data.catalog.SpeciesCatalog
+ */
+public class PokedexStatus {
+    public int pokedexNumber;
+    public boolean isUnlocked;
+    
+    public PokedexStatus(int pokedexNumber, boolean isUnlocked) {
+        this.pokedexNumber = pokedexNumber;
+        this.isUnlocked = isUnlocked;
+    }
+}
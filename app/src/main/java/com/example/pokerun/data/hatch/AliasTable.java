@@ -0,0 +1,93 @@
+package com.example.pokerun.data.hatch;
+
+import java.util.Random;
+
+/**
+ * Tabla de alias de Vose para sortear ids con pesos enteros en O(1).
+ * 
+ * build() cuesta O(n) y reutiliza sus arrays entre reconstrucciones, así que
+ * tras la primera no asigna memoria mientras n no crezca. sample() hace una
+ * tirada de columna y una de moneda: elige la columna i o su alias.
+ * 
+ * No es segura entre hilos; HatchSampler la usa bajo su propio bloqueo.
+ */
+final class AliasTable {
+    
+    private int[] ids = new int[0];
+    private int[] alias = new int[0];
+    private double[] probability = new double[0];
+    private double[] scaled = new double[0];
+    private int[] small = new int[0];
+    private int[] large = new int[0];
+    private int size;
+    private long totalWeight;
+    
+    /**
+     * Construye la tabla con los n primeros ids y sus pesos (todos mayores que 0)
+     */
+    void build(int n, int[] sourceIds, int[] weights) {
+        ensureCapacity(n);
+        size = n;
+        totalWeight = 0;
+        for (int i = 0; i < n; i++) {
+            ids[i] = sourceIds[i];
+            totalWeight += weights[i];
+        }
+        if (n == 0) return;
+        
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (double) weights[i] * n / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Lo que queda es 1 salvo por redondeo
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+    
+    /** @return un id con probabilidad peso / totalWeight; la tabla no debe estar vacía */
+    int sample(Random random) {
+        int column = random.nextInt(size);
+        return random.nextDouble() < probability[column] ? ids[column] : ids[alias[column]];
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /** Suma de los pesos con los que se construyó */
+    long totalWeight() {
+        return totalWeight;
+    }
+    
+    private void ensureCapacity(int n) {
+        if (ids.length >= n) return;
+        ids = new int[n];
+        alias = new int[n];
+        probability = new double[n];
+        scaled = new double[n];
+        small = new int[n];
+        large = new int[n];
+    }
+}
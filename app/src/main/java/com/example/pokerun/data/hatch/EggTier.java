@@ -0,0 +1,46 @@
+package com.example.pokerun.data.hatch;
+
+/**
+ * Tipos de huevo según la distancia del entrenamiento que los dio.
+ * 
+ * Cada tipo tiene su propia tabla de pesos en hatch_weights.json (clave
+ * assetKey): los huevos de 10 km favorecen a las especies raras.
+ */
+public enum EggTier {
+    STANDARD("5km", 5.0),
+    LONG("10km", 10.0);
+    
+    /** Clave del tipo en hatch_weights.json */
+    public final String assetKey;
+    /** Distancia mínima del entrenamiento para ganar este huevo */
+    public final double minDistanceKm;
+    
+    EggTier(String assetKey, double minDistanceKm) {
+        this.assetKey = assetKey;
+        this.minDistanceKm = minDistanceKm;
+    }
+    
+    /**
+     * @return el mejor huevo que da un entrenamiento de {@code distanceKm},
+     *         o null si no llega al mínimo
+     */
+    public static EggTier forDistanceKm(double distanceKm) {
+        EggTier best = null;
+        for (EggTier tier : values()) {
+            if (distanceKm >= tier.minDistanceKm) {
+                best = tier;
+            }
+        }
+        return best;
+    }
+    
+    /** @return el tipo con esa clave del asset, o null si no existe */
+    public static EggTier fromAssetKey(String key) {
+        for (EggTier tier : values()) {
+            if (tier.assetKey.equals(key)) {
+                return tier;
+            }
+        }
+        return null;
+    }
+}
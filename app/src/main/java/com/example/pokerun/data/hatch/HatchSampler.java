@@ -0,0 +1,242 @@
+package com.example.pokerun.data.hatch;
+
+import com.example.pokerun.data.database.model.HatchCandidate;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Conjunto en memoria de las especies que puede dar un huevo (primera etapa y
+ * sin ejemplar en la colección), para elegir candidatos sin consultar la
+ * tabla completa. El id de cada candidato es su número de Pokédex.
+ * 
+ * ESTRUCTURA:
+ * - eligible: bitset indexado por id, para saber en O(1) si un id es candidato.
+ * - dense: array denso con los ids candidatos en [0, size); position guarda
+ *   el índice de cada id. Retirar es intercambiar con el último y encoger.
+ * 
+ * PESOS:
+ * Cada tipo de huevo (EggTier) sortea con una tabla de alias (AliasTable)
+ * construida con los pesos de HatchWeights. La tabla no se reconstruye en
+ * cada huevo: un id ya retirado se rechaza con el bitset y se vuelve a tirar.
+ * Solo cuando el peso vivo cae por debajo de la mitad del de la tabla se
+ * reconstruye con los candidatos vivos, así que cada sorteo cuesta O(1)
+ * esperado (como mucho dos tiradas de media) y no asigna memoria.
+ * 
+ * TRANSACCIONES:
+ * Las retiradas se hacen dentro de la transacción de WriteQueue, antes de
+ * saber si habrá commit. committedSize marca el tamaño tras el último commit:
+ * commit() lo confirma y rollback() lo restaura. Como los intercambios solo
+ * reordenan [0, committedSize), deshacer es volver a marcar ese tramo.
+ * Una reconstrucción revertida, en cambio, invalida el conjunto.
+ * 
+ * REINICIOS:
+ * No se persiste nada. Tras arrancar el proceso, o tras invalidate(), el
+ * primer sorteo reconstruye el conjunto con una sola consulta
+ * (HatchDao.getHatchCandidates).
+ * 
+ * Los métodos están sincronizados; en la práctica solo los usa el hilo
+ * escritor de WriteQueue.
+ */
+public final class HatchSampler {
+    
+    private static final EggTier[] TIERS = EggTier.values();
+    
+    private final Random random;
+    private final BitSet eligible = new BitSet();
+    private int[] dense = new int[0];
+    private int[] position = new int[0];
+    private int size;
+    private int committedSize;
+    private boolean loaded;
+    /** rebuild() dentro de una transacción aún sin commit: puede ver escrituras que se reviertan */
+    private boolean rebuiltSinceCommit;
+    
+    /** Peso de cada id en cada tipo de huevo: weightById[tier][id] */
+    private final int[][] weightById = new int[TIERS.length][];
+    /** Suma de pesos de los candidatos vivos, por tipo de huevo */
+    private final long[] liveWeight = new long[TIERS.length];
+    private final AliasTable[] tables = new AliasTable[TIERS.length];
+    private final boolean[] tableStale = new boolean[TIERS.length];
+    /** Tabla construida con retiradas sin confirmar: no contiene lo que devolvería rollback() */
+    private final boolean[] tableBuiltWithPending = new boolean[TIERS.length];
+    private int[] buildWeights = new int[0];
+    
+    public HatchSampler() {
+        this(new Random());
+    }
+    
+    /** Con un generador propio (semilla fija en los tests) */
+    public HatchSampler(Random random) {
+        this.random = random;
+        for (int t = 0; t < TIERS.length; t++) {
+            tables[t] = new AliasTable();
+            weightById[t] = new int[0];
+        }
+    }
+    
+    /** @return false si hay que reconstruir con rebuild() antes de sortear */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * Sustituye el contenido por {@code candidates} (resultado de la consulta
+     * de candidatos) con sus pesos, y lo da por confirmado
+     */
+    public synchronized void rebuild(List<HatchCandidate> candidates, HatchWeights weights) {
+        int maxId = 0;
+        for (HatchCandidate candidate : candidates) {
+            maxId = Math.max(maxId, candidate.pokedexNumber);
+        }
+        if (dense.length < candidates.size()) {
+            dense = new int[candidates.size()];
+            buildWeights = new int[candidates.size()];
+        }
+        if (position.length <= maxId) {
+            position = new int[maxId + 1];
+            for (int t = 0; t < TIERS.length; t++) {
+                weightById[t] = new int[maxId + 1];
+            }
+        }
+        eligible.clear();
+        size = 0;
+        for (int t = 0; t < TIERS.length; t++) {
+            liveWeight[t] = 0;
+            tableStale[t] = true;
+        }
+        for (HatchCandidate candidate : candidates) {
+            int id = candidate.pokedexNumber;
+            if (eligible.get(id)) continue;
+            eligible.set(id);
+            position[id] = size;
+            dense[size++] = id;
+            for (int t = 0; t < TIERS.length; t++) {
+                int weight = weights.weight(TIERS[t], id);
+                weightById[t][id] = weight;
+                liveWeight[t] += weight;
+            }
+        }
+        committedSize = size;
+        loaded = true;
+        rebuiltSinceCommit = true;
+    }
+    
+    /** Descarta el contenido; el siguiente sorteo reconstruye */
+    public synchronized void invalidate() {
+        loaded = false;
+        eligible.clear();
+        size = 0;
+        committedSize = 0;
+        for (int t = 0; t < TIERS.length; t++) {
+            liveWeight[t] = 0;
+            tableStale[t] = true;
+        }
+    }
+    
+    /** @return número de candidatos vivos */
+    public synchronized int size() {
+        return size;
+    }
+    
+    public synchronized boolean contains(int id) {
+        return id >= 0 && eligible.get(id);
+    }
+    
+    /** Sorteo con los pesos de los huevos normales (EggTier.STANDARD) */
+    public synchronized int draw(int count, int[] out) {
+        return draw(EggTier.STANDARD, count, out);
+    }
+    
+    /**
+     * Sortea hasta {@code count} ids distintos con los pesos de {@code tier},
+     * los retira y los escribe en {@code out} a partir de la posición 0
+     * @return número de ids escritos (menor que count si no quedan bastantes)
+     */
+    public synchronized int draw(EggTier tier, int count, int[] out) {
+        int t = tier.ordinal();
+        int limit = Math.min(count, out.length);
+        int drawn = 0;
+        while (drawn < limit && size > 0) {
+            AliasTable table = tables[t];
+            if (tableStale[t] || liveWeight[t] * 2 < table.totalWeight()) {
+                buildTable(t);
+            }
+            int id = table.sample(random);
+            if (!eligible.get(id)) {
+                continue; // Ya retirado: se rechaza y se vuelve a tirar
+            }
+            removeAt(position[id]);
+            out[drawn++] = id;
+        }
+        return drawn;
+    }
+    
+    /** Retira un id concreto (especie añadida a la colección por otra vía) */
+    public synchronized void remove(int id) {
+        if (contains(id)) {
+            removeAt(position[id]);
+        }
+    }
+    
+    /** Confirma las retiradas hechas desde el último commit */
+    public synchronized void commit() {
+        committedSize = size;
+        rebuiltSinceCommit = false;
+        for (int t = 0; t < TIERS.length; t++) {
+            tableBuiltWithPending[t] = false;
+        }
+    }
+    
+    /**
+     * Devuelve al conjunto los ids retirados desde el último commit. Si se
+     * reconstruyó en la transacción revertida, se descarta entero.
+     */
+    public synchronized void rollback() {
+        if (rebuiltSinceCommit) {
+            invalidate();
+            rebuiltSinceCommit = false;
+            return;
+        }
+        for (int i = size; i < committedSize; i++) {
+            int id = dense[i];
+            eligible.set(id);
+            for (int t = 0; t < TIERS.length; t++) {
+                liveWeight[t] += weightById[t][id];
+            }
+        }
+        size = committedSize;
+        // Una tabla construida tras retiradas ya revertidas no contiene esos ids
+        for (int t = 0; t < TIERS.length; t++) {
+            if (tableBuiltWithPending[t]) {
+                tableStale[t] = true;
+                tableBuiltWithPending[t] = false;
+            }
+        }
+    }
+    
+    private void removeAt(int index) {
+        int id = dense[index];
+        int last = dense[--size];
+        dense[index] = last;
+        position[last] = index;
+        dense[size] = id;
+        position[id] = size;
+        eligible.clear(id);
+        for (int t = 0; t < TIERS.length; t++) {
+            liveWeight[t] -= weightById[t][id];
+        }
+    }
+    
+    /** Tabla del tipo t con los candidatos vivos; reutiliza los arrays */
+    private void buildTable(int t) {
+        int[] weights = weightById[t];
+        for (int i = 0; i < size; i++) {
+            buildWeights[i] = weights[dense[i]];
+        }
+        tables[t].build(size, dense, buildWeights);
+        tableStale[t] = false;
+        tableBuiltWithPending[t] = size != committedSize;
+    }
+}
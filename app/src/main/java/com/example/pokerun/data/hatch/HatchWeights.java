@@ -0,0 +1,107 @@
+package com.example.pokerun.data.hatch;
+
+import com.example.pokerun.data.json.JsonCodecs;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pesos de aparición de cada especie en cada tipo de huevo (hatch_weights.json).
+ * 
+ * FORMATO:
+ * { "tiers": { "5km": { "default": 10, "species": { "25": 4, ... } }, ... } }
+ * Una especie sin entrada en "species" usa el "default" de su tipo; un tipo
+ * sin entrada usa peso 1 para todas. Los pesos deben ser mayores que 0: un
+ * peso nulo dejaría especies que el sorteo no puede dar aunque sigan
+ * pendientes, y el huevo diría que ya no queda ninguna.
+ */
+public final class HatchWeights {
+    public static final String ASSET = "hatch_weights.json";
+    
+    private static final HatchWeights UNIFORM = new HatchWeights(new Tier[EggTier.values().length]);
+    
+    private final Tier[] tiers;
+    
+    private HatchWeights(Tier[] tiers) {
+        this.tiers = tiers;
+    }
+    
+    /** Todas las especies con el mismo peso en todos los huevos */
+    public static HatchWeights uniform() {
+        return UNIFORM;
+    }
+    
+    /** Lee el asset en streaming; cierra {@code in} */
+    public static HatchWeights read(InputStream in) throws IOException {
+        Tier[] tiers = new Tier[EggTier.values().length];
+        try (JsonReader reader = JsonCodecs.newReader(in)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"tiers".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    EggTier tier = EggTier.fromAssetKey(reader.nextName());
+                    if (tier == null) {
+                        reader.skipValue();
+                    } else {
+                        tiers[tier.ordinal()] = readTier(reader);
+                    }
+                }
+                reader.endObject();
+            }
+            reader.endObject();
+        }
+        return new HatchWeights(tiers);
+    }
+    
+    /** @return peso de la especie {@code pokedexNumber} en los huevos {@code tier} */
+    public int weight(EggTier tier, int pokedexNumber) {
+        Tier weights = tiers[tier.ordinal()];
+        if (weights == null) return 1;
+        Integer weight = weights.species.get(pokedexNumber);
+        return weight != null ? weight : weights.defaultWeight;
+    }
+    
+    private static Tier readTier(JsonReader reader) throws IOException {
+        Tier tier = new Tier();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "default":
+                    tier.defaultWeight = checkWeight(reader.nextInt());
+                    break;
+                case "species":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        int number = Integer.parseInt(reader.nextName());
+                        tier.species.put(number, checkWeight(reader.nextInt()));
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return tier;
+    }
+    
+    private static int checkWeight(int weight) throws IOException {
+        if (weight < 1) {
+            throw new IOException("Peso de huevo no válido: " + weight);
+        }
+        return weight;
+    }
+    
+    private static final class Tier {
+        int defaultWeight = 1;
+        final Map<Integer, Integer> species = new HashMap<>();
+    }
+}
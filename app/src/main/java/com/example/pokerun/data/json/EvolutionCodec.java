@@ -0,0 +1,49 @@
+package com.example.pokerun.data.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Codec de los registros de evolutions.json.
+ */
+public final class EvolutionCodec implements JsonCodec<EvolutionRecord> {
+    public static final EvolutionCodec INSTANCE = new EvolutionCodec();
+    
+    private EvolutionCodec() {}
+    
+    @Override
+    public EvolutionRecord create() {
+        return new EvolutionRecord();
+    }
+    
+    @Override
+    public void read(JsonReader reader, EvolutionRecord target) throws IOException {
+        target.from = 0;
+        target.to = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from":
+                    target.from = reader.nextInt();
+                    break;
+                case "to":
+                    target.to = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+    
+    @Override
+    public void write(JsonWriter writer, EvolutionRecord value) throws IOException {
+        writer.beginObject();
+        writer.name("from").value(value.from);
+        writer.name("to").value(value.to);
+        writer.endObject();
+    }
+}
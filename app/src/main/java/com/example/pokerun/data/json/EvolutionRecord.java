@@ -0,0 +1,11 @@
+package com.example.pokerun.data.json;
+
+/**
+ * Registro de evolutions.json: la especie {@code from} evoluciona a {@code to}.
+ * 
+ * @see EvolutionCodec
+ */
+public class EvolutionRecord {
+    public int from;
+    public int to;
+}
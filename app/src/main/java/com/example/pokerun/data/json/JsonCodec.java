@@ -0,0 +1,32 @@
+package com.example.pokerun.data.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Adaptador de streaming escrito a mano para un tipo de registro JSON.
+ * 
+ * Sustituye a Gson por reflexión (new Gson() + TypeToken): cada codec conoce
+ * sus claves y lee token a token sobre una instancia que el llamador reutiliza,
+ * sin acceso reflexivo a campos ni listas intermedias. Los codecs no tienen
+ * estado, así que se comparte una única instancia (INSTANCE) en toda la app.
+ * 
+ * @param <T> tipo de registro mutable que el codec rellena
+ * @see JsonCodecs Utilidades para arrays de registros
+ */
+public interface JsonCodec<T> {
+    
+    /** Crea una instancia vacía para reutilizarla con read() */
+    T create();
+    
+    /**
+     * Lee el siguiente objeto JSON sobre {@code target}, descartando claves desconocidas.
+     * Los campos ausentes quedan con su valor por defecto.
+     */
+    void read(JsonReader reader, T target) throws IOException;
+    
+    /** Escribe {@code value} como un objeto JSON */
+    void write(JsonWriter writer, T value) throws IOException;
+}
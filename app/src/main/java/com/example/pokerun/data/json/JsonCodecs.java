@@ -0,0 +1,72 @@
+package com.example.pokerun.data.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades comunes a los JsonCodec: apertura de lectores/escritores UTF-8,
+ * lectura de arrays de registros y valores opcionales.
+ * 
+ * Para catálogos grandes conviene recorrer el array con un bucle propio
+ * (beginArray / hasNext / codec.read sobre una instancia reutilizada);
+ * readList() está pensado para payloads pequeños como evolutions.json.
+ */
+public final class JsonCodecs {
+    
+    private JsonCodecs() {}
+    
+    public static JsonReader newReader(InputStream inputStream) {
+        return new JsonReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+    }
+    
+    public static JsonWriter newWriter(OutputStream outputStream) {
+        return new JsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+    
+    /**
+     * Lee un array completo creando un registro por elemento.
+     */
+    public static <T> List<T> readList(JsonReader reader, JsonCodec<T> codec) throws IOException {
+        List<T> records = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            T record = codec.create();
+            codec.read(reader, record);
+            records.add(record);
+        }
+        reader.endArray();
+        return records;
+    }
+    
+    /**
+     * Escribe los registros como un array JSON.
+     */
+    public static <T> void writeArray(JsonWriter writer, JsonCodec<T> codec, Iterable<T> records) throws IOException {
+        writer.beginArray();
+        for (T record : records) {
+            codec.write(writer, record);
+        }
+        writer.endArray();
+    }
+    
+    /** @return la cadena siguiente, o null si el valor es JSON null */
+    public static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.pokerun.data.json;
+
+/**
+ * Registro de pokedex.json tal y como lo leen los codecs.
+ * 
+ * Es mutable a propósito: el sembrado y el catálogo binario recorren el
+ * asset con una sola instancia reutilizada para todas las especies.
+ * 
+ * @see PokedexRecordCodec
+ */
+public class PokedexRecord {
+    /** Número en la Pokédex oficial */
+    public int number;
+    /** Nombre en español */
+    public String name;
+    /** Nombre en inglés */
+    public String nameEn;
+    /** Tipo primario */
+    public String type1;
+    /** Tipo secundario (null si no tiene) */
+    public String type2;
+    /** Descripción en español */
+    public String description;
+    /** Descripción en inglés */
+    public String descriptionEn;
+    
+    public void clear() {
+        number = 0;
+        name = null;
+        nameEn = null;
+        type1 = null;
+        type2 = null;
+        description = null;
+        descriptionEn = null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.pokerun.data.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Codec de los registros de pokedex.json.
+ * 
+ * Un type2 vacío ("") se normaliza a null, igual que en la base de datos semilla.
+ */
+public final class PokedexRecordCodec implements JsonCodec<PokedexRecord> {
+    public static final PokedexRecordCodec INSTANCE = new PokedexRecordCodec();
+    
+    private PokedexRecordCodec() {}
+    
+    @Override
+    public PokedexRecord create() {
+        return new PokedexRecord();
+    }
+    
+    @Override
+    public void read(JsonReader reader, PokedexRecord target) throws IOException {
+        target.clear();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "number":
+                    target.number = reader.nextInt();
+                    break;
+                case "name":
+                    target.name = JsonCodecs.nextStringOrNull(reader);
+                    break;
+                case "nameEn":
+                    target.nameEn = JsonCodecs.nextStringOrNull(reader);
+                    break;
+                case "type1":
+                    target.type1 = JsonCodecs.nextStringOrNull(reader);
+                    break;
+                case "type2":
+                    target.type2 = JsonCodecs.nextStringOrNull(reader);
+                    break;
+                case "description":
+                    target.description = JsonCodecs.nextStringOrNull(reader);
+                    break;
+                case "descriptionEn":
+                    target.descriptionEn = JsonCodecs.nextStringOrNull(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        
+        if (target.type2 != null && target.type2.isEmpty()) {
+            target.type2 = null;
+        }
+    }
+    
+    @Override
+    public void write(JsonWriter writer, PokedexRecord value) throws IOException {
+        writer.beginObject();
+        writer.name("number").value(value.number);
+        writer.name("name").value(value.name);
+        writer.name("nameEn").value(value.nameEn);
+        writer.name("type1").value(value.type1);
+        writer.name("type2").value(value.type2);
+        writer.name("description").value(value.description);
+        writer.name("descriptionEn").value(value.descriptionEn);
+        writer.endObject();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.pokerun.data.preferences;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * Copia en SharedPreferences del idioma y la unidad de distancia del usuario.
+ * 
+ * La tabla user_settings sigue siendo la fuente de verdad; este espejo solo
+ * existe para que la creación del proceso y de las Activities pueda elegir
+ * el Locale de forma síncrona sin consultar SQLite en el hilo principal.
+ * 
+ * UserSettingsRepository lo actualiza en cada cambio (antes de escribir en Room)
+ * y la tarea de arranque "settings" lo reconcilia con la base de datos.
+ * 
+ * PRIMER ARRANQUE TRAS ACTUALIZAR:
+ * En instalaciones anteriores al espejo las preferencias están vacías y los
+ * valores por defecto ("es", "km") no reflejan lo que guardó el usuario.
+ * Mientras isSeeded() sea false, el arranque espera a la tarea "settings"
+ * antes de aplicar el idioma, de modo que el espejo se siembra desde user_settings.
+ * 
+ * @see com.example.pokerun.data.repository.UserSettingsRepository
+ */
+public final class SettingsMirror {
+    private static final String PREFS_NAME = "pokerun_settings_mirror";
+    private static final String KEY_LANGUAGE = "language";
+    private static final String KEY_DISTANCE_UNIT = "distance_unit";
+    
+    public static final String DEFAULT_LANGUAGE = "es";
+    public static final String DEFAULT_DISTANCE_UNIT = "km";
+    
+    private SettingsMirror() {}
+    
+    /** @return true si el espejo ya se ha sembrado alguna vez desde user_settings o desde un cambio */
+    public static boolean isSeeded(Context context) {
+        return prefs(context).contains(KEY_LANGUAGE);
+    }
+    
+    /** @return idioma actual ("es" o "en") */
+    public static String getLanguage(Context context) {
+        return prefs(context).getString(KEY_LANGUAGE, DEFAULT_LANGUAGE);
+    }
+    
+    /** @return unidad de distancia actual ("km" o "mi") */
+    public static String getDistanceUnit(Context context) {
+        return prefs(context).getString(KEY_DISTANCE_UNIT, DEFAULT_DISTANCE_UNIT);
+    }
+    
+    public static void setLanguage(Context context, String language) {
+        prefs(context).edit().putString(KEY_LANGUAGE, language).apply();
+    }
+    
+    public static void setDistanceUnit(Context context, String unit) {
+        prefs(context).edit().putString(KEY_DISTANCE_UNIT, unit).apply();
+    }
+    
+    /**
+     * Sobrescribe el espejo con los valores de la base de datos.
+     * @return true si alguno de los valores ha cambiado
+     */
+    public static boolean sync(Context context, String language, String unit) {
+        String safeLanguage = language != null ? language : DEFAULT_LANGUAGE;
+        String safeUnit = unit != null ? unit : DEFAULT_DISTANCE_UNIT;
+        SharedPreferences prefs = prefs(context);
+        if (safeLanguage.equals(prefs.getString(KEY_LANGUAGE, null))
+                && safeUnit.equals(prefs.getString(KEY_DISTANCE_UNIT, null))) {
+            return false;
+        }
+        prefs.edit()
+            .putString(KEY_LANGUAGE, safeLanguage)
+            .putString(KEY_DISTANCE_UNIT, safeUnit)
+            .apply();
+        return true;
+    }
+    
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -5,9 +5,19 @@ import android.util.Log;
 
 import androidx.lifecycle.LiveData;
 
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.concurrent.TaskFuture;
+import com.example.pokerun.data.cache.ReadCaches;
+import com.example.pokerun.data.cache.RowCache;
 import com.example.pokerun.data.database.PokeRunDatabase;
 import com.example.pokerun.data.database.dao.BagDao;
+import com.example.pokerun.data.database.dao.LedgerDao;
 import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+import com.example.pokerun.data.write.WriteFuture;
+import com.example.pokerun.data.write.WriteQueue;
+
+import java.util.List;
 
 /**
  * Repositorio que gestiona el inventario (mochila) del usuario.
@@ -18,19 +28,30 @@ import com.example.pokerun.data.database.entity.BagEntity;
  * inventario del usuario.
  * 
  * OPERACIONES PRINCIPALES:
- * - Añadir huevos (recompensa de entrenamientos)
- * - Añadir caramelos raros (recompensa de entrenamientos)
- * - Remover huevo + caramelo (apertura de huevo) - Transacción atómica
- * - Remover caramelos (evolución de Pokémon)
+ * - Leer la mochila y su libro de movimientos
+ * - Compactar el libro
+ * Quien cambia el saldo lo hace en su propia escritura, junto con lo que
+ * lo provoca: las recompensas WorkoutRepository.saveWorkout(), la apertura
+ * de huevos PokemonRepository.hatchEggs(n, tipo) (HatchDao.hatchPicked) y
+ * la evolución PokemonRepository.evolvePokemon() (EvolutionDao).
  * 
  * CONSIDERACIONES DE CONCURRENCIA:
- * Las operaciones de modificación son síncronas y deben ejecutarse
- * en un hilo de fondo. El repositorio garantiza la consistencia
- * mediante operaciones atómicas en removeEggAndCandy().
+ * Todas las modificaciones pasan por WriteQueue y devuelven un WriteFuture.
+ * Ninguna lee la mochila para escribirla entera: los incrementos y descuentos
+ * son UPDATE en SQL (los descuentos, condicionales) y el resultado sale de
+ * las filas afectadas.
+ * 
+ * LIBRO DE MOVIMIENTOS:
+ * Cada cambio queda anotado en bag_ledger (LedgerDao) junto con su origen;
+ * la fila de bag es el saldo en caché y leerlo sigue siendo una sola fila.
+ * compactLedger() pliega los movimientos antiguos para acotar el libro.
+ * Las lecturas son observables (getBag) o asíncronas (loadBag): ningún
+ * método consulta Room en el hilo que lo llama.
  * 
  * INICIALIZACIÓN:
- * El constructor verifica y crea la mochila si no existe,
- * garantizando que siempre haya un registro disponible.
+ * La mochila se crea en la tarea de arranque "bag" de PokeRunApplication y,
+ * como respaldo, loadBag() la crea si no existe. El constructor no hace
+ * consultas, para que crear un ViewModel en el hilo principal no toque Room.
  * 
  * @see BagDao DAO que ejecuta las operaciones SQL
  * @see BagEntity Entidad que representa el inventario
@@ -38,140 +59,62 @@ import com.example.pokerun.data.database.entity.BagEntity;
  */
 public class BagRepository {
     private static final String TAG = "BagRepository";
+    
+    /** Movimientos que se conservan sin plegar al compactar el libro */
+    static final int LEDGER_KEEP_RECENT = 200;
+    /** Solo se compacta por encima de este tamaño, para amortizar la reescritura */
+    static final int LEDGER_COMPACT_THRESHOLD = 2 * LEDGER_KEEP_RECENT;
+    
     private BagDao bagDao;
+    private final LedgerDao ledgerDao;
+    private final WriteQueue writeQueue;
+    private final RowCache<Integer, BagEntity> bagCache;
     
     public BagRepository(Context context) {
         PokeRunDatabase database = PokeRunDatabase.getDatabase(context);
         this.bagDao = database.bagDao();
-        ensureBagExistsSync();
+        this.ledgerDao = database.ledgerDao();
+        this.writeQueue = WriteQueue.getInstance(context);
+        this.bagCache = ReadCaches.getInstance(context).bag();
     }
     
     public LiveData<BagEntity> getBag() {
         return bagDao.getBag();
     }
     
-    public BagEntity getBagSync() {
-        try {
-            BagEntity bag = bagDao.getBagSync();
-            if (bag == null) {
-                bag = new BagEntity(0, 0);
-                bagDao.insert(bag);
-                bag = bagDao.getBagSync();
-            }
-            return bag;
-        } catch (Exception e) {
-            Log.e(TAG, "Error en getBagSync", e);
-            return null;
-        }
-    }
-    
-    // Método para asegurar que la mochila existe
-    private void ensureBagExistsSync() {
-        try {
-            BagEntity bag = bagDao.getBagSync();
-            if (bag == null) {
-                bagDao.insert(new BagEntity(0, 0));
-                Log.d(TAG, "Mochila creada");
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error en ensureBagExistsSync", e);
-        }
-    }
-    
-    // Métodos síncronos para añadir items
-    public void addEggsSync(int amount) {
-        try {
-            BagEntity bag = getBagSync();
-            if (bag != null) {
-                bag.eggs += amount;
-                bagDao.update(bag);
-                Log.d(TAG, "Añadidos " + amount + " huevos. Total: " + bag.eggs);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error en addEggsSync", e);
-        }
-    }
-    
-    public void addCandiesSync(int amount) {
-        try {
-            BagEntity bag = getBagSync();
-            if (bag != null) {
-                bag.rareCandies += amount;
-                bagDao.update(bag);
-                Log.d(TAG, "Añadidos " + amount + " caramelos. Total: " + bag.rareCandies);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error en addCandiesSync", e);
-        }
-    }
-    
-    // Métodos asíncronos
-    public void addEggs(int amount) {
-        new Thread(() -> addEggsSync(amount)).start();
+    /** Movimientos de la mochila, del más reciente al más antiguo */
+    public LiveData<List<BagLedgerEntity>> getLedger() {
+        return ledgerDao.getEntries();
     }
     
-    public void addCandies(int amount) {
-        new Thread(() -> addCandiesSync(amount)).start();
-    }
-    
-    // Método combinado para remover huevo y caramelo de forma atómica
-    public boolean removeEggAndCandy() {
-        try {
-            BagEntity bag = bagDao.getBagSync();
-            if (bag == null) {
-                Log.e(TAG, "removeEggAndCandy: bag es null");
-                return false;
-            }
-            
-            Log.d(TAG, "removeEggAndCandy: huevos=" + bag.eggs + ", caramelos=" + bag.rareCandies);
-            
-            if (bag.eggs > 0 && bag.rareCandies >= 1) {
-                bag.eggs -= 1;
-                bag.rareCandies -= 1;
-                bagDao.update(bag);
-                Log.d(TAG, "Huevo y caramelo removidos. Ahora: huevos=" + bag.eggs + ", caramelos=" + bag.rareCandies);
-                return true;
-            } else {
-                Log.d(TAG, "No hay suficientes items");
+    /**
+     * Lectura puntual de la mochila en el carril de lectura; si no existe la
+     * crea antes a través de la cola de escritura. Se sirve desde la caché
+     * mientras la tabla bag no cambie.
+     */
+    public TaskFuture<BagEntity> loadBag() {
+        return TaskFuture.supply(AppExecutors.getInstance().dbRead(), () -> {
+            try {
+                BagEntity bag = bagCache.get(ReadCaches.SINGLE_ROW);
+                if (bag == null) {
+                    writeQueue.addToBag(0, 0).get();
+                    bag = bagCache.get(ReadCaches.SINGLE_ROW);
+                }
+                return bag;
+            } catch (Exception e) {
+                Log.e(TAG, "Error leyendo la mochila", e);
+                return null;
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Error en removeEggAndCandy", e);
-        }
-        return false;
+        });
     }
     
-    public boolean removeEgg() {
-        try {
-            BagEntity bag = bagDao.getBagSync();
-            if (bag == null) {
-                return false;
-            }
-            if (bag.eggs > 0) {
-                bag.eggs -= 1;
-                bagDao.update(bag);
-                return true;
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error en removeEgg", e);
-        }
-        return false;
-    }
-    
-    public boolean removeCandies(int amount) {
-        try {
-            BagEntity bag = bagDao.getBagSync();
-            if (bag == null) {
-                return false;
-            }
-            if (bag.rareCandies >= amount) {
-                bag.rareCandies -= amount;
-                bagDao.update(bag);
-                return true;
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error en removeCandies", e);
-        }
-        return false;
+    /**
+     * Pliega los movimientos antiguos del libro si supera LEDGER_COMPACT_THRESHOLD
+     * @return futuro con el número de movimientos eliminados
+     */
+    public WriteFuture<Integer> compactLedger() {
+        return writeQueue.submit(() -> ledgerDao.getCount() > LEDGER_COMPACT_THRESHOLD
+            ? ledgerDao.compact(LEDGER_KEEP_RECENT, System.currentTimeMillis())
+            : 0);
     }
 }
-
@@ -0,0 +1,268 @@
+package com.example.pokerun.data.repository;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.SparseIntArray;
+
+import com.example.pokerun.data.catalog.CatalogVersion;
+import com.example.pokerun.data.catalog.Evolutions;
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.PokeRunDatabase;
+import com.example.pokerun.data.database.dao.CatalogDao;
+import com.example.pokerun.data.database.dao.PokedexDao;
+import com.example.pokerun.data.database.dao.SpeciesDao;
+import com.example.pokerun.data.database.entity.CatalogMetaEntity;
+import com.example.pokerun.data.database.entity.CatalogRowEntity;
+import com.example.pokerun.data.database.entity.PokedexEntryEntity;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+import com.example.pokerun.data.json.JsonCodecs;
+import com.example.pokerun.data.json.PokedexRecord;
+import com.example.pokerun.data.json.PokedexRecordCodec;
+import com.example.pokerun.data.write.WriteQueue;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.CRC32;
+
+/**
+ * Sembrador y sincronizador del catálogo de especies compartido por
+ * PokemonRepository y PokedexRepository.
+ * 
+ * VERSIONADO:
+ * La base de datos guarda en catalog_meta el hash de contenido del catálogo
+ * aplicado. Si coincide con CatalogVersion.CONTENT_HASH (generado en tiempo de
+ * build) no se hace nada más: el arranque normal cuesta una sola consulta.
+ * Si difiere (APK con catálogo nuevo, instalación antigua sin hash, o tablas
+ * vacías), se recorre pokedex.json y solo se reescriben las especies cuyo hash
+ * de fila ha cambiado respecto a catalog_rows. El coste de escritura es
+ * proporcional a las especies modificadas, no al catálogo completo.
+ * 
+ * Toda la sincronización es una única escritura de WriteQueue (una sola
+ * transacción del escritor único) y el hash de contenido se escribe al final:
+ * un sembrado interrumpido no deja marca y se repara en el siguiente arranque.
+ * Al pasar por la cola no compite por el bloqueo de escritura y sus commits
+ * avisan a los observadores de species (HatchSampler) y a las cachés de lectura.
+ * 
+ * Solo se escriben tablas de catálogo (species y las columnas de catálogo de
+ * pokedex_entries); owned_pokemon e isUnlocked se conservan. Las especies
+ * nuevas se insertan con OnConflictStrategy.IGNORE.
+ * 
+ * STREAMING:
+ * pokedex.json se lee una sola vez con PokedexRecordCodec (streaming, sin
+ * reflexión) sobre un registro y dos entidades reutilizables, por lo que la memoria es constante con
+ * independencia del tamaño del catálogo. Los datos evolutivos salen de las
+ * tablas generadas en tiempo de build (Evolutions).
+ * 
+ * @see PokeRunDatabase La base de datos semilla ya incluye el catálogo y su
+ *      hash, por lo que en instalaciones nuevas no hay nada que sincronizar.
+ */
+public class CatalogSeeder {
+    private static final String TAG = "CatalogSeeder";
+    private static final String POKEDEX_ASSET = "pokedex.json";
+    
+    /** Clave de catalog_meta con el hash de contenido aplicado */
+    public static final String META_CONTENT_HASH = "content_hash";
+    
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final char NULL_FIELD = '\u0000';
+    
+    private final Context context;
+    private final PokeRunDatabase database;
+    private final WriteQueue writeQueue;
+    
+    // Reutilizados para calcular el hash de cada fila sin asignaciones por especie
+    private final StringBuilder canonical = new StringBuilder(512);
+    private byte[] utf8 = new byte[512 * 3];
+    private final CRC32 crc = new CRC32();
+    
+    public CatalogSeeder(Context context) {
+        this.context = context.getApplicationContext();
+        this.database = PokeRunDatabase.getDatabase(context);
+        this.writeQueue = WriteQueue.getInstance(context);
+    }
+    
+    /**
+     * Sincroniza el catálogo solo si su hash de contenido no coincide con el del APK.
+     * Debe llamarse desde un hilo de fondo.
+     */
+    public synchronized void syncIfNeeded() {
+        String applied = database.catalogDao().getMeta(META_CONTENT_HASH);
+        if (CatalogVersion.CONTENT_HASH.equals(applied)) {
+            return;
+        }
+        try {
+            long start = SystemClock.elapsedRealtime();
+            int changed = sync();
+            Log.d(TAG, "Catálogo sincronizado (" + applied + " -> " + CatalogVersion.CONTENT_HASH + "): "
+                + changed + " especies actualizadas en " + (SystemClock.elapsedRealtime() - start) + " ms");
+        } catch (Exception e) {
+            Log.e(TAG, "Error sincronizando el catálogo", e);
+        }
+    }
+    
+    /**
+     * Recorre pokedex.json y aplica, en una sola escritura de WriteQueue, las
+     * especies cuyo hash ha cambiado. Espera al commit: no llamar desde el hilo
+     * principal ni desde el escritor.
+     * @return número de especies reescritas
+     */
+    public synchronized int sync() throws InterruptedException, ExecutionException {
+        return writeQueue.submit(() -> {
+            try (JsonReader reader = JsonCodecs.newReader(context.getAssets().open(POKEDEX_ASSET))) {
+                return streamInto(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Error leyendo " + POKEDEX_ASSET, e);
+            }
+        }).get();
+    }
+    
+    private int streamInto(JsonReader reader) throws IOException {
+        SpeciesDao speciesDao = database.speciesDao();
+        PokedexDao pokedexDao = database.pokedexDao();
+        CatalogDao catalogDao = database.catalogDao();
+        
+        SparseIntArray appliedHashes = new SparseIntArray();
+        for (CatalogRowEntity row : catalogDao.getRowHashes()) {
+            appliedHashes.put(row.pokedexNumber, row.rowHash);
+        }
+        
+        // Registro y entidades reutilizados para cada especie: sin asignaciones por especie
+        PokedexRecord record = new PokedexRecord();
+        PokedexEntryEntity entry = new PokedexEntryEntity();
+        SpeciesEntity species = new SpeciesEntity();
+        CatalogRowEntity rowHash = new CatalogRowEntity();
+        int changed = 0;
+        
+        reader.beginArray();
+        while (reader.hasNext()) {
+            PokedexRecordCodec.INSTANCE.read(reader, record);
+            
+            int number = record.number;
+            int hash = rowHash(record);
+            int index = appliedHashes.indexOfKey(number);
+            if (index >= 0 && appliedHashes.valueAt(index) == hash) {
+                continue;
+            }
+            
+            int stage = Evolutions.stage(number);
+            int evolvesFrom = Evolutions.evolvesFrom(number);
+            int evolvesTo = Evolutions.evolvesTo(number);
+            PokemonType type1 = PokemonType.fromName(record.type1);
+            PokemonType type2 = PokemonType.fromName(record.type2);
+            int typeMask = PokemonType.maskOf(type1, type2);
+            
+            // Filas existentes: solo columnas de catálogo, el estado del usuario se mantiene
+            speciesDao.updateSpeciesData(number, record.name, type1, type2, typeMask,
+                stage, evolvesFrom, evolvesTo);
+            pokedexDao.updateCatalogData(number, record.name, record.nameEn, type1, type2,
+                record.description, record.descriptionEn);
+            
+            // Especies nuevas (o tablas vacías): inserción ignorada si la fila ya existe
+            species.pokedexNumber = number;
+            species.name = record.name;
+            species.type1 = type1;
+            species.type2 = type2;
+            species.typeMask = typeMask;
+            species.evolutionStage = stage;
+            species.evolvesFrom = evolvesFrom;
+            species.evolvesTo = evolvesTo;
+            speciesDao.insert(species);
+            
+            entry.pokedexNumber = number;
+            entry.name = record.name;
+            entry.nameEn = record.nameEn;
+            entry.type1 = type1;
+            entry.type2 = type2;
+            entry.description = record.description;
+            entry.descriptionEn = record.descriptionEn;
+            entry.isUnlocked = false;
+            pokedexDao.insert(entry);
+            
+            rowHash.pokedexNumber = number;
+            rowHash.rowHash = hash;
+            catalogDao.putRowHash(rowHash);
+            changed++;
+        }
+        reader.endArray();
+        
+        catalogDao.putMeta(new CatalogMetaEntity(META_CONTENT_HASH, CatalogVersion.CONTENT_HASH));
+        return changed;
+    }
+    
+    /**
+     * CRC32 de los datos de catálogo de una especie, incluidos los evolutivos.
+     * 
+     * Debe producir exactamente el mismo valor que CatalogRows.rowHash en
+     * app/build.gradle.kts, que rellena catalog_rows en la base de datos semilla.
+     * Si ambos divergieran, el único efecto sería una resincronización completa
+     * (una sola vez) en el primer arranque. Los tipos entran con su nombre de
+     * pokedex.json, no con su código, así que el hash no depende de PokemonType.
+     */
+    int rowHash(PokedexRecord record) {
+        int number = record.number;
+        canonical.setLength(0);
+        canonical.append(number);
+        appendField(record.name);
+        appendField(record.nameEn);
+        appendField(record.type1);
+        appendField(record.type2);
+        appendField(record.description);
+        appendField(record.descriptionEn);
+        canonical.append(FIELD_SEPARATOR).append(Evolutions.stage(number))
+            .append(FIELD_SEPARATOR).append(Evolutions.evolvesFrom(number))
+            .append(FIELD_SEPARATOR).append(Evolutions.evolvesTo(number));
+        
+        // Hasta 3 bytes por char (un par sustituto ocupa 4 bytes en 2 chars)
+        if (utf8.length < canonical.length() * 3) {
+            utf8 = new byte[canonical.length() * 3];
+        }
+        int length = encodeUtf8(canonical, utf8);
+        crc.reset();
+        crc.update(utf8, 0, length);
+        return (int) crc.getValue();
+    }
+    
+    /**
+     * Codifica en UTF-8 sobre un buffer reutilizado, con los mismos bytes que
+     * String.getBytes(UTF_8): un sustituto desemparejado se escribe como '?'.
+     * @param out al menos 3 bytes por char de text
+     * @return bytes escritos
+     */
+    static int encodeUtf8(CharSequence text, byte[] out) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out[length++] = (byte) c;
+            } else if (c < 0x800) {
+                out[length++] = (byte) (0xC0 | (c >> 6));
+                out[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out[length++] = (byte) (0xF0 | (codePoint >> 18));
+                out[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[length++] = '?';
+            } else {
+                out[length++] = (byte) (0xE0 | (c >> 12));
+                out[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return length;
+    }
+    
+    private void appendField(String value) {
+        canonical.append(FIELD_SEPARATOR);
+        if (value == null) {
+            canonical.append(NULL_FIELD);
+        } else {
+            canonical.append(value);
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.example.pokerun.data.repository;
 
 import android.content.Context;
-import android.content.res.AssetManager;
+import android.util.Log;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
 
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.concurrent.TaskFuture;
+import com.example.pokerun.data.catalog.Evolutions;
+import com.example.pokerun.data.catalog.SpeciesCatalog;
 import com.example.pokerun.data.database.PokeRunDatabase;
+import com.example.pokerun.data.database.dao.EvolutionDao;
+import com.example.pokerun.data.database.dao.HatchDao;
 import com.example.pokerun.data.database.dao.PokemonDao;
-import com.example.pokerun.data.database.entity.PokemonEntity;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.example.pokerun.data.database.entity.SpeciesEntity;
+import com.example.pokerun.data.database.model.EvolutionResult;
+import com.example.pokerun.data.database.model.HatchResult;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+import com.example.pokerun.data.hatch.EggTier;
+import com.example.pokerun.data.hatch.HatchSampler;
+import com.example.pokerun.data.hatch.HatchWeights;
+import com.example.pokerun.data.write.WriteFuture;
+import com.example.pokerun.data.write.WriteQueue;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
 
 /**
  * Repositorio que gestiona el acceso a datos de Pokémon.
@@ -28,370 +40,219 @@ import java.util.Random;
  * subyacentes (Room Database, archivos JSON) de los ViewModels.
  * 
  * RESPONSABILIDADES:
- * 1. Carga inicial de datos desde pokedex.json a Room Database
- * 2. Gestión de Pokémon obtenidos por el usuario
- * 3. Selección aleatoria de Pokémon para apertura de huevos
- * 4. Sistema de evolución de Pokémon
+ * 1. Gestión de Pokémon obtenidos por el usuario
+ * 2. Selección aleatoria de Pokémon para apertura de huevos
+ * 3. Sistema de evolución de Pokémon
  * 
  * DECISIONES DE DISEÑO:
- * - OnConflictStrategy.IGNORE para preservar datos del usuario
- * - Evolución mediante actualización de atributos (no de ID)
- * - Filtrado de Pokémon por etapa evolutiva (solo base para huevos)
+ * - Catálogo (species) y colección (owned_pokemon) separados: la colección
+ *   se une con su especie y el catálogo se sortea en memoria (HatchSampler)
+ * - Evolución mediante cambio de especie del ejemplar (no de ID)
+ * - Filtrado de Pokémon por etapa evolutiva (solo base para huevos), en SQL
+ * - Apertura de huevos atómica: una transacción de HatchDao, también para N huevos
+ * - Candidatos de huevo sorteados en memoria (HatchSampler), sin recorrer la tabla,
+ *   con los pesos por especie y tipo de huevo de hatch_weights.json
+ * - Ramas evolutivas consultadas en el grafo en memoria (Evolutions); SQLite
+ *   solo interviene al escribir la evolución
  * 
  * @see PokemonDao DAO que ejecuta las consultas SQL
- * @see PokemonEntity Entidad que representa un Pokémon
+ * @see OwnedPokemon Pokémon obtenido con los datos de su especie
  * @see PokemonViewModel ViewModel que consume este repositorio
  */
 public class PokemonRepository {
+    private static final String TAG = "PokemonRepository";
+    
+    /** Caramelos raros que cuesta una evolución */
+    public static final int EVOLUTION_CANDY_COST = 1;
+    /** Máximo de huevos por apertura múltiple (acota el diálogo de resumen) */
+    public static final int MAX_BULK_HATCH = 50;
+    
+    private final Context appContext;
     private PokemonDao pokemonDao;
-    private Context context;
+    private final HatchDao hatchDao;
+    private final EvolutionDao evolutionDao;
+    private final WriteQueue writeQueue;
+    private final HatchSampler hatchSampler = new HatchSampler();
+    /** Pesos de aparición; se leen del asset en la primera reconstrucción */
+    private HatchWeights hatchWeights;
+    /** Salida de HatchSampler.draw(); solo la usa el hilo escritor */
+    private final int[] drawBuffer = new int[MAX_BULK_HATCH];
     
     public PokemonRepository(Context context) {
+        this.appContext = context.getApplicationContext();
         PokeRunDatabase database = PokeRunDatabase.getDatabase(context);
         this.pokemonDao = database.pokemonDao();
-        this.context = context;
-    }
-    
-    public LiveData<List<PokemonEntity>> getAllObtainedPokemon() {
-        return pokemonDao.getAllObtainedPokemon();
+        this.hatchDao = database.hatchDao();
+        this.evolutionDao = database.evolutionDao();
+        this.writeQueue = WriteQueue.getInstance(context);
+        // Las retiradas del sorteador se confirman o deshacen con la transacción
+        writeQueue.addCommitListener(hatchSampler::commit);
+        writeQueue.addRollbackListener(hatchSampler::rollback);
+        observeCatalog(database.getInvalidationTracker());
     }
     
-    public LiveData<PokemonEntity> getPokemonById(int id) {
-        return pokemonDao.getPokemonById(id);
+    /**
+     * Descarta el sorteador cuando cambia species (solo la escribe CatalogSeeder,
+     * a través de WriteQueue). El observador se registra en el carril de lectura,
+     * como el de RowCache, porque addObserver() sincroniza los triggers de Room.
+     */
+    private void observeCatalog(InvalidationTracker tracker) {
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("species") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                hatchSampler.invalidate();
+            }
+        };
+        AppExecutors.getInstance().dbRead().execute(() -> {
+            try {
+                tracker.addObserver(observer);
+            } catch (Exception e) {
+                Log.e(TAG, "No se pudo observar species; el sorteador no verá cambios de catálogo", e);
+            }
+        });
     }
     
-    public LiveData<Integer> getObtainedCount() {
-        return pokemonDao.getObtainedCount();
+    public LiveData<List<OwnedPokemon>> getAllObtainedPokemon() {
+        return pokemonDao.getAllObtainedPokemon();
     }
     
     /**
-     * Inicializa los datos de Pokémon solo si la base de datos está vacía.
-     * Esto preserva los Pokémon obtenidos por el usuario.
+     * Lectura puntual de los Pokémon obtenidos en el carril de lectura
      */
-    public void initializePokemon() {
-        new Thread(() -> {
-            // Solo cargar si la base de datos está vacía
-            int count = pokemonDao.getCount();
-            if (count == 0) {
-                loadPokemonFromJson();
-            }
-        }).start();
+    public TaskFuture<List<OwnedPokemon>> loadObtainedPokemon() {
+        return TaskFuture.supply(AppExecutors.getInstance().dbRead(), pokemonDao::getAllObtainedPokemonSync);
     }
     
-    private void loadPokemonFromJson() {
-        try {
-            AssetManager assetManager = context.getAssets();
-            InputStream inputStream = assetManager.open("pokedex.json");
-            int size = inputStream.available();
-            byte[] buffer = new byte[size];
-            inputStream.read(buffer);
-            inputStream.close();
-            String json = new String(buffer, StandardCharsets.UTF_8);
-            
-            Gson gson = new Gson();
-            Type listType = new TypeToken<List<PokedexData>>(){}.getType();
-            List<PokedexData> pokedexData = gson.fromJson(json, listType);
-            
-            if (pokedexData != null && !pokedexData.isEmpty()) {
-                List<PokemonEntity> pokemonList = new ArrayList<>();
-                for (PokedexData data : pokedexData) {
-                    int evolutionStage = calculateEvolutionStage(data.number);
-                    int evolvesFrom = getEvolvesFrom(data.number);
-                    int evolvesTo = getEvolvesTo(data.number);
-                    
-                    PokemonEntity pokemon = new PokemonEntity(
-                        data.number,
-                        data.number,
-                        data.name,
-                        data.type1,
-                        data.type2 != null && !data.type2.isEmpty() ? data.type2 : null,
-                        evolutionStage,
-                        evolvesFrom,
-                        evolvesTo
-                    );
-                    pokemonList.add(pokemon);
-                }
-                
-                if (!pokemonList.isEmpty()) {
-                    pokemonDao.insertAll(pokemonList);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    public LiveData<OwnedPokemon> getPokemonById(int id) {
+        return pokemonDao.getPokemonById(id);
     }
     
-    private int calculateEvolutionStage(int number) {
-        // Lógica simple: si tiene evolución previa, es etapa 1 o 2
-        int evolvesFrom = getEvolvesFrom(number);
-        if (evolvesFrom == 0) return 0; // Base
-        int evolvesFromStage = calculateEvolutionStage(evolvesFrom);
-        return evolvesFromStage + 1;
+    public LiveData<Integer> getObtainedCount() {
+        return pokemonDao.getObtainedCount();
     }
     
-    private int getEvolvesFrom(int number) {
-        // Implementación simplificada - debería cargarse desde evolutions.json
-        // Por ahora, valores hardcodeados para los más comunes
-        if (number == 2) return 1;
-        if (number == 3) return 2;
-        if (number == 5) return 4;
-        if (number == 6) return 5;
-        if (number == 8) return 7;
-        if (number == 9) return 8;
-        if (number == 11) return 10;
-        if (number == 12) return 11;
-        if (number == 14) return 13;
-        if (number == 15) return 14;
-        if (number == 17) return 16;
-        if (number == 18) return 17;
-        if (number == 20) return 19;
-        if (number == 22) return 21;
-        if (number == 24) return 23;
-        if (number == 26) return 25;
-        if (number == 28) return 27;
-        if (number == 30) return 29;
-        if (number == 31) return 30;
-        if (number == 33) return 32;
-        if (number == 34) return 33;
-        if (number == 36) return 35;
-        if (number == 38) return 37;
-        if (number == 40) return 39;
-        if (number == 42) return 41;
-        if (number == 44) return 43;
-        if (number == 45) return 44;
-        if (number == 47) return 46;
-        if (number == 49) return 48;
-        if (number == 51) return 50;
-        if (number == 53) return 52;
-        if (number == 55) return 54;
-        if (number == 57) return 56;
-        if (number == 59) return 58;
-        if (number == 61) return 60;
-        if (number == 62) return 61;
-        if (number == 64) return 63;
-        if (number == 65) return 64;
-        if (number == 67) return 66;
-        if (number == 68) return 67;
-        if (number == 70) return 69;
-        if (number == 71) return 70;
-        if (number == 73) return 72;
-        if (number == 75) return 74;
-        if (number == 76) return 75;
-        if (number == 78) return 77;
-        if (number == 80) return 79;
-        if (number == 82) return 81;
-        if (number == 85) return 84;
-        if (number == 87) return 86;
-        if (number == 89) return 88;
-        if (number == 91) return 90;
-        if (number == 93) return 92;
-        if (number == 94) return 93;
-        if (number == 97) return 96;
-        if (number == 99) return 98;
-        if (number == 101) return 100;
-        if (number == 103) return 102;
-        if (number == 105) return 104;
-        if (number == 110) return 109;
-        if (number == 112) return 111;
-        if (number == 117) return 116;
-        if (number == 119) return 118;
-        if (number == 121) return 120;
-        if (number == 130) return 129;
-        if (number == 134) return 133;
-        if (number == 135) return 133;
-        if (number == 136) return 133;
-        if (number == 139) return 138;
-        if (number == 141) return 140;
-        if (number == 148) return 147;
-        if (number == 149) return 148;
-        return 0;
+    /**
+     * Abre hasta count huevos de 5 km (como mucho MAX_BULK_HATCH) en una única
+     * transacción (HatchDao.hatchPicked): reserva los items, sortea en memoria
+     * especies distintas de primera etapa y las añade y desbloquea todas juntas.
+     * @return futuro con el resultado; hatched trae un Pokémon por huevo gastado
+     */
+    public WriteFuture<HatchResult> hatchEggs(int count) {
+        return hatchEggs(count, EggTier.STANDARD);
     }
     
-    private int getEvolvesTo(int number) {
-        // Implementación simplificada
-        if (number == 1) return 2;
-        if (number == 2) return 3;
-        if (number == 4) return 5;
-        if (number == 5) return 6;
-        if (number == 7) return 8;
-        if (number == 8) return 9;
-        if (number == 10) return 11;
-        if (number == 11) return 12;
-        if (number == 13) return 14;
-        if (number == 14) return 15;
-        if (number == 16) return 17;
-        if (number == 17) return 18;
-        if (number == 19) return 20;
-        if (number == 21) return 22;
-        if (number == 23) return 24;
-        if (number == 25) return 26;
-        if (number == 27) return 28;
-        if (number == 29) return 30;
-        if (number == 30) return 31;
-        if (number == 32) return 33;
-        if (number == 33) return 34;
-        if (number == 35) return 36;
-        if (number == 37) return 38;
-        if (number == 39) return 40;
-        if (number == 41) return 42;
-        if (number == 43) return 44;
-        if (number == 44) return 45;
-        if (number == 46) return 47;
-        if (number == 48) return 49;
-        if (number == 50) return 51;
-        if (number == 52) return 53;
-        if (number == 54) return 55;
-        if (number == 56) return 57;
-        if (number == 58) return 59;
-        if (number == 60) return 61;
-        if (number == 61) return 62;
-        if (number == 63) return 64;
-        if (number == 64) return 65;
-        if (number == 66) return 67;
-        if (number == 67) return 68;
-        if (number == 69) return 70;
-        if (number == 70) return 71;
-        if (number == 72) return 73;
-        if (number == 74) return 75;
-        if (number == 75) return 76;
-        if (number == 77) return 78;
-        if (number == 79) return 80;
-        if (number == 81) return 82;
-        if (number == 84) return 85;
-        if (number == 86) return 87;
-        if (number == 88) return 89;
-        if (number == 90) return 91;
-        if (number == 92) return 93;
-        if (number == 93) return 94;
-        if (number == 96) return 97;
-        if (number == 98) return 99;
-        if (number == 100) return 101;
-        if (number == 102) return 103;
-        if (number == 104) return 105;
-        if (number == 109) return 110;
-        if (number == 111) return 112;
-        if (number == 116) return 117;
-        if (number == 118) return 119;
-        if (number == 120) return 121;
-        if (number == 129) return 130;
-        if (number == 133) return 134; // Eevee puede evolucionar a varios
-        if (number == 138) return 139;
-        if (number == 140) return 141;
-        if (number == 147) return 148;
-        if (number == 148) return 149;
-        return 0;
+    /**
+     * Como hatchEggs(int), gastando huevos del tipo indicado y sorteando con
+     * sus pesos (los de 10 km salen de bag.longEggs)
+     */
+    public WriteFuture<HatchResult> hatchEggs(int count, EggTier tier) {
+        int capped = Math.min(count, MAX_BULK_HATCH);
+        return writeQueue.submit(() -> hatchDao.hatchPicked(tier, capped, System.currentTimeMillis(),
+            picked -> pickFromSampler(tier, picked)));
     }
     
-    public PokemonEntity getRandomUnobtainedPokemon() {
-        try {
-            List<PokemonEntity> unobtained = pokemonDao.getUnobtainedPokemon();
-            if (unobtained == null || unobtained.isEmpty()) {
-                return null;
-            }
-            
-            // Filtrar solo Pokémon de primera etapa evolutiva (evolutionStage == 0)
-            List<PokemonEntity> baseStagePokemon = new ArrayList<>();
-            for (PokemonEntity pokemon : unobtained) {
-                if (pokemon.evolutionStage == 0) {
-                    baseStagePokemon.add(pokemon);
-                }
-            }
-            
-            if (baseStagePokemon.isEmpty()) {
-                return null;
+    /**
+     * Elige los candidatos con HatchSampler (pesos de {@code tier}),
+     * reconstruyéndolo si hace falta.
+     * Se ejecuta dentro de la transacción de hatchPicked; si alguna especie
+     * sorteada ya no es candidata en la tabla, se descarta el sorteador y se
+     * elige en SQL, de modo que un conjunto desfasado nunca da un resultado
+     * incorrecto (en ese caso, sin pesos).
+     */
+    private List<SpeciesEntity> pickFromSampler(EggTier tier, int count) {
+        if (!hatchSampler.isLoaded()) {
+            hatchSampler.rebuild(hatchDao.getHatchCandidates(), loadHatchWeights());
+        }
+        int drawn = hatchSampler.draw(tier, count, drawBuffer);
+        if (drawn == 0) {
+            // Vacío: se confirma en SQL (no cuesta nada si de verdad no queda ninguno)
+            List<SpeciesEntity> remaining = hatchDao.pickHatchCandidates(count);
+            if (!remaining.isEmpty()) {
+                Log.w(TAG, "Sorteador de huevos desfasado; se reconstruirá");
+                hatchSampler.invalidate();
             }
-            
-            Random random = new Random();
-            return baseStagePokemon.get(random.nextInt(baseStagePokemon.size()));
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            return remaining;
+        }
+        List<Integer> numbers = new ArrayList<>(drawn);
+        for (int i = 0; i < drawn; i++) {
+            numbers.add(drawBuffer[i]);
         }
+        List<SpeciesEntity> picked = hatchDao.getPickedCandidates(numbers);
+        if (picked.size() != drawn) {
+            Log.w(TAG, "Sorteador de huevos desfasado; se reconstruirá");
+            hatchSampler.invalidate();
+            return hatchDao.pickHatchCandidates(count);
+        }
+        return picked;
     }
     
-    public void markPokemonAsObtained(int pokemonId) {
-        new Thread(() -> {
-            pokemonDao.markAsObtained(pokemonId, System.currentTimeMillis());
-        }).start();
+    private HatchWeights loadHatchWeights() {
+        if (hatchWeights == null) {
+            try {
+                hatchWeights = HatchWeights.read(appContext.getAssets().open(HatchWeights.ASSET));
+            } catch (IOException e) {
+                Log.e(TAG, "Error leyendo " + HatchWeights.ASSET + "; se usan pesos uniformes", e);
+                hatchWeights = HatchWeights.uniform();
+            }
+        }
+        return hatchWeights;
     }
     
     /**
-     * Evoluciona un Pokémon obtenido a su siguiente forma evolutiva.
-     * En lugar de cambiar el ID (que causaría conflictos), actualizamos los datos del Pokémon.
+     * Evoluciona un Pokémon obtenido a la forma elegida.
+     * Solo cambia la especie del ejemplar (mismo ID); el catálogo no se toca.
+     * Caramelo, evolución y desbloqueo en la Pokédex son un único commit (EvolutionDao).
+     * La forma anterior puede volver a salir de un huevo, así que el sorteador
+     * se reconstruye en la siguiente apertura.
      * @param pokemonId ID del Pokémon a evolucionar
-     * @return true si la evolución fue exitosa, false en caso contrario
+     * @param targetNumber forma de destino, una de las ramas de Evolutions.branch(especie, i)
+     * @return futuro con el resultado, que incluye el nombre de la evolución
      */
-    public boolean evolvePokemon(int pokemonId) {
-        try {
-            // Obtener el Pokémon actual
-            PokemonEntity currentPokemon = pokemonDao.getPokemonByIdSync(pokemonId);
-            if (currentPokemon == null || currentPokemon.evolvesTo == 0) {
-                return false;
-            }
-            
-            // Obtener los datos del Pokémon evolucionado
-            PokemonEntity evolvedPokemon = pokemonDao.getPokemonByPokedexNumber(currentPokemon.evolvesTo);
-            if (evolvedPokemon == null) {
-                return false;
+    public WriteFuture<EvolutionResult> evolvePokemon(int pokemonId, int targetNumber) {
+        return writeQueue.submit(() -> {
+            EvolutionResult result = evolutionDao.evolve(pokemonId, targetNumber,
+                EVOLUTION_CANDY_COST, System.currentTimeMillis());
+            if (result.status == EvolutionResult.Status.EVOLVED) {
+                hatchSampler.invalidate();
             }
-            
-            // Actualizar el Pokémon actual con los datos de su evolución
-            pokemonDao.updatePokemonEvolution(
-                pokemonId,
-                evolvedPokemon.pokedexNumber,
-                evolvedPokemon.name,
-                evolvedPokemon.type1,
-                evolvedPokemon.type2,
-                evolvedPokemon.evolutionStage,
-                evolvedPokemon.evolvesFrom,
-                evolvedPokemon.evolvesTo
-            );
-            
-            return true;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        }
+            return result;
+        });
     }
     
     /**
-     * Obtiene el nombre del Pokémon evolucionado
+     * Nombres de las posibles evoluciones de una especie, en el mismo orden que
+     * Evolutions.branch(). Las ramas salen del grafo en memoria y los
+     * nombres del SpeciesCatalog mapeado: no se consulta SQLite. Solo se pasa
+     * por el carril de lectura por si el catálogo aún no está abierto.
+     * @return futuro con un array vacío si la especie no evoluciona
      */
-    public String getEvolvedPokemonName(int pokemonId) {
-        try {
-            PokemonEntity currentPokemon = pokemonDao.getPokemonByIdSync(pokemonId);
-            if (currentPokemon == null || currentPokemon.evolvesTo == 0) {
-                return null;
-            }
-            PokemonEntity evolvedPokemon = pokemonDao.getPokemonByPokedexNumber(currentPokemon.evolvesTo);
-            return evolvedPokemon != null ? evolvedPokemon.name : null;
-        } catch (Exception e) {
-            return null;
-        }
+    public TaskFuture<String[]> loadEvolutionNames(int pokedexNumber, boolean english) {
+        return TaskFuture.supply(AppExecutors.getInstance().dbRead(),
+            () -> evolutionNames(SpeciesCatalog.get(appContext), pokedexNumber, english));
     }
     
     /**
-     * Verifica si un Pokémon puede evolucionar
+     * Igual que loadEvolutionNames() pero sin salir del hilo que llama
+     * @return null si el catálogo aún no está abierto
      */
-    public boolean canEvolve(int pokemonId) {
-        try {
-            PokemonEntity pokemon = pokemonDao.getPokemonByIdSync(pokemonId);
-            return pokemon != null && pokemon.evolvesTo > 0;
-        } catch (Exception e) {
-            return false;
-        }
+    @Nullable
+    public String[] peekEvolutionNames(int pokedexNumber, boolean english) {
+        SpeciesCatalog catalog = SpeciesCatalog.peek();
+        return catalog != null ? evolutionNames(catalog, pokedexNumber, english) : null;
     }
     
-    private static class PokedexData {
-        int number;
-        String name;
-        String nameEn;
-        String type1;
-        String type2;
-        String description;
-        String descriptionEn;
+    /**
+     * Nombres de las siguientes etapas de la especie a partir del catálogo
+     * @return null si alguna forma no está en el catálogo
+     */
+    @Nullable
+    private static String[] evolutionNames(SpeciesCatalog catalog, int pokedexNumber, boolean english) {
+        String[] names = new String[Evolutions.branchCount(pokedexNumber)];
+        for (int i = 0; i < names.length; i++) {
+            int stage = Evolutions.branch(pokedexNumber, i);
+            if (!catalog.contains(stage)) return null;
+            names[i] = catalog.name(stage, english);
+        }
+        return names;
     }
 }
-
@@ -4,51 +4,66 @@ import android.content.Context;
 
 import androidx.lifecycle.LiveData;
 
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.concurrent.TaskFuture;
+import com.example.pokerun.data.cache.ReadCaches;
+import com.example.pokerun.data.cache.RowCache;
 import com.example.pokerun.data.database.PokeRunDatabase;
 import com.example.pokerun.data.database.dao.UserSettingsDao;
 import com.example.pokerun.data.database.entity.UserSettingsEntity;
+import com.example.pokerun.data.preferences.SettingsMirror;
+import com.example.pokerun.data.write.WriteFuture;
+import com.example.pokerun.data.write.WriteQueue;
 
 public class UserSettingsRepository {
+    private final Context context;
     private UserSettingsDao userSettingsDao;
+    private final WriteQueue writeQueue;
+    private final RowCache<Integer, UserSettingsEntity> settingsCache;
     
     public UserSettingsRepository(Context context) {
+        this.context = context.getApplicationContext();
         PokeRunDatabase database = PokeRunDatabase.getDatabase(context);
         this.userSettingsDao = database.userSettingsDao();
-        initializeSettings();
+        this.writeQueue = WriteQueue.getInstance(context);
+        this.settingsCache = ReadCaches.getInstance(context).settings();
     }
     
     public LiveData<UserSettingsEntity> getSettings() {
         return userSettingsDao.getSettings();
     }
     
-    public UserSettingsEntity getSettingsSync() {
-        return userSettingsDao.getSettingsSync();
+    /**
+     * Lectura puntual de la configuración, servida desde la caché mientras
+     * la tabla user_settings no cambie
+     */
+    public TaskFuture<UserSettingsEntity> loadSettings() {
+        return TaskFuture.supply(AppExecutors.getInstance().dbRead(),
+            () -> settingsCache.get(ReadCaches.SINGLE_ROW));
     }
     
-    private void initializeSettings() {
-        new Thread(() -> {
-            UserSettingsEntity settings = userSettingsDao.getSettingsSync();
-            if (settings == null) {
-                userSettingsDao.insert(new UserSettingsEntity("es", "km"));
-            }
-        }).start();
+    /**
+     * Idioma actual leído del espejo en SharedPreferences (sin acceso a Room)
+     */
+    public String getLanguage() {
+        return SettingsMirror.getLanguage(context);
     }
     
-    public void updateLanguage(String language) {
-        new Thread(() -> {
-            userSettingsDao.updateLanguage(language);
-        }).start();
+    /**
+     * Unidad de distancia actual leída del espejo en SharedPreferences (sin acceso a Room)
+     */
+    public String getDistanceUnit() {
+        return SettingsMirror.getDistanceUnit(context);
     }
     
-    public void updateDistanceUnit(String unit) {
-        new Thread(() -> {
-            userSettingsDao.updateDistanceUnit(unit);
-        }).start();
+    public WriteFuture<Void> updateLanguage(String language) {
+        // El espejo se actualiza antes para que una Activity recreada ya lo vea
+        SettingsMirror.setLanguage(context, language);
+        return writeQueue.execute(() -> userSettingsDao.updateLanguage(language));
+    }
+    
+    public WriteFuture<Void> updateDistanceUnit(String unit) {
+        SettingsMirror.setDistanceUnit(context, unit);
+        return writeQueue.execute(() -> userSettingsDao.updateDistanceUnit(unit));
     }
 }
-
-
-
-
-
-
@@ -5,17 +5,26 @@ import android.content.Context;
 import androidx.lifecycle.LiveData;
 
 import com.example.pokerun.data.database.PokeRunDatabase;
+import com.example.pokerun.data.database.dao.LedgerDao;
 import com.example.pokerun.data.database.dao.WorkoutDao;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
 import com.example.pokerun.data.database.entity.WorkoutEntity;
+import com.example.pokerun.data.hatch.EggTier;
+import com.example.pokerun.data.write.WriteFuture;
+import com.example.pokerun.data.write.WriteQueue;
 
 import java.util.List;
 
 public class WorkoutRepository {
     private WorkoutDao workoutDao;
+    private final LedgerDao ledgerDao;
+    private final WriteQueue writeQueue;
     
     public WorkoutRepository(Context context) {
         PokeRunDatabase database = PokeRunDatabase.getDatabase(context);
         this.workoutDao = database.workoutDao();
+        this.ledgerDao = database.ledgerDao();
+        this.writeQueue = WriteQueue.getInstance(context);
     }
     
     public LiveData<List<WorkoutEntity>> getAllWorkouts() {
@@ -30,10 +39,33 @@ public class WorkoutRepository {
         return workoutDao.getTotalDistance();
     }
     
-    public void insertWorkout(WorkoutEntity workout) {
-        new Thread(() -> {
-            workoutDao.insert(workout);
-        }).start();
+    /**
+     * Guarda el entrenamiento y anota sus recompensas en el libro de la mochila
+     * en una sola escritura.
+     * 
+     * Es idempotente: si ya existe un entrenamiento con el mismo inicio se
+     * reutiliza su id y no se anota nada. La recompensa solo se otorga al
+     * insertar el entrenamiento, no por la búsqueda de LedgerDao.countWorkoutGrants:
+     * la compactación del libro funde esas filas y un guardado repetido de un
+     * entrenamiento compactado volvería a pagar huevos y caramelos.
+     * 
+     * Los huevos ganados son del mejor tipo que alcanza la distancia
+     * (EggTier.forDistanceKm): de 10 km a partir de 10 km, si no de 5 km.
+     * @return futuro con el id del entrenamiento
+     */
+    public WriteFuture<Long> saveWorkout(WorkoutEntity workout) {
+        return writeQueue.submit(() -> {
+            Long existing = workoutDao.getIdByStartTime(workout.startTime);
+            if (existing != null) {
+                return existing;
+            }
+            long id = workoutDao.insert(workout);
+            if (workout.eggsEarned > 0 || workout.candiesEarned > 0) {
+                ledgerDao.record(BagLedgerEntity.workoutReward(id, EggTier.forDistanceKm(workout.distance),
+                    workout.eggsEarned, workout.candiesEarned, System.currentTimeMillis()));
+            }
+            return id;
+        });
     }
 }
 
@@ -0,0 +1,42 @@
+package com.example.pokerun.data.write;
+
+import com.example.pokerun.concurrent.TaskFuture;
+
+/**
+ * Resultado de una escritura encolada en WriteQueue.
+ * 
+ * Se completa cuando la transacción que contiene la escritura ha hecho
+ * commit (o ha fallado). Las escrituras no se pueden cancelar una vez
+ * encoladas.
+ */
+public final class WriteFuture<T> extends TaskFuture<T> {
+    
+    private final WriteQueue owner;
+    
+    WriteFuture(WriteQueue owner) {
+        this.owner = owner;
+    }
+    
+    @Override
+    protected void complete(T value) {
+        super.complete(value);
+    }
+    
+    @Override
+    protected void fail(Throwable cause) {
+        super.fail(cause);
+    }
+    
+    /**
+     * Además de la comprobación del hilo principal de TaskFuture: esperar
+     * desde el hilo escritor bloquearía la cola para siempre, porque la
+     * escritura esperada no puede ejecutarse hasta que termine la actual.
+     */
+    @Override
+    protected void checkCanBlock() {
+        super.checkCanBlock();
+        if (!isDone() && owner.isWriterThread()) {
+            throw new IllegalStateException("No se puede esperar una escritura desde el hilo escritor");
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.pokerun.data.write;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.data.database.PokeRunDatabase;
+import com.example.pokerun.data.database.dao.LedgerDao;
+import com.example.pokerun.data.database.entity.BagLedgerEntity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola de escritura única de la base de datos.
+ * 
+ * PATRÓN MVVM - CAPA MODEL:
+ * Los repositorios ya no escriben en Room directamente: encolan cada
+ * modificación aquí y reciben un WriteFuture que se completa tras el commit.
+ * 
+ * FUNCIONAMIENTO:
+ * - Un único escritor: la cola se drena en el carril AppExecutors.dbWrite(),
+ *   que tiene un solo hilo, así que no hay contención por el bloqueo de
+ *   escritura de SQLite.
+ * - Commit en grupo: cada drenado toma hasta MAX_BATCH escrituras pendientes
+ *   y las aplica en una sola transacción (un fsync en lugar de uno por
+ *   escritura). Lo que llega mientras tanto forma el siguiente lote.
+ * - Fusión: los incrementos consecutivos de la mochila (addToBag) se suman y
+ *   se aplican con un único UPDATE. Una escritura genérica intermedia corta
+ *   la fusión, de modo que siempre ve los incrementos anteriores.
+ * 
+ * ERRORES:
+ * Si el lote falla, la transacción se revierte y cada escritura se reintenta
+ * en su propia transacción; así una escritura defectuosa solo falla su
+ * propio WriteFuture.
+ * 
+ * OYENTES DE COMMIT:
+ * addCommitListener() registra un aviso que corre en el hilo escritor tras
+ * cada commit y antes de completar sus WriteFuture. La instancia de la app
+ * registra así InvalidationTracker.refreshVersionsSync(), de modo que los
+ * observadores de Room (cachés de lectura, HatchSampler) ven el commit antes
+ * que quien espera el futuro. addRollbackListener() avisa, también en el hilo
+ * escritor, cada vez que se revierte una transacción, para que quien guarde
+ * estado en memoria ligado a una escritura pueda deshacerlo.
+ * 
+ * @see WriteFuture
+ */
+public final class WriteQueue {
+    private static final String TAG = "WriteQueue";
+    
+    /** Escrituras como máximo por transacción, para no retener el bloqueo demasiado */
+    static final int MAX_BATCH = 64;
+    
+    /** Escritura genérica; se ejecuta dentro de la transacción del lote */
+    public interface Write<T> {
+        T apply();
+    }
+    
+    /** Ejecuta un bloque dentro de una transacción (RoomDatabase.runInTransaction) */
+    public interface TransactionRunner {
+        void runInTransaction(@NonNull Runnable body);
+    }
+    
+    /** Aplica un incremento ya fusionado de la mochila */
+    public interface BagDeltaSink {
+        void apply(int eggs, int candies);
+    }
+    
+    private static volatile WriteQueue INSTANCE;
+    
+    private final TransactionRunner transactions;
+    private final BagDeltaSink bagSink;
+    private final Executor writer;
+    
+    private final Object lock = new Object();
+    private final ArrayDeque<Pending<?>> pending = new ArrayDeque<>();
+    private boolean drainScheduled;
+    private volatile Thread writerThread;
+    private final List<Runnable> commitListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> rollbackListeners = new CopyOnWriteArrayList<>();
+    
+    private final AtomicLong submittedWrites = new AtomicLong();
+    private final AtomicLong committedTransactions = new AtomicLong();
+    private final AtomicLong bagUpdates = new AtomicLong();
+    
+    public WriteQueue(@NonNull TransactionRunner transactions, @NonNull BagDeltaSink bagSink,
+                      @NonNull Executor writer) {
+        this.transactions = transactions;
+        this.bagSink = bagSink;
+        this.writer = writer;
+    }
+    
+    public static WriteQueue getInstance(final Context context) {
+        if (INSTANCE == null) {
+            synchronized (WriteQueue.class) {
+                if (INSTANCE == null) {
+                    PokeRunDatabase database = PokeRunDatabase.getDatabase(context);
+                    LedgerDao ledgerDao = database.ledgerDao();
+                    // El incremento fusionado se anota en bag_ledger y actualiza el
+                    // saldo; si la mochila aún no existe se crea con él
+                    INSTANCE = new WriteQueue(database::runInTransaction, (eggs, candies) ->
+                        ledgerDao.record(BagLedgerEntity.adjustment(eggs, candies, System.currentTimeMillis())),
+                        AppExecutors.getInstance().dbWrite());
+                    // Los observadores del InvalidationTracker ven cada commit antes
+                    // de que se completen sus futuros (leer lo escrito)
+                    INSTANCE.addCommitListener(database.getInvalidationTracker()::refreshVersionsSync);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+    
+    /** Encola una escritura que devuelve un resultado */
+    @NonNull
+    public <T> WriteFuture<T> submit(@NonNull Write<T> write) {
+        Pending<T> entry = new Pending<>(new WriteFuture<>(this), write, 0, 0);
+        enqueue(entry);
+        return entry.future;
+    }
+    
+    /** Encola una escritura sin resultado */
+    @NonNull
+    public WriteFuture<Void> execute(@NonNull Runnable write) {
+        return submit(() -> {
+            write.run();
+            return null;
+        });
+    }
+    
+    /** Encola un incremento de la mochila, fusionable con los adyacentes */
+    @NonNull
+    public WriteFuture<Void> addToBag(int eggs, int candies) {
+        Pending<Void> entry = new Pending<>(new WriteFuture<>(this), null, eggs, candies);
+        enqueue(entry);
+        return entry.future;
+    }
+    
+    /** Registra un aviso que se ejecuta tras cada commit, antes de completar los futuros */
+    public void addCommitListener(@NonNull Runnable listener) {
+        commitListeners.add(listener);
+    }
+    
+    /** Registra un aviso que se ejecuta tras revertir una transacción */
+    public void addRollbackListener(@NonNull Runnable listener) {
+        rollbackListeners.add(listener);
+    }
+    
+    /** @return escrituras encoladas desde la creación de la cola */
+    public long getSubmittedWrites() {
+        return submittedWrites.get();
+    }
+    
+    /** @return transacciones con commit (incluye los reintentos individuales) */
+    public long getCommittedTransactions() {
+        return committedTransactions.get();
+    }
+    
+    /** @return UPDATE de la mochila ejecutados tras fusionar incrementos */
+    public long getBagUpdates() {
+        return bagUpdates.get();
+    }
+    
+    boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+    
+    private void enqueue(Pending<?> entry) {
+        submittedWrites.incrementAndGet();
+        synchronized (lock) {
+            pending.add(entry);
+            if (drainScheduled) return;
+            drainScheduled = true;
+        }
+        writer.execute(this::drain);
+    }
+    
+    /**
+     * Toma un lote y lo aplica. Si queda trabajo se vuelve a programar en el
+     * carril en lugar de iterar, para no acaparar el hilo escritor.
+     */
+    private void drain() {
+        writerThread = Thread.currentThread();
+        List<Pending<?>> batch = new ArrayList<>();
+        boolean more;
+        synchronized (lock) {
+            while (batch.size() < MAX_BATCH && !pending.isEmpty()) {
+                batch.add(pending.poll());
+            }
+            more = !pending.isEmpty();
+            drainScheduled = more;
+        }
+        try {
+            commit(batch);
+        } finally {
+            if (more) {
+                writer.execute(this::drain);
+            }
+        }
+    }
+    
+    private void commit(List<Pending<?>> batch) {
+        try {
+            transactions.runInTransaction(() -> applyBatch(batch));
+            committedTransactions.incrementAndGet();
+        } catch (RuntimeException e) {
+            notifyListeners(rollbackListeners);
+            if (batch.size() == 1) {
+                batch.get(0).future.fail(e);
+                return;
+            }
+            Log.w(TAG, "Lote de " + batch.size() + " escrituras revertido; reintentando una a una", e);
+            for (Pending<?> entry : batch) {
+                try {
+                    transactions.runInTransaction(() -> applyBatch(Collections.singletonList(entry)));
+                    committedTransactions.incrementAndGet();
+                    notifyListeners(commitListeners);
+                    entry.completeAfterCommit();
+                } catch (RuntimeException single) {
+                    notifyListeners(rollbackListeners);
+                    Log.e(TAG, "Error en una escritura encolada", single);
+                    entry.future.fail(single);
+                }
+            }
+            return;
+        }
+        // Solo tras el commit los resultados son visibles para otros lectores
+        notifyListeners(commitListeners);
+        for (Pending<?> entry : batch) {
+            entry.completeAfterCommit();
+        }
+    }
+    
+    private void notifyListeners(List<Runnable> listeners) {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Error en un oyente de transacción", e);
+            }
+        }
+    }
+    
+    private void applyBatch(List<Pending<?>> batch) {
+        int eggs = 0;
+        int candies = 0;
+        boolean bagDirty = false;
+        for (Pending<?> entry : batch) {
+            if (entry.write == null) {
+                eggs += entry.eggs;
+                candies += entry.candies;
+                bagDirty = true;
+                continue;
+            }
+            if (bagDirty) {
+                applyBagDelta(eggs, candies);
+                eggs = 0;
+                candies = 0;
+                bagDirty = false;
+            }
+            entry.apply();
+        }
+        if (bagDirty) {
+            applyBagDelta(eggs, candies);
+        }
+    }
+    
+    private void applyBagDelta(int eggs, int candies) {
+        bagSink.apply(eggs, candies);
+        bagUpdates.incrementAndGet();
+    }
+    
+    private static final class Pending<T> {
+        final WriteFuture<T> future;
+        final Write<T> write;
+        final int eggs;
+        final int candies;
+        T result;
+        
+        Pending(WriteFuture<T> future, Write<T> write, int eggs, int candies) {
+            this.future = future;
+            this.write = write;
+            this.eggs = eggs;
+            this.candies = candies;
+        }
+        
+        void apply() {
+            result = write.apply();
+        }
+        
+        void completeAfterCommit() {
+            future.complete(result);
+        }
+    }
+}
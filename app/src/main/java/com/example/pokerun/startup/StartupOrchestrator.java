@@ -0,0 +1,268 @@
+package com.example.pokerun.startup;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Orquestador de la inicialización de la aplicación.
+ * 
+ * Recibe un conjunto de StartupTask con sus dependencias declaradas
+ * (db-open -> settings -> locale, db-open -> catalog, ...) y las ejecuta en
+ * cuanto sus dependencias terminan:
+ * - Tareas bloqueantes: en el hilo principal, dentro de start()
+ * - Resto: en el Executor recibido, normalmente el carril
+ *   AppExecutors.dbRead(), porque el arranque es mayormente E/S de disco.
+ *   Así comparte hilos, métricas de cola y espera (LaneStats) con el resto
+ *   de la app en lugar de crear un pool propio.
+ * 
+ * El grafo se valida al construirlo (nombres duplicados, dependencias
+ * desconocidas y ciclos lanzan IllegalArgumentException). Si una tarea falla
+ * se registra el error y sus dependientes se ejecutan igualmente: cada tarea
+ * mantiene su propio manejo de errores, como hacía el arranque secuencial.
+ * 
+ * SEÑALES DE DISPONIBILIDAD:
+ * readiness(nombre) devuelve un LiveData que pasa a true cuando la tarea
+ * termina, de modo que la UI puede esperar, por ejemplo, a que el catálogo
+ * esté sincronizado antes de mostrar la Pokédex.
+ * 
+ * TIEMPOS:
+ * Cada tarea registra cuándo quedó lista, cuánto esperó en cola y cuánto
+ * duró. Al terminar todas se escribe un resumen en logcat (tag
+ * StartupOrchestrator) para detectar regresiones en el arranque en frío.
+ * 
+ * @see StartupTask
+ */
+public final class StartupOrchestrator {
+    private static final String TAG = "StartupOrchestrator";
+    
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final BlockingQueue<Node> mainQueue = new LinkedBlockingQueue<>();
+    private final AtomicInteger remaining;
+    private final List<TaskTiming> timings = Collections.synchronizedList(new ArrayList<>());
+    private final MutableLiveData<Boolean> finished = new MutableLiveData<>(false);
+    private final Executor executor;
+    
+    private int blockingRemaining;
+    private long startedAt;
+    
+    /**
+     * @param tasks grafo de tareas de arranque
+     * @param executor carril donde se ejecutan las tareas no bloqueantes
+     */
+    public StartupOrchestrator(@NonNull List<StartupTask> tasks, @NonNull Executor executor) {
+        this.executor = executor;
+        for (StartupTask task : tasks) {
+            if (nodes.put(task.getName(), new Node(task)) != null) {
+                throw new IllegalArgumentException("Tarea de arranque duplicada: " + task.getName());
+            }
+            if (task.isBlocking()) {
+                blockingRemaining++;
+            }
+        }
+        for (Node node : nodes.values()) {
+            for (String dependency : node.task.getDependencies()) {
+                Node parent = nodes.get(dependency);
+                if (parent == null) {
+                    throw new IllegalArgumentException(
+                        "La tarea " + node.task.getName() + " depende de una tarea desconocida: " + dependency);
+                }
+                parent.dependents.add(node);
+            }
+        }
+        checkAcyclic();
+        
+        remaining = new AtomicInteger(nodes.size());
+    }
+    
+    /**
+     * Lanza el grafo. Ejecuta las tareas bloqueantes en el hilo actual y retorna
+     * cuando han terminado; las demás continúan en segundo plano.
+     */
+    @MainThread
+    public void start() {
+        startedAt = SystemClock.elapsedRealtime();
+        for (Node node : nodes.values()) {
+            if (node.pending.get() == 0) {
+                dispatch(node);
+            }
+        }
+        
+        // Ejecuta en este hilo las tareas bloqueantes según se desbloquean
+        while (blockingRemaining > 0) {
+            try {
+                execute(mainQueue.take());
+                blockingRemaining--;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Log.e(TAG, "Arranque interrumpido esperando tareas bloqueantes", e);
+                return;
+            }
+        }
+        Log.d(TAG, "Tareas bloqueantes completadas en " + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+    }
+    
+    /**
+     * @return LiveData que pasa a true cuando la tarea indicada ha terminado
+     */
+    @NonNull
+    public LiveData<Boolean> readiness(@NonNull String taskName) {
+        Node node = nodes.get(taskName);
+        if (node == null) {
+            throw new IllegalArgumentException("Tarea de arranque desconocida: " + taskName);
+        }
+        return node.done;
+    }
+    
+    /** @return LiveData que pasa a true cuando todas las tareas han terminado */
+    @NonNull
+    public LiveData<Boolean> isFinished() {
+        return finished;
+    }
+    
+    /** @return tiempos de las tareas terminadas, en orden de finalización */
+    @NonNull
+    public List<TaskTiming> getTimings() {
+        synchronized (timings) {
+            return new ArrayList<>(timings);
+        }
+    }
+    
+    private void dispatch(Node node) {
+        node.readyAt = SystemClock.elapsedRealtime();
+        if (node.task.isBlocking()) {
+            mainQueue.add(node);
+        } else {
+            executor.execute(() -> execute(node));
+        }
+    }
+    
+    /**
+     * Ejecuta una tarea y, pase lo que pase, la da por terminada: tiempos,
+     * señal de disponibilidad, dependientes y cuenta atrás van en el finally.
+     * Un Error (ExceptionInInitializerError, OutOfMemoryError...) se propaga
+     * después, pero ya no deja a los dependientes ni a start() esperando.
+     */
+    private void execute(Node node) {
+        long begin = SystemClock.elapsedRealtime();
+        boolean failed = true;
+        try {
+            node.task.run();
+            failed = false;
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error en la tarea de arranque " + node.task.getName(), e);
+        } finally {
+            long end = SystemClock.elapsedRealtime();
+            timings.add(new TaskTiming(node.task.getName(), Thread.currentThread().getName(),
+                node.readyAt - startedAt, begin - node.readyAt, end - begin, failed));
+            node.done.postValue(true);
+            
+            for (Node dependent : node.dependents) {
+                if (dependent.pending.decrementAndGet() == 0) {
+                    dispatch(dependent);
+                }
+            }
+            if (remaining.decrementAndGet() == 0) {
+                onFinished(end);
+            }
+        }
+    }
+    
+    private void onFinished(long end) {
+        StringBuilder summary = new StringBuilder("Arranque completado en ")
+            .append(end - startedAt).append(" ms");
+        for (TaskTiming timing : getTimings()) {
+            summary.append("\n  ").append(timing);
+        }
+        Log.i(TAG, summary.toString());
+        finished.postValue(true);
+    }
+    
+    /**
+     * Ordenación topológica de Kahn: si no se visitan todos los nodos hay un ciclo.
+     */
+    private void checkAcyclic() {
+        Map<Node, Integer> inDegree = new LinkedHashMap<>();
+        Deque<Node> ready = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            inDegree.put(node, node.pending.get());
+            if (node.pending.get() == 0) {
+                ready.add(node);
+            }
+        }
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            visited++;
+            for (Node dependent : node.dependents) {
+                int degree = inDegree.get(dependent) - 1;
+                inDegree.put(dependent, degree);
+                if (degree == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (visited != nodes.size()) {
+            throw new IllegalArgumentException("Las tareas de arranque tienen dependencias cíclicas");
+        }
+    }
+    
+    private static final class Node {
+        final StartupTask task;
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger pending;
+        final MutableLiveData<Boolean> done = new MutableLiveData<>(false);
+        volatile long readyAt;
+        
+        Node(StartupTask task) {
+            this.task = task;
+            this.pending = new AtomicInteger(task.getDependencies().size());
+        }
+    }
+    
+    /**
+     * Tiempos de una tarea, en milisegundos relativos a start().
+     */
+    public static final class TaskTiming {
+        public final String name;
+        public final String thread;
+        /** Momento en que sus dependencias terminaron */
+        public final long readyAtMs;
+        /** Espera en cola hasta obtener un hilo */
+        public final long queuedMs;
+        public final long durationMs;
+        public final boolean failed;
+        
+        TaskTiming(String name, String thread, long readyAtMs, long queuedMs, long durationMs, boolean failed) {
+            this.name = name;
+            this.thread = thread;
+            this.readyAtMs = readyAtMs;
+            this.queuedMs = queuedMs;
+            this.durationMs = durationMs;
+            this.failed = failed;
+        }
+        
+        @NonNull
+        @Override
+        public String toString() {
+            return name + " [" + thread + "] lista +" + readyAtMs + " ms, cola " + queuedMs
+                + " ms, duración " + durationMs + " ms" + (failed ? " (ERROR)" : "");
+        }
+    }
+}
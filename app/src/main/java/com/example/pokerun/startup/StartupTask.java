@@ -0,0 +1,53 @@
+package com.example.pokerun.startup;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tarea de inicialización declarada para el StartupOrchestrator.
+ * 
+ * Cada tarea tiene un nombre único, las tareas de las que depende y un cuerpo.
+ * Las tareas "bloqueantes" se ejecutan en el hilo principal y
+ * StartupOrchestrator.start() no retorna hasta que terminan; el resto se
+ * ejecuta en el carril del orquestador en cuanto sus dependencias han terminado.
+ * 
+ * Solo debe marcarse como bloqueante lo que la primera Activity necesita
+ * antes de dibujarse (por ejemplo, aplicar el idioma).
+ * 
+ * @see StartupOrchestrator
+ */
+public final class StartupTask {
+    private final String name;
+    private final boolean blocking;
+    private final Runnable body;
+    private final List<String> dependencies;
+    
+    public StartupTask(@NonNull String name, boolean blocking, @NonNull Runnable body, String... dependsOn) {
+        this.name = name;
+        this.blocking = blocking;
+        this.body = body;
+        this.dependencies = Collections.unmodifiableList(Arrays.asList(dependsOn));
+    }
+    
+    @NonNull
+    public String getName() {
+        return name;
+    }
+    
+    /** @return true si debe ejecutarse en el hilo principal antes de que start() retorne */
+    public boolean isBlocking() {
+        return blocking;
+    }
+    
+    @NonNull
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+    
+    void run() {
+        body.run();
+    }
+}
@@ -11,9 +11,10 @@ import androidx.navigation.ui.NavigationUI;
 
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.example.pokerun.PokeRunApplication;
 import com.example.pokerun.R;
-import com.example.pokerun.data.database.PokeRunDatabase;
-import com.example.pokerun.data.database.entity.UserSettingsEntity;
+import com.example.pokerun.data.preferences.SettingsMirror;
+import com.example.pokerun.ui.prefetch.IdlePrefetchScheduler;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
 import java.util.Locale;
@@ -32,6 +33,7 @@ import java.util.Locale;
  * - Configurar la navegación con BottomNavigationView
  * - Aplicar preferencias de idioma del usuario
  * - Cargar elementos decorativos de la UI
+ * - Precargar en tiempo libre los datos y vistas de las demás pestañas
  * 
  * @see WorkoutFragment Fragment para registro de entrenamientos
  * @see BagFragment Fragment para gestión de la mochila
@@ -45,14 +47,62 @@ public class MainActivity extends AppCompatActivity {
     private static final String MEWTWO_IMAGE_URL = 
         "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/other/official-artwork/150.png";
     
+    private IdlePrefetchScheduler prefetchScheduler;
+    /** Idioma con el que se inflaron las vistas */
+    private String appliedLanguage;
+    
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         applyLanguage();
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
         
+        prefetchScheduler = new IdlePrefetchScheduler(this);
+        
         loadBackgroundImage();
         setupNavigation();
+        schedulePrefetch();
+        observeSettingsSync();
+    }
+    
+    @Override
+    protected void onDestroy() {
+        prefetchScheduler.cancel();
+        super.onDestroy();
+    }
+    
+    /**
+     * @return planificador de precarga con los RecycledViewPool compartidos por las pestañas
+     */
+    public IdlePrefetchScheduler getPrefetchScheduler() {
+        return prefetchScheduler;
+    }
+    
+    /**
+     * Empieza a precargar las demás pestañas cuando el arranque ha terminado,
+     * para no competir con las tareas de inicialización
+     */
+    private void schedulePrefetch() {
+        ((PokeRunApplication) getApplication()).getStartup().isFinished().observe(this, finished -> {
+            if (Boolean.TRUE.equals(finished)) {
+                prefetchScheduler.start();
+            }
+        });
+    }
+    
+    /**
+     * Cuando la tarea de arranque "settings" reconcilia el espejo con
+     * user_settings, recrea la Activity si el idioma guardado no es el que se
+     * aplicó al crearla
+     */
+    private void observeSettingsSync() {
+        ((PokeRunApplication) getApplication()).getStartup()
+            .readiness(PokeRunApplication.TASK_SETTINGS).observe(this, ready -> {
+                if (Boolean.TRUE.equals(ready)
+                        && !appliedLanguage.equals(SettingsMirror.getLanguage(this))) {
+                    recreate();
+                }
+            });
     }
     
     /**
@@ -69,31 +119,19 @@ public class MainActivity extends AppCompatActivity {
     }
     
     /**
-     * Aplica el idioma guardado en la configuración del usuario
+     * Aplica el idioma guardado en la configuración del usuario.
+     * Se lee del espejo en SharedPreferences: crear la Activity no consulta Room.
      */
     private void applyLanguage() {
-        try {
-            PokeRunDatabase database = PokeRunDatabase.getDatabase(this);
-            UserSettingsEntity settings = database.userSettingsDao().getSettingsSync();
-            
-            String language = (settings != null && settings.language != null) 
-                ? settings.language 
-                : "es";
-            
-            Locale locale = new Locale(language);
-            Locale.setDefault(locale);
-            
-            Configuration config = new Configuration(getResources().getConfiguration());
-            config.setLocale(locale);
-            getResources().updateConfiguration(config, getResources().getDisplayMetrics());
-            
-        } catch (Exception e) {
-            Locale locale = new Locale("es");
-            Locale.setDefault(locale);
-            Configuration config = new Configuration(getResources().getConfiguration());
-            config.setLocale(locale);
-            getResources().updateConfiguration(config, getResources().getDisplayMetrics());
-        }
+        String language = SettingsMirror.getLanguage(this);
+        appliedLanguage = language;
+        
+        Locale locale = new Locale(language);
+        Locale.setDefault(locale);
+        
+        Configuration config = new Configuration(getResources().getConfiguration());
+        config.setLocale(locale);
+        getResources().updateConfiguration(config, getResources().getDisplayMetrics());
     }
     
     /**
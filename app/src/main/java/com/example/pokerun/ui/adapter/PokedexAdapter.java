@@ -19,13 +19,12 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.example.pokerun.R;
-import com.example.pokerun.data.database.entity.PokedexEntryEntity;
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.catalog.SpeciesCatalog;
+import com.example.pokerun.data.database.model.PokedexStatus;
 import com.example.pokerun.data.repository.UserSettingsRepository;
 import com.google.android.material.card.MaterialCardView;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Adapter para mostrar las entradas de la Pokédex en un RecyclerView.
  * 
@@ -53,16 +52,26 @@ import java.util.Map;
  *   · Opacidad reducida (alpha = 0.5 en imagen)
  *   · Sin icono de desbloqueo
  * 
+ * CATÁLOGO BINARIO:
+ * Cada elemento de la lista solo lleva el número y el estado de desbloqueo
+ * (PokedexStatus). Nombre, tipos y descripción se decodifican desde el
+ * SpeciesCatalog mapeado en memoria al enlazar la fila, y solo en el idioma
+ * activo, de modo que la lista no retiene cadenas de las 151 especies.
+ * Los tipos llegan como PokemonType: color y etiqueta son campos del enum,
+ * sin buscar cadenas en un mapa al enlazar.
+ * 
  * @see PokedexFragment Fragment que utiliza este adapter
- * @see PokedexEntryEntity Entidad que representa cada entrada
+ * @see PokedexStatus Proyección que representa cada entrada
+ * @see SpeciesCatalog Catálogo binario con los textos de cada especie
  * @see PokedexDiffCallback Callback que compara entradas
  */
-public class PokedexAdapter extends ListAdapter<PokedexEntryEntity, PokedexAdapter.PokedexViewHolder> {
+public class PokedexAdapter extends ListAdapter<PokedexStatus, PokedexAdapter.PokedexViewHolder> {
     
     private static final String POKEMON_SPRITE_URL = 
         "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
     
     private final UserSettingsRepository settingsRepository;
+    private SpeciesCatalog catalog;
     
     // Filtro de escala de grises
     private static final ColorMatrixColorFilter GRAYSCALE_FILTER;
@@ -72,47 +81,20 @@ public class PokedexAdapter extends ListAdapter<PokedexEntryEntity, PokedexAdapt
         GRAYSCALE_FILTER = new ColorMatrixColorFilter(matrix);
     }
     
-    // Colores de tipos Pokémon
-    private static final Map<String, Integer> TYPE_COLORS = new HashMap<>();
-    static {
-        TYPE_COLORS.put("Normal", Color.parseColor("#A8A878"));
-        TYPE_COLORS.put("Fuego", Color.parseColor("#F08030"));
-        TYPE_COLORS.put("Fire", Color.parseColor("#F08030"));
-        TYPE_COLORS.put("Agua", Color.parseColor("#6890F0"));
-        TYPE_COLORS.put("Water", Color.parseColor("#6890F0"));
-        TYPE_COLORS.put("Planta", Color.parseColor("#78C850"));
-        TYPE_COLORS.put("Grass", Color.parseColor("#78C850"));
-        TYPE_COLORS.put("Eléctrico", Color.parseColor("#F8D030"));
-        TYPE_COLORS.put("Electric", Color.parseColor("#F8D030"));
-        TYPE_COLORS.put("Hielo", Color.parseColor("#98D8D8"));
-        TYPE_COLORS.put("Ice", Color.parseColor("#98D8D8"));
-        TYPE_COLORS.put("Lucha", Color.parseColor("#C03028"));
-        TYPE_COLORS.put("Fighting", Color.parseColor("#C03028"));
-        TYPE_COLORS.put("Veneno", Color.parseColor("#A040A0"));
-        TYPE_COLORS.put("Poison", Color.parseColor("#A040A0"));
-        TYPE_COLORS.put("Tierra", Color.parseColor("#E0C068"));
-        TYPE_COLORS.put("Ground", Color.parseColor("#E0C068"));
-        TYPE_COLORS.put("Volador", Color.parseColor("#A890F0"));
-        TYPE_COLORS.put("Flying", Color.parseColor("#A890F0"));
-        TYPE_COLORS.put("Psíquico", Color.parseColor("#F85888"));
-        TYPE_COLORS.put("Psychic", Color.parseColor("#F85888"));
-        TYPE_COLORS.put("Bicho", Color.parseColor("#A8B820"));
-        TYPE_COLORS.put("Bug", Color.parseColor("#A8B820"));
-        TYPE_COLORS.put("Roca", Color.parseColor("#B8A038"));
-        TYPE_COLORS.put("Rock", Color.parseColor("#B8A038"));
-        TYPE_COLORS.put("Fantasma", Color.parseColor("#705898"));
-        TYPE_COLORS.put("Ghost", Color.parseColor("#705898"));
-        TYPE_COLORS.put("Dragón", Color.parseColor("#7038F8"));
-        TYPE_COLORS.put("Dragon", Color.parseColor("#7038F8"));
-        TYPE_COLORS.put("Hada", Color.parseColor("#EE99AC"));
-        TYPE_COLORS.put("Fairy", Color.parseColor("#EE99AC"));
-    }
-    
     public PokedexAdapter(UserSettingsRepository settingsRepository) {
         super(new PokedexDiffCallback());
         this.settingsRepository = settingsRepository;
     }
     
+    /**
+     * Asigna el catálogo con los textos de cada especie y vuelve a enlazar las filas
+     */
+    public void setCatalog(SpeciesCatalog catalog) {
+        if (this.catalog == catalog) return;
+        this.catalog = catalog;
+        notifyDataSetChanged();
+    }
+    
     @NonNull
     @Override
     public PokedexViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -123,8 +105,8 @@ public class PokedexAdapter extends ListAdapter<PokedexEntryEntity, PokedexAdapt
     
     @Override
     public void onBindViewHolder(@NonNull PokedexViewHolder holder, int position) {
-        PokedexEntryEntity entry = getItem(position);
-        holder.bind(entry, settingsRepository, GRAYSCALE_FILTER, TYPE_COLORS);
+        PokedexStatus entry = getItem(position);
+        holder.bind(entry, catalog, settingsRepository, GRAYSCALE_FILTER);
     }
     
     static class PokedexViewHolder extends RecyclerView.ViewHolder {
@@ -149,26 +131,30 @@ public class PokedexAdapter extends ListAdapter<PokedexEntryEntity, PokedexAdapt
             viewImageBg = itemView.findViewById(R.id.view_image_bg);
         }
         
-        public void bind(PokedexEntryEntity entry, UserSettingsRepository settingsRepository, 
-                        ColorMatrixColorFilter grayscaleFilter, Map<String, Integer> typeColors) {
+        public void bind(PokedexStatus entry, SpeciesCatalog catalog, UserSettingsRepository settingsRepository, 
+                        ColorMatrixColorFilter grayscaleFilter) {
             
             // Número de Pokédex - siempre visible
             tvNumber.setText(String.format("#%03d", entry.pokedexNumber));
             
-            String language = getLanguage(settingsRepository);
-            String name = "en".equals(language) ? entry.nameEn : entry.name;
-            tvName.setText(name != null ? name : entry.name);
-            
-            // Descripción
-            String description = "en".equals(language) ? entry.descriptionEn : entry.description;
-            tvDescription.setText(description != null ? description : entry.description);
+            if (catalog != null) {
+                // Solo se decodifican los textos del idioma activo
+                boolean english = "en".equals(getLanguage(settingsRepository));
+                tvName.setText(catalog.name(entry.pokedexNumber, english));
+                tvDescription.setText(catalog.description(entry.pokedexNumber, english));
+                
+                // Configurar tipos con colores
+                setupTypeColors(catalog.type1(entry.pokedexNumber), catalog.type2(entry.pokedexNumber),
+                    english, entry.isUnlocked);
+            } else {
+                tvName.setText(null);
+                tvDescription.setText(null);
+                tvTypes.setText(null);
+            }
             
             // Cargar imagen
             loadPokemonImage(entry);
             
-            // Configurar tipos con colores
-            setupTypeColors(entry, typeColors, entry.isUnlocked);
-            
             // Aplicar estilo según estado
             applyStyle(entry.isUnlocked, grayscaleFilter);
         }
@@ -176,33 +162,16 @@ public class PokedexAdapter extends ListAdapter<PokedexEntryEntity, PokedexAdapt
         /**
          * Configura los colores de los tipos
          */
-        private void setupTypeColors(PokedexEntryEntity entry, Map<String, Integer> typeColors, boolean isUnlocked) {
-            String type1 = entry.type1;
-            String type2 = entry.type2;
-            
-            // Obtener color del tipo principal
-            int type1Color = typeColors.getOrDefault(type1, Color.parseColor("#888888"));
+        private void setupTypeColors(PokemonType type1, PokemonType type2, boolean english, boolean isUnlocked) {
+            tvTypes.setText(PokemonType.label(type1, type2, english));
             
             if (isUnlocked) {
-                // Si está desbloqueado, mostrar colores vivos
-                if (type2 != null && !type2.isEmpty()) {
-                    int type2Color = typeColors.getOrDefault(type2, type1Color);
-                    tvTypes.setText(type1 + " / " + type2);
-                    // Usar el color del primer tipo para el fondo
-                    setTypeBackground(tvTypes, type1Color);
-                } else {
-                    tvTypes.setText(type1);
-                    setTypeBackground(tvTypes, type1Color);
-                }
+                // Si está desbloqueado, mostrar colores vivos con el color del primer tipo
+                setTypeBackground(tvTypes, type1 != null ? type1.color : PokemonType.UNKNOWN_COLOR);
                 tvTypes.setTextColor(Color.WHITE);
             } else {
                 // Si está bloqueado, mostrar en gris
-                if (type2 != null && !type2.isEmpty()) {
-                    tvTypes.setText(type1 + " / " + type2);
-                } else {
-                    tvTypes.setText(type1);
-                }
-                setTypeBackground(tvTypes, Color.parseColor("#888888"));
+                setTypeBackground(tvTypes, PokemonType.UNKNOWN_COLOR);
                 tvTypes.setTextColor(Color.parseColor("#DDDDDD"));
             }
         }
@@ -222,14 +191,13 @@ public class PokedexAdapter extends ListAdapter<PokedexEntryEntity, PokedexAdapt
         
         private String getLanguage(UserSettingsRepository settingsRepository) {
             try {
-                var settings = settingsRepository.getSettingsSync();
-                return settings != null ? settings.language : "es";
+                return settingsRepository.getLanguage();
             } catch (Exception e) {
                 return "es";
             }
         }
         
-        private void loadPokemonImage(PokedexEntryEntity entry) {
+        private void loadPokemonImage(PokedexStatus entry) {
             String imageUrl = POKEMON_SPRITE_URL + entry.pokedexNumber + ".png";
             
             Glide.with(itemView.getContext())
@@ -300,16 +268,16 @@ public class PokedexAdapter extends ListAdapter<PokedexEntryEntity, PokedexAdapt
         }
     }
     
-    private static class PokedexDiffCallback extends DiffUtil.ItemCallback<PokedexEntryEntity> {
+    private static class PokedexDiffCallback extends DiffUtil.ItemCallback<PokedexStatus> {
         @Override
-        public boolean areItemsTheSame(@NonNull PokedexEntryEntity oldItem, 
-                                       @NonNull PokedexEntryEntity newItem) {
+        public boolean areItemsTheSame(@NonNull PokedexStatus oldItem, 
+                                       @NonNull PokedexStatus newItem) {
             return oldItem.pokedexNumber == newItem.pokedexNumber;
         }
         
         @Override
-        public boolean areContentsTheSame(@NonNull PokedexEntryEntity oldItem, 
-                                          @NonNull PokedexEntryEntity newItem) {
+        public boolean areContentsTheSame(@NonNull PokedexStatus oldItem, 
+                                          @NonNull PokedexStatus newItem) {
             return oldItem.isUnlocked == newItem.isUnlocked;
         }
     }
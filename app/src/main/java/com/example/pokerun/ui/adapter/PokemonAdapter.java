@@ -16,27 +16,30 @@ import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.request.RequestOptions;
 import com.example.pokerun.R;
-import com.example.pokerun.data.database.entity.PokemonEntity;
+import com.example.pokerun.data.catalog.Evolutions;
+import com.example.pokerun.data.catalog.PokemonType;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+import com.example.pokerun.data.preferences.SettingsMirror;
 
-public class PokemonAdapter extends ListAdapter<PokemonEntity, PokemonAdapter.PokemonViewHolder> {
+public class PokemonAdapter extends ListAdapter<OwnedPokemon, PokemonAdapter.PokemonViewHolder> {
     private OnPokemonClickListener listener;
     
     // URL base para sprites de Pokémon
     private static final String POKEMON_SPRITE_URL = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
     
     public interface OnPokemonClickListener {
-        void onPokemonClick(PokemonEntity pokemon);
+        void onPokemonClick(OwnedPokemon pokemon);
     }
     
     public PokemonAdapter(OnPokemonClickListener listener) {
-        super(new DiffUtil.ItemCallback<PokemonEntity>() {
+        super(new DiffUtil.ItemCallback<OwnedPokemon>() {
             @Override
-            public boolean areItemsTheSame(@NonNull PokemonEntity oldItem, @NonNull PokemonEntity newItem) {
+            public boolean areItemsTheSame(@NonNull OwnedPokemon oldItem, @NonNull OwnedPokemon newItem) {
                 return oldItem.id == newItem.id;
             }
             
             @Override
-            public boolean areContentsTheSame(@NonNull PokemonEntity oldItem, @NonNull PokemonEntity newItem) {
+            public boolean areContentsTheSame(@NonNull OwnedPokemon oldItem, @NonNull OwnedPokemon newItem) {
                 return oldItem.pokedexNumber == newItem.pokedexNumber &&
                        java.util.Objects.equals(oldItem.name, newItem.name) &&
                        oldItem.evolvesTo == newItem.evolvesTo;
@@ -54,7 +57,7 @@ public class PokemonAdapter extends ListAdapter<PokemonEntity, PokemonAdapter.Po
     
     @Override
     public void onBindViewHolder(@NonNull PokemonViewHolder holder, int position) {
-        PokemonEntity pokemon = getItem(position);
+        OwnedPokemon pokemon = getItem(position);
         holder.bind(pokemon, listener);
     }
     
@@ -72,15 +75,12 @@ public class PokemonAdapter extends ListAdapter<PokemonEntity, PokemonAdapter.Po
             btnEvolve = itemView.findViewById(R.id.btn_evolve);
         }
         
-        public void bind(PokemonEntity pokemon, OnPokemonClickListener listener) {
+        public void bind(OwnedPokemon pokemon, OnPokemonClickListener listener) {
             tvNumber.setText("#" + String.format("%03d", pokemon.pokedexNumber));
             tvName.setText(pokemon.name);
             
-            String types = pokemon.type1;
-            if (pokemon.type2 != null && !pokemon.type2.isEmpty()) {
-                types += " / " + pokemon.type2;
-            }
-            tvTypes.setText(types);
+            boolean english = "en".equals(SettingsMirror.getLanguage(itemView.getContext()));
+            tvTypes.setText(PokemonType.label(pokemon.type1, pokemon.type2, english));
             
             // Cargar imagen del Pokémon
             if (ivPokemonImage != null) {
@@ -97,7 +97,7 @@ public class PokemonAdapter extends ListAdapter<PokemonEntity, PokemonAdapter.Po
                     .into(ivPokemonImage);
             }
             
-            if (pokemon.evolvesTo > 0) {
+            if (Evolutions.canEvolve(pokemon.pokedexNumber)) {
                 btnEvolve.setVisibility(View.VISIBLE);
                 btnEvolve.setOnClickListener(v -> listener.onPokemonClick(pokemon));
             } else {
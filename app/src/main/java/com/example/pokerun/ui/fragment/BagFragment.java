@@ -16,12 +16,16 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.pokerun.R;
+import com.example.pokerun.concurrent.AppExecutors;
 import com.example.pokerun.data.database.entity.BagEntity;
-import com.example.pokerun.data.database.entity.PokemonEntity;
-import com.example.pokerun.data.repository.BagRepository;
+import com.example.pokerun.data.database.model.HatchResult;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+import com.example.pokerun.data.hatch.EggTier;
 import com.example.pokerun.data.repository.PokemonRepository;
 import com.example.pokerun.ui.viewmodel.BagViewModel;
 
+import java.util.List;
+
 /**
  * Fragment que muestra el contenido de la mochila del usuario.
  * 
@@ -32,32 +36,37 @@ import com.example.pokerun.ui.viewmodel.BagViewModel;
  * FLUJO DE APERTURA DE HUEVO (MVVM en acción):
  * 1. Usuario pulsa "Abrir Huevo" → Fragment notifica al ViewModel
  * 2. ViewModel verifica requisitos (huevos >= 1, caramelos >= 1)
- * 3. ViewModel coordina con BagRepository y PokemonRepository
- * 4. BagRepository descuenta 1 huevo y 1 caramelo (transacción)
- * 5. PokemonRepository selecciona un Pokémon aleatorio no obtenido
- * 6. Se actualiza la Pokédex para desbloquear la nueva entrada
- * 7. ViewModel actualiza LiveData → Fragment muestra diálogo de éxito
+ * 3. ViewModel delega en PokemonRepository.hatchEggs(1, tipo), que en una sola
+ *    transacción (HatchDao.hatchPicked) descuenta 1 huevo y 1 caramelo, elige un
+ *    Pokémon aleatorio no obtenido y desbloquea su entrada en la Pokédex
+ * 4. Room actualiza el LiveData de la mochila → Fragment muestra diálogo de éxito
+ * 
+ * "Abrir todos" hace lo mismo para todos los huevos que permita la mochila
+ * (PokemonRepository.hatchEggs) y muestra un único diálogo de resumen.
+ * 
+ * Los huevos de 10 km (EggTier.LONG) se cuentan aparte y se abren con su
+ * propio botón, que solo aparece cuando hay alguno; sortean con sus pesos.
  * 
  * NOTA ARQUITECTÓNICA:
  * La lógica de coordinación entre repositorios podría extraerse a un
  * UseCase/Interactor en una arquitectura Clean Architecture más pura.
  * 
  * @see BagViewModel ViewModel que gestiona la lógica del inventario
- * @see BagRepository Repositorio que accede a la entidad BagEntity
- * @see PokemonRepository Repositorio para obtener Pokémon aleatorios
+ * @see PokemonRepository#hatchEggs(int, EggTier) Apertura atómica de los huevos
  */
 public class BagFragment extends Fragment {
     private static final String TAG = "BagFragment";
     
-    // ViewModel y Repositorios
+    // ViewModel
     private BagViewModel viewModel;
-    private PokemonRepository pokemonRepository;
-    private BagRepository bagRepository;
     
     // Vistas
     private TextView tvEggsCount;
+    private TextView tvLongEggsCount;
     private TextView tvCandiesCount;
     private Button btnOpenEgg;
+    private Button btnOpenLongEgg;
+    private Button btnOpenAllEggs;
     
     @Nullable
     @Override
@@ -80,12 +89,13 @@ public class BagFragment extends Fragment {
      */
     private void initializeComponents(@NonNull View view) {
         viewModel = new ViewModelProvider(this).get(BagViewModel.class);
-        pokemonRepository = new PokemonRepository(requireContext());
-        bagRepository = new BagRepository(requireContext());
         
         tvEggsCount = view.findViewById(R.id.tv_eggs_count);
+        tvLongEggsCount = view.findViewById(R.id.tv_long_eggs_count);
         tvCandiesCount = view.findViewById(R.id.tv_candies_count);
         btnOpenEgg = view.findViewById(R.id.btn_open_egg);
+        btnOpenLongEgg = view.findViewById(R.id.btn_open_long_egg);
+        btnOpenAllEggs = view.findViewById(R.id.btn_open_all_eggs);
     }
     
     /**
@@ -95,11 +105,15 @@ public class BagFragment extends Fragment {
         viewModel.getBag().observe(getViewLifecycleOwner(), bag -> {
             if (bag != null) {
                 tvEggsCount.setText(String.valueOf(bag.eggs));
+                tvLongEggsCount.setText(String.valueOf(bag.longEggs));
                 tvCandiesCount.setText(String.valueOf(bag.rareCandies));
             } else {
                 tvEggsCount.setText("0");
+                tvLongEggsCount.setText("0");
                 tvCandiesCount.setText("0");
             }
+            btnOpenLongEgg.setVisibility(bag != null && bag.longEggs > 0 ? View.VISIBLE : View.GONE);
+            updateOpenAllButton(bag);
         });
     }
     
@@ -107,120 +121,142 @@ public class BagFragment extends Fragment {
      * Configura los listeners de los botones
      */
     private void setupListeners() {
-        btnOpenEgg.setOnClickListener(v -> openEgg());
+        btnOpenEgg.setOnClickListener(v -> openEgg(EggTier.STANDARD));
+        btnOpenLongEgg.setOnClickListener(v -> openEgg(EggTier.LONG));
+        btnOpenAllEggs.setOnClickListener(v -> openAllEggs());
     }
     
-    @Override
-    public void onResume() {
-        super.onResume();
-        refreshBagData();
+    /**
+     * "Abrir todos" solo aparece cuando hay al menos dos huevos que abrir
+     */
+    private void updateOpenAllButton(@Nullable BagEntity bag) {
+        int hatchable = bag != null
+            ? Math.min(Math.min(bag.eggs, bag.rareCandies), PokemonRepository.MAX_BULK_HATCH)
+            : 0;
+        if (hatchable >= 2) {
+            btnOpenAllEggs.setText(getString(R.string.open_all_eggs, hatchable));
+            btnOpenAllEggs.setVisibility(View.VISIBLE);
+        } else {
+            btnOpenAllEggs.setVisibility(View.GONE);
+        }
     }
     
     /**
-     * Refresca los datos de la mochila desde la base de datos
+     * Abre un huevo del tipo indicado y otorga un Pokémon aleatorio de
+     * primera etapa. Requiere 1 huevo de ese tipo y 1 caramelo raro.
+     * 
+     * Ningún paso consulta Room en el hilo principal: la comprobación previa
+     * usa la mochila ya observada y la apertura es una única escritura de
+     * WriteQueue (HatchDao.hatchPicked), cuyo resultado vuelve al hilo principal
+     * por AppExecutors.main(). Dos pulsaciones seguidas no pueden gastar el
+     * mismo huevo: el descuento es un UPDATE condicional dentro de la
+     * transacción.
      */
-    private void refreshBagData() {
-        new Thread(() -> {
-            try {
-                BagEntity bag = bagRepository.getBagSync();
-                if (bag != null && getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        tvEggsCount.setText(String.valueOf(bag.eggs));
-                        tvCandiesCount.setText(String.valueOf(bag.rareCandies));
-                    });
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error refrescando datos de la mochila", e);
+    private void openEgg(EggTier tier) {
+        if (getContext() == null) return;
+        
+        // Verificar estado actual de la mochila (último valor emitido por Room)
+        BagEntity bag = viewModel.getBag().getValue();
+        if (bag == null || eggsOf(bag, tier) <= 0) {
+            showToast(getString(R.string.no_eggs));
+            return;
+        }
+        if (bag.rareCandies < 1) {
+            showToast(getString(R.string.not_enough_candies));
+            return;
+        }
+        
+        // Deshabilitar botones mientras se procesa
+        btnOpenEgg.setEnabled(false);
+        btnOpenLongEgg.setEnabled(false);
+        
+        // Una transacción: se vuelve a comprobar la mochila dentro de ella
+        viewModel.hatchEgg(tier).addCallback(AppExecutors.getInstance().main(), (result, error) -> {
+            if (!isAdded()) return;
+            btnOpenEgg.setEnabled(true);
+            btnOpenLongEgg.setEnabled(true);
+            if (error != null) {
+                Log.e(TAG, "Error abriendo huevo", error);
+                showToast(getString(R.string.error_opening_egg));
+                return;
+            }
+            switch (result.status) {
+                case HATCHED:
+                    // Mostrar diálogo con el Pokémon obtenido
+                    showPokemonObtainedDialog(result.pokemon.name);
+                    break;
+                case ALL_OBTAINED:
+                    showToast(getString(R.string.all_pokemon_obtained));
+                    break;
+                default:
+                    showToast(getString(R.string.error_opening_egg));
+                    break;
             }
-        }).start();
+        });
     }
     
     /**
-     * Abre un huevo y otorga un Pokémon aleatorio de primera etapa.
-     * Requiere 1 huevo y 1 caramelo raro.
+     * Abre de una vez todos los huevos de 5 km que permitan huevos y caramelos.
+     * 
+     * Es una sola escritura (HatchDao.hatchPicked): si quedan menos Pokémon
+     * por obtener que huevos, solo se gastan los necesarios. El resultado se
+     * muestra en un único diálogo en lugar de uno por huevo.
      */
-    private void openEgg() {
+    private void openAllEggs() {
         if (getContext() == null) return;
         
-        // Deshabilitar botón mientras se procesa
+        BagEntity bag = viewModel.getBag().getValue();
+        if (bag == null || bag.eggs <= 0) {
+            showToast(getString(R.string.no_eggs));
+            return;
+        }
+        if (bag.rareCandies < 1) {
+            showToast(getString(R.string.not_enough_candies));
+            return;
+        }
+        
         btnOpenEgg.setEnabled(false);
+        btnOpenAllEggs.setEnabled(false);
         
-        new Thread(() -> {
-            try {
-                // Verificar estado actual de la mochila
-                BagEntity bag = bagRepository.getBagSync();
-                
-                if (bag == null || bag.eggs <= 0) {
-                    showToast(getString(R.string.no_eggs));
-                    enableButton();
-                    return;
-                }
-                
-                if (bag.rareCandies < 1) {
-                    showToast(getString(R.string.not_enough_candies));
-                    enableButton();
-                    return;
-                }
-                
-                // Remover huevo y caramelo
-                boolean success = bagRepository.removeEggAndCandy();
-                
-                if (!success) {
-                    showToast(getString(R.string.error_opening_egg));
-                    enableButton();
-                    return;
-                }
-                
-                // Obtener un Pokémon aleatorio de primera etapa
-                PokemonEntity randomPokemon = pokemonRepository.getRandomUnobtainedPokemon();
-                if (randomPokemon == null) {
+        viewModel.hatchEggs(Math.min(bag.eggs, bag.rareCandies)).addCallback(AppExecutors.getInstance().main(), (result, error) -> {
+            if (!isAdded()) return;
+            btnOpenEgg.setEnabled(true);
+            btnOpenAllEggs.setEnabled(true);
+            if (error != null) {
+                Log.e(TAG, "Error abriendo huevos", error);
+                showToast(getString(R.string.error_opening_egg));
+                return;
+            }
+            switch (result.status) {
+                case HATCHED:
+                    showHatchSummaryDialog(result);
+                    break;
+                case ALL_OBTAINED:
                     showToast(getString(R.string.all_pokemon_obtained));
-                    enableButton();
-                    return;
-                }
-                
-                // Marcar Pokémon como obtenido y desbloquear en Pokédex
-                viewModel.markPokemonObtained(randomPokemon.id, randomPokemon.pokedexNumber);
-                String pokemonName = randomPokemon.name;
-                
-                // Mostrar diálogo con el Pokémon obtenido
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        if (getContext() != null) {
-                            showPokemonObtainedDialog(pokemonName);
-                            refreshBagData();
-                        }
-                        btnOpenEgg.setEnabled(true);
-                    });
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error abriendo huevo", e);
-                showToast("Error: " + e.getMessage());
-                enableButton();
+                    break;
+                default:
+                    showToast(getString(R.string.error_opening_egg));
+                    break;
             }
-        }).start();
+        });
     }
     
     /**
-     * Muestra un Toast en el hilo de UI
+     * Huevos de la mochila del tipo indicado
      */
-    private void showToast(String message) {
-        if (getActivity() != null) {
-            getActivity().runOnUiThread(() -> {
-                if (getContext() != null) {
-                    Toast.makeText(getContext(), message, Toast.LENGTH_SHORT).show();
-                }
-            });
-        }
+    private static int eggsOf(@NonNull BagEntity bag, EggTier tier) {
+        return tier == EggTier.LONG ? bag.longEggs : bag.eggs;
     }
     
     /**
-     * Habilita el botón de abrir huevo en el hilo de UI
+     * Muestra un Toast en el hilo de UI
      */
-    private void enableButton() {
-        if (getActivity() != null) {
-            getActivity().runOnUiThread(() -> btnOpenEgg.setEnabled(true));
-        }
+    private void showToast(String message) {
+        AppExecutors.getInstance().main().execute(() -> {
+            if (getContext() != null) {
+                Toast.makeText(getContext(), message, Toast.LENGTH_SHORT).show();
+            }
+        });
     }
     
     /**
@@ -234,4 +270,26 @@ public class BagFragment extends Fragment {
             .setIcon(android.R.drawable.star_big_on)
             .show();
     }
+    
+    /**
+     * Muestra un único diálogo con todos los Pokémon obtenidos
+     */
+    private void showHatchSummaryDialog(HatchResult result) {
+        List<OwnedPokemon> hatched = result.hatched;
+        if (hatched.size() == 1) {
+            showPokemonObtainedDialog(hatched.get(0).name);
+            return;
+        }
+        StringBuilder names = new StringBuilder();
+        for (OwnedPokemon pokemon : hatched) {
+            if (names.length() > 0) names.append('\n');
+            names.append("• ").append(pokemon.name);
+        }
+        new AlertDialog.Builder(getContext())
+            .setTitle(getString(R.string.eggs_opened_title, hatched.size()))
+            .setMessage(getString(R.string.eggs_opened_message, names))
+            .setPositiveButton(R.string.ok, null)
+            .setIcon(android.R.drawable.star_big_on)
+            .show();
+    }
 }
@@ -14,9 +14,11 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.pokerun.AppContainer;
 import com.example.pokerun.R;
-import com.example.pokerun.data.database.entity.PokedexEntryEntity;
+import com.example.pokerun.data.database.model.PokedexStatus;
 import com.example.pokerun.data.repository.UserSettingsRepository;
+import com.example.pokerun.ui.MainActivity;
 import com.example.pokerun.ui.adapter.PokedexAdapter;
 import com.example.pokerun.ui.viewmodel.PokedexViewModel;
 
@@ -47,7 +49,7 @@ import java.util.List;
  * 
  * @see PokedexViewModel ViewModel que expone las entradas de la Pokédex
  * @see PokedexAdapter Adapter con DiffUtil para actualizaciones eficientes
- * @see PokedexEntryEntity Entidad con soporte multiidioma
+ * @see PokedexStatus Proyección número + desbloqueo que recibe el adapter
  */
 public class PokedexFragment extends Fragment {
     
@@ -74,7 +76,7 @@ public class PokedexFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         
         viewModel = new ViewModelProvider(this).get(PokedexViewModel.class);
-        settingsRepository = new UserSettingsRepository(requireContext());
+        settingsRepository = AppContainer.from(requireContext()).settingsRepository();
         
         // Inicializar vistas
         initViews(view);
@@ -105,7 +107,15 @@ public class PokedexFragment extends Fragment {
      */
     private void setupRecyclerView() {
         adapter = new PokedexAdapter(settingsRepository);
-        rvPokedex.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        rvPokedex.setLayoutManager(layoutManager);
+        
+        // ViewHolders precargados en tiempo libre y reutilizados entre visitas a la pestaña
+        if (requireActivity() instanceof MainActivity) {
+            rvPokedex.setRecycledViewPool(
+                ((MainActivity) requireActivity()).getPrefetchScheduler().getPokedexViewPool());
+            layoutManager.setRecycleChildrenOnDetach(true);
+        }
         rvPokedex.setAdapter(adapter);
         
         // Optimizaciones de rendimiento
@@ -117,7 +127,9 @@ public class PokedexFragment extends Fragment {
      * Observa los cambios en los datos de la Pokédex
      */
     private void observeData() {
-        viewModel.getAllEntries().observe(getViewLifecycleOwner(), entries -> {
+        viewModel.getCatalog().observe(getViewLifecycleOwner(), adapter::setCatalog);
+        
+        viewModel.getEntryStatuses().observe(getViewLifecycleOwner(), entries -> {
             if (entries != null) {
                 adapter.submitList(entries);
                 updateProgress(entries);
@@ -128,10 +140,10 @@ public class PokedexFragment extends Fragment {
     /**
      * Actualiza el contador y la barra de progreso
      */
-    private void updateProgress(List<PokedexEntryEntity> entries) {
+    private void updateProgress(List<PokedexStatus> entries) {
         int obtainedCount = 0;
         
-        for (PokedexEntryEntity entry : entries) {
+        for (PokedexStatus entry : entries) {
             if (entry.isUnlocked) {
                 obtainedCount++;
             }
@@ -19,11 +19,13 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.pokerun.AppContainer;
 import com.example.pokerun.R;
-import com.example.pokerun.data.database.entity.PokemonEntity;
-import com.example.pokerun.data.repository.BagRepository;
-import com.example.pokerun.data.repository.PokedexRepository;
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.data.catalog.Evolutions;
+import com.example.pokerun.data.database.model.OwnedPokemon;
 import com.example.pokerun.data.repository.PokemonRepository;
+import com.example.pokerun.ui.MainActivity;
 import com.example.pokerun.ui.adapter.PokemonAdapter;
 import com.example.pokerun.ui.viewmodel.PokemonViewModel;
 
@@ -38,16 +40,17 @@ import com.example.pokerun.ui.viewmodel.PokemonViewModel;
  * SISTEMA DE EVOLUCIÓN:
  * El flujo de evolución demuestra la coordinación entre capas MVVM:
  * 1. Usuario selecciona Pokémon → Fragment muestra diálogo de confirmación
- * 2. Usuario confirma → Fragment llama a ViewModel.evolvePokemon()
- * 3. ViewModel verifica caramelos disponibles con BagRepository
- * 4. Si hay caramelos, PokemonRepository ejecuta la evolución
- * 5. PokedexRepository desbloquea la nueva entrada
- * 6. ViewModel actualiza LiveData → UI se refresca automáticamente
+ *    (o de elección de rama, como Eevee) a partir del grafo Evolutions y los
+ *    nombres del SpeciesCatalog, sin consultas a la base de datos
+ * 2. Usuario confirma → Fragment llama a PokemonRepository.evolvePokemon()
+ * 3. En una sola transacción (EvolutionDao) se descuenta el caramelo, se
+ *    actualiza el Pokémon y se desbloquea la nueva entrada de la Pokédex
+ * 4. Room actualiza el LiveData del ViewModel → UI se refresca automáticamente
  * 
  * DECISIÓN TÉCNICA:
- * La evolución actualiza los atributos del registro existente en lugar
- * de cambiar su ID, evitando violaciones de UNIQUE constraint y
- * preservando la integridad referencial de la base de datos.
+ * La evolución solo cambia owned_pokemon.speciesNumber del registro
+ * existente: nombre, tipos y descripción salen de la especie en el catálogo,
+ * así que no se copia ningún atributo y el ID del Pokémon se conserva.
  * 
  * @see PokemonViewModel ViewModel que expone los Pokémon obtenidos
  * @see PokemonAdapter Adapter que renderiza cada Pokémon en el RecyclerView
@@ -58,8 +61,6 @@ public class PokemonFragment extends Fragment {
     
     private PokemonViewModel viewModel;
     private PokemonRepository pokemonRepository;
-    private BagRepository bagRepository;
-    private PokedexRepository pokedexRepository;
     
     private RecyclerView rvPokemon;
     private TextView tvEmpty;
@@ -83,9 +84,7 @@ public class PokemonFragment extends Fragment {
     
     private void initializeComponents(@NonNull View view) {
         viewModel = new ViewModelProvider(this).get(PokemonViewModel.class);
-        pokemonRepository = new PokemonRepository(requireContext());
-        bagRepository = new BagRepository(requireContext());
-        pokedexRepository = new PokedexRepository(requireContext());
+        pokemonRepository = AppContainer.from(requireContext()).pokemonRepository();
         
         rvPokemon = view.findViewById(R.id.rv_pokemon);
         tvEmpty = view.findViewById(R.id.tv_empty);
@@ -93,12 +92,20 @@ public class PokemonFragment extends Fragment {
     
     private void setupRecyclerView() {
         adapter = new PokemonAdapter(pokemon -> {
-            if (pokemon.evolvesTo > 0) {
-                showEvolveConfirmDialog(pokemon);
+            if (Evolutions.canEvolve(pokemon.pokedexNumber)) {
+                showEvolveDialog(pokemon);
             }
         });
         
-        rvPokemon.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        rvPokemon.setLayoutManager(layoutManager);
+        
+        // ViewHolders precargados en tiempo libre y reutilizados entre visitas a la pestaña
+        if (requireActivity() instanceof MainActivity) {
+            rvPokemon.setRecycledViewPool(
+                ((MainActivity) requireActivity()).getPrefetchScheduler().getPokemonViewPool());
+            layoutManager.setRecycleChildrenOnDetach(true);
+        }
         rvPokemon.setAdapter(adapter);
     }
     
@@ -116,77 +123,91 @@ public class PokemonFragment extends Fragment {
     }
     
     /**
-     * Muestra el diálogo de confirmación para evolucionar un Pokémon
+     * Muestra el diálogo de evolución de un Pokémon.
+     * Las ramas se leen por índice del grafo en memoria (Evolutions.branch,
+     * sin copiar arrays) y los nombres del SpeciesCatalog mapeado; solo si el
+     * catálogo aún no está abierto se abre en el carril de lectura.
      */
-    private void showEvolveConfirmDialog(PokemonEntity pokemon) {
-        new Thread(() -> {
-            String evolvedName = pokemonRepository.getEvolvedPokemonName(pokemon.id);
-            int evolvedPokedexNumber = pokemon.evolvesTo;
-            
-            if (evolvedName == null) {
-                showToast(getString(R.string.not_enough_candies_evolve));
-                return;
-            }
-            
-            if (getActivity() != null) {
-                getActivity().runOnUiThread(() -> {
-                    if (getContext() == null) return;
-                    
-                    new AlertDialog.Builder(getContext())
-                        .setTitle(getString(R.string.evolve))
-                        .setMessage(getString(R.string.evolution_confirm, pokemon.name, evolvedName))
-                        .setPositiveButton(R.string.evolve, (dialog, which) -> 
-                            evolvePokemon(pokemon, evolvedName, evolvedPokedexNumber))
-                        .setNegativeButton(R.string.cancel, null)
-                        .show();
-                });
-            }
-        }).start();
+    private void showEvolveDialog(OwnedPokemon pokemon) {
+        String[] names = pokemonRepository.peekEvolutionNames(pokemon.pokedexNumber, false);
+        if (names != null) {
+            showEvolveDialog(pokemon, names);
+            return;
+        }
+        pokemonRepository.loadEvolutionNames(pokemon.pokedexNumber, false).addCallback(
+            AppExecutors.getInstance().main(), (evolutionNames, error) -> {
+                if (getContext() == null) return;
+                
+                if (evolutionNames == null || evolutionNames.length != Evolutions.branchCount(pokemon.pokedexNumber)) {
+                    Log.e(TAG, "Sin nombres de evolución para #" + pokemon.pokedexNumber, error);
+                    showToast(getString(R.string.error_evolving));
+                    return;
+                }
+                showEvolveDialog(pokemon, evolutionNames);
+            });
     }
     
     /**
-     * Ejecuta la evolución de un Pokémon
+     * Con una sola rama pide confirmación directamente; con varias (Eevee)
+     * primero deja elegir la forma
      */
-    private void evolvePokemon(PokemonEntity pokemon, String evolvedName, int evolvedPokedexNumber) {
-        new Thread(() -> {
-            try {
-                var bag = bagRepository.getBagSync();
-                if (bag == null || bag.rareCandies < 1) {
-                    showToast(getString(R.string.not_enough_candies_evolve));
-                    return;
-                }
-                
-                boolean candyRemoved = bagRepository.removeCandies(1);
-                if (!candyRemoved) {
-                    showToast(getString(R.string.not_enough_candies_evolve));
+    private void showEvolveDialog(OwnedPokemon pokemon, String[] names) {
+        int number = pokemon.pokedexNumber;
+        if (names.length == 1) {
+            showEvolveConfirmDialog(pokemon, Evolutions.branch(number, 0), names[0]);
+            return;
+        }
+        new AlertDialog.Builder(getContext())
+            .setTitle(getString(R.string.choose_evolution))
+            .setItems(names, (dialog, which) -> showEvolveConfirmDialog(pokemon, Evolutions.branch(number, which), names[which]))
+            .setNegativeButton(R.string.cancel, null)
+            .show();
+    }
+    
+    private void showEvolveConfirmDialog(OwnedPokemon pokemon, int targetNumber, String evolvedName) {
+        new AlertDialog.Builder(getContext())
+            .setTitle(getString(R.string.evolve))
+            .setMessage(getString(R.string.evolution_confirm, pokemon.name, evolvedName))
+            .setPositiveButton(R.string.evolve, (dialog, which) -> evolvePokemon(pokemon, targetNumber))
+            .setNegativeButton(R.string.cancel, null)
+            .show();
+    }
+    
+    /**
+     * Ejecuta la evolución de un Pokémon.
+     * Es una única escritura de WriteQueue (EvolutionDao.evolve): caramelo,
+     * nueva forma y desbloqueo en la Pokédex se confirman juntos o no se
+     * confirma nada, así que no hay que devolver caramelos si algo falla.
+     */
+    private void evolvePokemon(OwnedPokemon pokemon, int targetNumber) {
+        pokemonRepository.evolvePokemon(pokemon.id, targetNumber).addCallback(
+            AppExecutors.getInstance().main(), (result, error) -> {
+                if (!isAdded()) return;
+                if (error != null) {
+                    Log.e(TAG, "Error evolucionando Pokémon", error);
+                    showToast("Error: " + error.getMessage());
                     return;
                 }
-                
-                boolean success = pokemonRepository.evolvePokemon(pokemon.id);
-                
-                if (success) {
-                    pokedexRepository.unlockEntry(evolvedPokedexNumber);
-                    
-                    // Mostrar diálogo de éxito centrado
-                    showEvolutionSuccessDialog(pokemon.name, evolvedName);
-                } else {
-                    bagRepository.addCandiesSync(1);
-                    showToast(getString(R.string.error_opening_egg));
+                switch (result.status) {
+                    case EVOLVED:
+                        // Mostrar diálogo de éxito centrado
+                        showEvolutionSuccessDialog(pokemon.name, result.evolvedName);
+                        break;
+                    case NOT_ENOUGH_CANDIES:
+                        showToast(getString(R.string.not_enough_candies_evolve));
+                        break;
+                    default:
+                        showToast(getString(R.string.error_evolving));
+                        break;
                 }
-            } catch (Exception e) {
-                Log.e(TAG, "Error evolucionando Pokémon", e);
-                showToast("Error: " + e.getMessage());
-            }
-        }).start();
+            });
     }
     
     /**
      * Muestra un diálogo centrado con el resultado de la evolución
      */
     private void showEvolutionSuccessDialog(String originalName, String evolvedName) {
-        if (getActivity() == null) return;
-        
-        getActivity().runOnUiThread(() -> {
+        AppExecutors.getInstance().main().execute(() -> {
             if (getContext() == null) return;
             
             String message = getString(R.string.evolution_success, originalName, evolvedName);
@@ -213,12 +234,10 @@ public class PokemonFragment extends Fragment {
     }
     
     private void showToast(String message) {
-        if (getActivity() != null) {
-            getActivity().runOnUiThread(() -> {
-                if (getContext() != null) {
-                    Toast.makeText(getContext(), message, Toast.LENGTH_LONG).show();
-                }
-            });
-        }
+        AppExecutors.getInstance().main().execute(() -> {
+            if (getContext() != null) {
+                Toast.makeText(getContext(), message, Toast.LENGTH_LONG).show();
+            }
+        });
     }
 }
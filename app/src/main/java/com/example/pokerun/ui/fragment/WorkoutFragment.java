@@ -15,8 +15,9 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 
+import com.example.pokerun.AppContainer;
 import com.example.pokerun.R;
-import com.example.pokerun.data.database.entity.UserSettingsEntity;
+import com.example.pokerun.data.hatch.EggTier;
 import com.example.pokerun.data.repository.UserSettingsRepository;
 import com.example.pokerun.ui.viewmodel.WorkoutViewModel;
 import com.google.android.material.button.MaterialButton;
@@ -99,7 +100,7 @@ public class WorkoutFragment extends Fragment {
      */
     private void initializeComponents(@NonNull View view) {
         viewModel = new ViewModelProvider(this).get(WorkoutViewModel.class);
-        settingsRepository = new UserSettingsRepository(requireContext());
+        settingsRepository = AppContainer.from(requireContext()).settingsRepository();
         handler = new Handler(Looper.getMainLooper());
         
         // Vistas de entrenamiento con sensor
@@ -240,8 +241,7 @@ public class WorkoutFragment extends Fragment {
      * Convierte la distancia a kilómetros según la unidad configurada
      */
     private double convertToKilometers(double distance) {
-        UserSettingsEntity settings = settingsRepository.getSettingsSync();
-        String unit = settings != null ? settings.distanceUnit : "km";
+        String unit = settingsRepository.getDistanceUnit();
         
         if ("mi".equals(unit)) {
             return distance / 0.621371; // Millas a kilómetros
@@ -253,8 +253,7 @@ public class WorkoutFragment extends Fragment {
      * Actualiza el hint del campo de distancia según la unidad configurada
      */
     private void updateDistanceUnitHint() {
-        UserSettingsEntity settings = settingsRepository.getSettingsSync();
-        String unit = settings != null ? settings.distanceUnit : "km";
+        String unit = settingsRepository.getDistanceUnit();
         
         String suffix = "mi".equals(unit) ? getString(R.string.mi) : getString(R.string.km);
         tilManualDistance.setSuffixText(suffix);
@@ -264,8 +263,7 @@ public class WorkoutFragment extends Fragment {
      * Actualiza la visualización de la distancia según la unidad configurada
      */
     private void updateDistanceDisplay(double distanceKm) {
-        UserSettingsEntity settings = settingsRepository.getSettingsSync();
-        String unit = settings != null ? settings.distanceUnit : "km";
+        String unit = settingsRepository.getDistanceUnit();
         
         double displayDistance = distanceKm;
         String unitLabel = getString(R.string.km);
@@ -282,11 +280,15 @@ public class WorkoutFragment extends Fragment {
      * Muestra las recompensas obtenidas por el entrenamiento
      */
     private void showWorkoutRewards(double distanceKm) {
-        int eggs = distanceKm >= 5.0 ? 1 : 0;
+        EggTier tier = EggTier.forDistanceKm(distanceKm);
+        int eggs = tier != null ? 1 : 0;
         int candies = (int) (distanceKm / 5.0);
         
         String message;
-        if (eggs > 0 || candies > 0) {
+        if (tier == EggTier.LONG) {
+            message = getString(R.string.workout_saved) + "\n" +
+                      getString(R.string.workout_rewards_long, candies);
+        } else if (eggs > 0 || candies > 0) {
             message = getString(R.string.workout_saved) + "\n" + 
                       getString(R.string.workout_rewards, eggs, candies);
         } else {
@@ -0,0 +1,219 @@
+package com.example.pokerun.ui.prefetch;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.target.Target;
+import com.example.pokerun.AppContainer;
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+import com.example.pokerun.ui.adapter.PokedexAdapter;
+import com.example.pokerun.ui.adapter.PokemonAdapter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Precarga, en los huecos libres del hilo principal, lo que necesitarán las
+ * siguientes pestañas (Mochila, Pokémon, Pokédex).
+ * 
+ * FUNCIONAMIENTO:
+ * Se registra como MessageQueue.IdleHandler y en cada callback de inactividad
+ * ejecuta un único trabajo corto, de modo que nunca compite con un frame:
+ * - Datos: lanza la consulta a Room en el carril AppExecutors.dbRead() y, de
+ *   vuelta en el hilo principal, guarda el resultado en PrefetchCache
+ *   (mochila, Pokémon obtenidos, estados de la Pokédex).
+ * - Vistas: infla un ViewHolder por callback y lo deja en el RecycledViewPool
+ *   compartido con el Fragment correspondiente.
+ * - Sprites: pide a Glide la primera pantalla de imágenes (caché en disco).
+ * 
+ * LÍMITES:
+ * Como mucho SCREENFUL ViewHolders por lista y SCREENFUL sprites por pantalla;
+ * los datos van a PrefetchCache, que está acotada por número de elementos.
+ * 
+ * CANCELACIÓN:
+ * cancel() desregistra el IdleHandler, descarta los trabajos pendientes (y
+ * los resultados de consultas que lleguen después) y cancela las precargas
+ * de Glide. MainActivity
+ * lo llama en onDestroy(), ya que las vistas precargadas usan su contexto.
+ */
+public final class IdlePrefetchScheduler implements MessageQueue.IdleHandler {
+    private static final String TAG = "IdlePrefetchScheduler";
+    private static final String POKEMON_SPRITE_URL =
+        "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
+    
+    /** Elementos visibles aproximados en la primera pantalla de una lista */
+    private static final int SCREENFUL = 8;
+    
+    private final Context uiContext;
+    private final Context appContext;
+    private final Deque<Job> jobs = new ArrayDeque<>();
+    private final List<Target<?>> spritePreloads = new ArrayList<>();
+    
+    private final RecyclerView.RecycledViewPool pokedexViewPool = new RecyclerView.RecycledViewPool();
+    private final RecyclerView.RecycledViewPool pokemonViewPool = new RecyclerView.RecycledViewPool();
+    
+    private RecyclerView viewParent;
+    private boolean started;
+    private boolean registered;
+    private boolean cancelled;
+    
+    public IdlePrefetchScheduler(@NonNull Context uiContext) {
+        this.uiContext = uiContext;
+        this.appContext = uiContext.getApplicationContext();
+        pokedexViewPool.setMaxRecycledViews(0, SCREENFUL * 2);
+        pokemonViewPool.setMaxRecycledViews(0, SCREENFUL * 2);
+    }
+    
+    /** Pool compartido con el RecyclerView de PokedexFragment */
+    public RecyclerView.RecycledViewPool getPokedexViewPool() {
+        return pokedexViewPool;
+    }
+    
+    /** Pool compartido con el RecyclerView de PokemonFragment */
+    public RecyclerView.RecycledViewPool getPokemonViewPool() {
+        return pokemonViewPool;
+    }
+    
+    /**
+     * Encola los trabajos de precarga. Llamar cuando el arranque haya terminado.
+     */
+    @MainThread
+    public void start() {
+        if (started || cancelled) return;
+        started = true;
+        
+        // Orden: lo más barato y lo más probable primero
+        Executor main = AppExecutors.getInstance().main();
+        AppContainer container = AppContainer.from(appContext);
+        schedule(new Job("bag", () -> container.bagRepository().loadBag().addCallback(main,
+            (bag, error) -> {
+                if (!cancelled && bag != null) PrefetchCache.getInstance().putBag(bag);
+            })));
+        schedule(new Job("obtained-pokemon", () -> container.pokemonRepository().loadObtainedPokemon()
+            .addCallback(main, (obtained, error) -> onObtainedPokemonLoaded(obtained))));
+        schedule(new Job("pokedex-statuses", () -> container.pokedexRepository().loadEntryStatuses()
+            .addCallback(main, (statuses, error) -> {
+                if (!cancelled && statuses != null) PrefetchCache.getInstance().putPokedexStatuses(statuses);
+            })));
+        
+        PokedexAdapter pokedexFactory = new PokedexAdapter(null);
+        PokemonAdapter pokemonFactory = new PokemonAdapter(null);
+        for (int i = 0; i < SCREENFUL; i++) {
+            schedule(new Job("pokedex-view", () -> warmView(pokedexFactory, pokedexViewPool)));
+            schedule(new Job("pokemon-view", () -> warmView(pokemonFactory, pokemonViewPool)));
+        }
+        
+        schedule(new Job("pokedex-sprites", () -> {
+            for (int number = 1; number <= SCREENFUL; number++) {
+                preloadSprite(number);
+            }
+        }));
+    }
+    
+    /**
+     * Cancela todos los trabajos pendientes y libera los recursos del planificador.
+     */
+    @MainThread
+    public void cancel() {
+        cancelled = true;
+        jobs.clear();
+        if (registered) {
+            Looper.myQueue().removeIdleHandler(this);
+            registered = false;
+        }
+        for (Target<?> target : spritePreloads) {
+            Glide.with(appContext).clear(target);
+        }
+        spritePreloads.clear();
+        pokedexViewPool.clear();
+        pokemonViewPool.clear();
+        viewParent = null;
+    }
+    
+    @Override
+    public boolean queueIdle() {
+        Job job = jobs.poll();
+        if (cancelled || job == null) {
+            registered = false;
+            return false;
+        }
+        
+        long start = SystemClock.uptimeMillis();
+        try {
+            job.body.run();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error en la precarga " + job.name, e);
+        }
+        Log.d(TAG, job.name + ": " + (SystemClock.uptimeMillis() - start) + " ms en el hilo principal");
+        
+        registered = !jobs.isEmpty();
+        return registered;
+    }
+    
+    @MainThread
+    private void schedule(Job job) {
+        if (cancelled) return;
+        jobs.add(job);
+        if (!registered) {
+            Looper.myQueue().addIdleHandler(this);
+            registered = true;
+        }
+    }
+    
+    /** Guarda los Pokémon obtenidos y encola sus sprites */
+    @MainThread
+    private void onObtainedPokemonLoaded(List<OwnedPokemon> obtained) {
+        if (cancelled || obtained == null) return;
+        PrefetchCache.getInstance().putObtainedPokemon(obtained);
+        if (obtained.isEmpty()) return;
+        
+        int[] numbers = new int[Math.min(SCREENFUL, obtained.size())];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = obtained.get(i).pokedexNumber;
+        }
+        schedule(new Job("pokemon-sprites", () -> {
+            for (int number : numbers) {
+                preloadSprite(number);
+            }
+        }));
+    }
+    
+    private void warmView(RecyclerView.Adapter<?> factory, RecyclerView.RecycledViewPool pool) {
+        if (viewParent == null) {
+            viewParent = new RecyclerView(uiContext);
+            viewParent.setLayoutManager(new LinearLayoutManager(uiContext));
+        }
+        pool.putRecycledView(factory.createViewHolder(viewParent, 0));
+    }
+    
+    private void preloadSprite(int pokedexNumber) {
+        spritePreloads.add(Glide.with(appContext)
+            .load(POKEMON_SPRITE_URL + pokedexNumber + ".png")
+            .diskCacheStrategy(DiskCacheStrategy.ALL)
+            .preload());
+    }
+    
+    private static final class Job {
+        final String name;
+        final Runnable body;
+        
+        Job(String name, Runnable body) {
+            this.name = name;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.pokerun.ui.prefetch;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.model.OwnedPokemon;
+import com.example.pokerun.data.database.model.PokedexStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Última instantánea conocida de los datos de cada pestaña.
+ * 
+ * La rellena IdlePrefetchScheduler en segundo plano y la actualizan los
+ * ViewModels con cada emisión de Room. Al volver a crear un Fragment, su
+ * ViewModel publica primero esta instantánea, de modo que el primer frame ya
+ * tiene datos mientras Room repite la consulta.
+ * 
+ * Memoria acotada: LruCache medida en número de elementos (MAX_ITEMS).
+ * Se vacía con onTrimMemory desde PokeRunApplication.
+ */
+public final class PrefetchCache {
+    /** 151 estados de Pokédex + hasta 151 Pokémon obtenidos + mochila, con margen */
+    private static final int MAX_ITEMS = 512;
+    
+    private static final String KEY_POKEDEX_STATUSES = "pokedex_statuses";
+    private static final String KEY_OBTAINED_POKEMON = "obtained_pokemon";
+    private static final String KEY_BAG = "bag";
+    
+    private static final PrefetchCache INSTANCE = new PrefetchCache();
+    
+    private final LruCache<String, List<?>> cache = new LruCache<String, List<?>>(MAX_ITEMS) {
+        @Override
+        protected int sizeOf(String key, List<?> value) {
+            return Math.max(1, value.size());
+        }
+    };
+    
+    private PrefetchCache() {}
+    
+    public static PrefetchCache getInstance() {
+        return INSTANCE;
+    }
+    
+    @Nullable
+    public List<PokedexStatus> getPokedexStatuses() {
+        return get(KEY_POKEDEX_STATUSES);
+    }
+    
+    public void putPokedexStatuses(@Nullable List<PokedexStatus> statuses) {
+        put(KEY_POKEDEX_STATUSES, statuses);
+    }
+    
+    @Nullable
+    public List<OwnedPokemon> getObtainedPokemon() {
+        return get(KEY_OBTAINED_POKEMON);
+    }
+    
+    public void putObtainedPokemon(@Nullable List<OwnedPokemon> pokemon) {
+        put(KEY_OBTAINED_POKEMON, pokemon);
+    }
+    
+    @Nullable
+    public BagEntity getBag() {
+        List<BagEntity> bag = get(KEY_BAG);
+        return bag != null ? bag.get(0) : null;
+    }
+    
+    public void putBag(@Nullable BagEntity bag) {
+        put(KEY_BAG, bag != null ? Collections.singletonList(bag) : null);
+    }
+    
+    public void clear() {
+        cache.evictAll();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> List<T> get(String key) {
+        return (List<T>) cache.get(key);
+    }
+    
+    private void put(String key, @Nullable List<?> value) {
+        if (value == null) {
+            cache.remove(key);
+        } else {
+            cache.put(key, Collections.unmodifiableList(new ArrayList<>(value)));
+        }
+    }
+}
@@ -5,28 +5,43 @@ import android.util.Log;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 
+import com.example.pokerun.AppContainer;
 import com.example.pokerun.data.database.entity.BagEntity;
+import com.example.pokerun.data.database.model.HatchResult;
+import com.example.pokerun.data.hatch.EggTier;
 import com.example.pokerun.data.repository.BagRepository;
-import com.example.pokerun.data.repository.PokedexRepository;
 import com.example.pokerun.data.repository.PokemonRepository;
+import com.example.pokerun.data.write.WriteFuture;
+import com.example.pokerun.ui.prefetch.PrefetchCache;
 
 /**
  * ViewModel para la pantalla de Mochila.
- * Gestiona los items del jugador (huevos y caramelos raros) y las operaciones relacionadas.
+ * Gestiona los items del jugador (huevos de 5 y 10 km y caramelos raros) y las operaciones relacionadas.
  */
 public class BagViewModel extends AndroidViewModel {
     private static final String TAG = "BagViewModel";
     
     private final BagRepository bagRepository;
     private final PokemonRepository pokemonRepository;
-    private final PokedexRepository pokedexRepository;
+    private final MediatorLiveData<BagEntity> bag = new MediatorLiveData<>();
     
     public BagViewModel(Application application) {
         super(application);
-        bagRepository = new BagRepository(application);
-        pokemonRepository = new PokemonRepository(application);
-        pokedexRepository = new PokedexRepository(application);
+        AppContainer container = AppContainer.from(application);
+        bagRepository = container.bagRepository();
+        pokemonRepository = container.pokemonRepository();
+        
+        // Instantánea precargada primero; Room la sustituye con su primera emisión
+        BagEntity cached = PrefetchCache.getInstance().getBag();
+        if (cached != null) {
+            bag.setValue(cached);
+        }
+        bag.addSource(bagRepository.getBag(), current -> {
+            PrefetchCache.getInstance().putBag(current);
+            bag.setValue(current);
+        });
     }
     
     /**
@@ -34,16 +49,25 @@ public class BagViewModel extends AndroidViewModel {
      * @return LiveData con la entidad de la mochila
      */
     public LiveData<BagEntity> getBag() {
-        return bagRepository.getBag();
+        return bag;
     }
     
     /**
-     * Marca un Pokémon como obtenido y lo desbloquea en la Pokédex
-     * @param pokemonId ID del Pokémon obtenido
-     * @param pokedexNumber Número de Pokédex para desbloquear
+     * Abre un huevo del tipo indicado: descuento, elección del Pokémon
+     * (con los pesos del tipo), marcado y desbloqueo en la Pokédex se
+     * confirman en una sola transacción
+     * @return futuro con el resultado de la apertura
      */
-    public void markPokemonObtained(int pokemonId, int pokedexNumber) {
-        pokemonRepository.markPokemonAsObtained(pokemonId);
-        pokedexRepository.unlockEntry(pokedexNumber);
+    public WriteFuture<HatchResult> hatchEgg(EggTier tier) {
+        return pokemonRepository.hatchEggs(1, tier);
+    }
+    
+    /**
+     * Abre todos los huevos de 5 km que permitan la mochila y los Pokémon pendientes,
+     * hasta count, en una sola transacción
+     * @return futuro con el resultado y la lista de Pokémon obtenidos
+     */
+    public WriteFuture<HatchResult> hatchEggs(int count) {
+        return pokemonRepository.hatchEggs(count);
     }
 }
@@ -5,9 +5,10 @@ import android.app.Application;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 
+import com.example.pokerun.AppContainer;
 import com.example.pokerun.data.database.entity.BagEntity;
-import com.example.pokerun.data.database.entity.PokemonEntity;
 import com.example.pokerun.data.database.entity.UserSettingsEntity;
+import com.example.pokerun.data.database.model.OwnedPokemon;
 import com.example.pokerun.data.repository.BagRepository;
 import com.example.pokerun.data.repository.PokemonRepository;
 import com.example.pokerun.data.repository.UserSettingsRepository;
@@ -21,15 +22,16 @@ public class MainViewModel extends AndroidViewModel {
     
     public MainViewModel(Application application) {
         super(application);
-        pokemonRepository = new PokemonRepository(application);
-        bagRepository = new BagRepository(application);
-        settingsRepository = new UserSettingsRepository(application);
+        AppContainer container = AppContainer.from(application);
+        pokemonRepository = container.pokemonRepository();
+        bagRepository = container.bagRepository();
+        settingsRepository = container.settingsRepository();
         
         // Los datos ya se inicializan en PokeRunApplication
         // No es necesario inicializarlos aquí de nuevo
     }
     
-    public LiveData<List<PokemonEntity>> getObtainedPokemon() {
+    public LiveData<List<OwnedPokemon>> getObtainedPokemon() {
         return pokemonRepository.getAllObtainedPokemon();
     }
     
@@ -1,25 +1,94 @@
 package com.example.pokerun.ui.viewmodel;
 
 import android.app.Application;
+import android.util.Log;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
 
+import com.example.pokerun.AppContainer;
+import com.example.pokerun.PokeRunApplication;
+import com.example.pokerun.concurrent.AppExecutors;
+import com.example.pokerun.data.catalog.SpeciesCatalog;
 import com.example.pokerun.data.database.entity.PokedexEntryEntity;
+import com.example.pokerun.data.database.model.PokedexStatus;
 import com.example.pokerun.data.repository.PokedexRepository;
 import com.example.pokerun.data.repository.UserSettingsRepository;
+import com.example.pokerun.ui.prefetch.PrefetchCache;
 
 import java.util.List;
 
 public class PokedexViewModel extends AndroidViewModel {
+    private static final String TAG = "PokedexViewModel";
+    
     private PokedexRepository pokedexRepository;
     private UserSettingsRepository settingsRepository;
+    private final MutableLiveData<SpeciesCatalog> catalog = new MutableLiveData<>();
+    private final LiveData<Boolean> catalogReady;
+    private final MediatorLiveData<List<PokedexStatus>> entryStatuses = new MediatorLiveData<>();
     
     public PokedexViewModel(Application application) {
         super(application);
-        pokedexRepository = new PokedexRepository(application);
-        settingsRepository = new UserSettingsRepository(application);
+        AppContainer container = AppContainer.from(application);
+        pokedexRepository = container.pokedexRepository();
+        settingsRepository = container.settingsRepository();
         // Los datos ya se inicializan en PokeRunApplication
+        loadCatalog(application);
+        
+        // No emitir la lista hasta que la tarea de arranque del catálogo haya terminado,
+        // para no mostrar una Pokédex vacía o incompleta mientras se sincroniza
+        catalogReady = ((PokeRunApplication) application).getStartup()
+            .readiness(PokeRunApplication.TASK_CATALOG);
+        // Instantánea precargada: el primer frame ya tiene la lista mientras Room consulta
+        List<PokedexStatus> cached = PrefetchCache.getInstance().getPokedexStatuses();
+        if (cached != null) {
+            entryStatuses.setValue(cached);
+        }
+        entryStatuses.addSource(catalogReady, ready -> {
+            if (Boolean.TRUE.equals(ready)) {
+                entryStatuses.removeSource(catalogReady);
+                entryStatuses.addSource(pokedexRepository.getEntryStatuses(), statuses -> {
+                    PrefetchCache.getInstance().putPokedexStatuses(statuses);
+                    entryStatuses.setValue(statuses);
+                });
+            }
+        });
+    }
+    
+    /**
+     * Abre (o genera la primera vez) el catálogo binario fuera del hilo principal.
+     * Puede leer y mapear el fichero, así que va al carril de lectura y no a cpu()
+     */
+    private void loadCatalog(Application application) {
+        SpeciesCatalog opened = SpeciesCatalog.peek();
+        if (opened != null) {
+            catalog.setValue(opened);
+            return;
+        }
+        AppExecutors.getInstance().dbRead().execute(() -> {
+            try {
+                catalog.postValue(SpeciesCatalog.get(application));
+            } catch (Exception e) {
+                Log.e(TAG, "Error abriendo el catálogo de especies", e);
+            }
+        });
+    }
+    
+    public LiveData<SpeciesCatalog> getCatalog() {
+        return catalog;
+    }
+    
+    public LiveData<Boolean> isCatalogReady() {
+        return catalogReady;
+    }
+    
+    /**
+     * Estados de la Pokédex; solo empieza a emitir cuando el catálogo está listo
+     */
+    public LiveData<List<PokedexStatus>> getEntryStatuses() {
+        return entryStatuses;
     }
     
     public LiveData<List<PokedexEntryEntity>> getAllEntries() {
@@ -30,4 +99,3 @@ public class PokedexViewModel extends AndroidViewModel {
         return pokedexRepository.getEntryByNumber(number);
     }
 }
-
@@ -4,25 +4,39 @@ import android.app.Application;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 
-import com.example.pokerun.data.database.entity.PokemonEntity;
+import com.example.pokerun.AppContainer;
+import com.example.pokerun.data.database.model.OwnedPokemon;
 import com.example.pokerun.data.repository.PokemonRepository;
+import com.example.pokerun.ui.prefetch.PrefetchCache;
 
 import java.util.List;
 
 public class PokemonViewModel extends AndroidViewModel {
     private PokemonRepository pokemonRepository;
+    private final MediatorLiveData<List<OwnedPokemon>> obtainedPokemon = new MediatorLiveData<>();
     
     public PokemonViewModel(Application application) {
         super(application);
-        pokemonRepository = new PokemonRepository(application);
+        pokemonRepository = AppContainer.from(application).pokemonRepository();
+        
+        // Instantánea precargada primero; Room la sustituye con su primera emisión
+        List<OwnedPokemon> cached = PrefetchCache.getInstance().getObtainedPokemon();
+        if (cached != null) {
+            obtainedPokemon.setValue(cached);
+        }
+        obtainedPokemon.addSource(pokemonRepository.getAllObtainedPokemon(), pokemon -> {
+            PrefetchCache.getInstance().putObtainedPokemon(pokemon);
+            obtainedPokemon.setValue(pokemon);
+        });
     }
     
-    public LiveData<List<PokemonEntity>> getObtainedPokemon() {
-        return pokemonRepository.getAllObtainedPokemon();
+    public LiveData<List<OwnedPokemon>> getObtainedPokemon() {
+        return obtainedPokemon;
     }
     
-    public LiveData<PokemonEntity> getPokemonById(int id) {
+    public LiveData<OwnedPokemon> getPokemonById(int id) {
         return pokemonRepository.getPokemonById(id);
     }
 }
@@ -5,6 +5,7 @@ import android.app.Application;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 
+import com.example.pokerun.AppContainer;
 import com.example.pokerun.data.database.entity.UserSettingsEntity;
 import com.example.pokerun.data.repository.UserSettingsRepository;
 
@@ -13,7 +14,7 @@ public class SettingsViewModel extends AndroidViewModel {
     
     public SettingsViewModel(Application application) {
         super(application);
-        settingsRepository = new UserSettingsRepository(application);
+        settingsRepository = AppContainer.from(application).settingsRepository();
     }
     
     public LiveData<UserSettingsEntity> getSettings() {
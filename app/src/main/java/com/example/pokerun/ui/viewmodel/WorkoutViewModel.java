@@ -10,8 +10,9 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.pokerun.AppContainer;
 import com.example.pokerun.data.database.entity.WorkoutEntity;
-import com.example.pokerun.data.repository.BagRepository;
+import com.example.pokerun.data.hatch.EggTier;
 import com.example.pokerun.data.repository.WorkoutRepository;
 
 import java.util.List;
@@ -21,7 +22,7 @@ import java.util.List;
  * 
  * PATRÓN MVVM - CAPA VIEWMODEL:
  * Este ViewModel actúa como intermediario entre la Vista (WorkoutFragment) y
- * el Modelo (WorkoutRepository, BagRepository). Sus responsabilidades incluyen:
+ * el Modelo (WorkoutRepository). Sus responsabilidades incluyen:
  * 
  * 1. GESTIÓN DEL ESTADO:
  *    - Mantiene el estado del entrenamiento activo mediante LiveData
@@ -42,17 +43,15 @@ import java.util.List;
  * - 1 caramelo raro por cada 5km recorridos (15km = 3 caramelos)
  * 
  * @see WorkoutFragment Vista que observa este ViewModel
- * @see WorkoutRepository Repositorio para persistir entrenamientos
- * @see BagRepository Repositorio para actualizar el inventario
+ * @see WorkoutRepository Repositorio para persistir entrenamientos y sus recompensas
  */
 public class WorkoutViewModel extends AndroidViewModel {
     
     // Constante: metros aproximados por paso
     private static final double METERS_PER_STEP = 0.7;
     
-    // Repositorios
+    // Repositorio
     private final WorkoutRepository workoutRepository;
-    private final BagRepository bagRepository;
     
     // Estado del entrenamiento
     private final MutableLiveData<Boolean> isWorkoutActive = new MutableLiveData<>(false);
@@ -68,8 +67,7 @@ public class WorkoutViewModel extends AndroidViewModel {
     
     public WorkoutViewModel(Application application) {
         super(application);
-        workoutRepository = new WorkoutRepository(application);
-        bagRepository = new BagRepository(application);
+        workoutRepository = AppContainer.from(application).workoutRepository();
         
         // Inicializar sensor de pasos
         sensorManager = (SensorManager) application.getSystemService(android.content.Context.SENSOR_SERVICE);
@@ -167,8 +165,8 @@ public class WorkoutViewModel extends AndroidViewModel {
         
         int finalSteps = currentSteps != null ? currentSteps : 0;
         
-        // Calcular recompensas
-        int eggsEarned = finalDistance >= 5.0 ? 1 : 0;
+        // Calcular recompensas: un huevo del mejor tipo que alcance la distancia
+        int eggsEarned = EggTier.forDistanceKm(finalDistance) != null ? 1 : 0;
         int candiesEarned = (int) (finalDistance / 5.0);
         
         // Guardar en base de datos
@@ -180,38 +178,30 @@ public class WorkoutViewModel extends AndroidViewModel {
      */
     public void finishManualWorkout(double distanceKm, long manualStartTime) {
         // Calcular recompensas
-        int eggsEarned = distanceKm >= 5.0 ? 1 : 0;
+        int eggsEarned = EggTier.forDistanceKm(distanceKm) != null ? 1 : 0;
         int candiesEarned = (int) (distanceKm / 5.0);
         
         saveWorkout(manualStartTime, distanceKm, 0, false, eggsEarned, candiesEarned);
     }
     
     /**
-     * Guarda el entrenamiento en la base de datos y otorga recompensas
+     * Guarda el entrenamiento en la base de datos y otorga recompensas.
+     * Entrenamiento y recompensa son una sola escritura idempotente
+     * (WorkoutRepository.saveWorkout): repetir el guardado no duplica premios.
      */
     private void saveWorkout(long start, double distance, int steps, 
                              boolean fromStrava, int eggs, int candies) {
-        new Thread(() -> {
-            WorkoutEntity workout = new WorkoutEntity(
-                start,
-                System.currentTimeMillis(),
-                distance,
-                steps,
-                fromStrava,
-                eggs,
-                candies
-            );
-            
-            workoutRepository.insertWorkout(workout);
-            
-            // Otorgar recompensas
-            if (eggs > 0) {
-                bagRepository.addEggsSync(eggs);
-            }
-            if (candies > 0) {
-                bagRepository.addCandiesSync(candies);
-            }
-        }).start();
+        WorkoutEntity workout = new WorkoutEntity(
+            start,
+            System.currentTimeMillis(),
+            distance,
+            steps,
+            fromStrava,
+            eggs,
+            candies
+        );
+        
+        workoutRepository.saveWorkout(workout);
     }
     
     // ==================== SENSOR LISTENER ====================
@@ -0,0 +1,143 @@
+package com.example.pokerun.data.catalog;
+
+import com.example.pokerun.data.json.EvolutionCodec;
+import com.example.pokerun.data.json.EvolutionRecord;
+import com.example.pokerun.data.json.JsonCodecs;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica las tablas generadas contra evolutions.json.
+ * 
+ * La referencia recorre los pares (from, to) en orden, igual que la cadena de
+ * comparaciones que tenía PokemonRepository, y calcula la etapa de forma
+ * recursiva. Para el grafo (raíces, familias y ramas) reconstruye la familia
+ * a partir de los pares en cada consulta.
+ */
+public class EvolutionsTest {
+    private static final String EVOLUTIONS_ASSET = "src/main/assets/evolutions.json";
+    
+    private static int[] pairFrom;
+    private static int[] pairTo;
+    
+    @BeforeClass
+    public static void loadPairs() throws IOException {
+        List<EvolutionRecord> evolutions;
+        try (JsonReader reader = JsonCodecs.newReader(new FileInputStream(EVOLUTIONS_ASSET))) {
+            evolutions = JsonCodecs.readList(reader, EvolutionCodec.INSTANCE);
+        }
+        pairFrom = new int[evolutions.size()];
+        pairTo = new int[evolutions.size()];
+        for (int i = 0; i < evolutions.size(); i++) {
+            pairFrom[i] = evolutions.get(i).from;
+            pairTo[i] = evolutions.get(i).to;
+        }
+    }
+    
+    @Test
+    public void tablesMatchAsset() {
+        for (int number = 1; number <= Evolutions.maxNumber(); number++) {
+            assertEquals("evolvesFrom #" + number, legacyEvolvesFrom(number), Evolutions.evolvesFrom(number));
+            assertEquals("evolvesTo #" + number, legacyEvolvesTo(number), Evolutions.evolvesTo(number));
+            assertEquals("stage #" + number, legacyStage(number), Evolutions.stage(number));
+        }
+        assertEquals(3, Evolutions.branchCount(133));
+        assertEquals(134, Evolutions.branch(133, 0));
+        assertEquals(136, Evolutions.branch(133, 2));
+    }
+    
+    @Test
+    public void graphMatchesAsset() {
+        for (int number = 1; number <= Evolutions.maxNumber(); number++) {
+            int root = legacyRoot(number);
+            assertEquals("root #" + number, root, Evolutions.root(number));
+            int[] chain = Evolutions.chain(number);
+            assertEquals("chainSize #" + number, chain.length, Evolutions.chainSize(number));
+            for (int i = 0; i < chain.length; i++) {
+                assertEquals("chainMember #" + number, chain[i], Evolutions.chainMember(number, i));
+            }
+            assertEquals("chain[0] #" + number, root, chain[0]);
+            int[] expected = legacyFamily(root);
+            int[] sorted = chain.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals("chain #" + number, expected, sorted);
+            
+            int[] stages = Evolutions.nextStages(number);
+            assertEquals(Evolutions.branchCount(number), stages.length);
+            assertEquals(stages.length > 0, Evolutions.canEvolve(number));
+            for (int i = 0; i < stages.length; i++) {
+                assertEquals(Evolutions.branch(number, i), stages[i]);
+                assertTrue(Evolutions.isBranch(number, stages[i]));
+            }
+        }
+        assertArrayEquals(new int[] {134, 135, 136}, Evolutions.nextStages(133));
+        assertArrayEquals(new int[] {133, 134, 135, 136}, Evolutions.chain(136));
+        assertArrayEquals(new int[] {1, 2, 3}, Evolutions.chain(2));
+        assertEquals(1, Evolutions.root(3));
+        assertTrue(Evolutions.isBranch(133, 135));
+        assertFalse(Evolutions.isBranch(1, 3));
+        assertFalse(Evolutions.isBranch(0, 1));
+        assertFalse(Evolutions.canEvolve(0));
+        assertEquals(0, Evolutions.root(Evolutions.maxNumber() + 1));
+        assertEquals(0, Evolutions.chain(0).length);
+        assertEquals(0, Evolutions.nextStages(136).length);
+        assertEquals(0, Evolutions.chainSize(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> Evolutions.chainMember(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> Evolutions.chainMember(0, 0));
+    }
+    
+    private static int legacyRoot(int number) {
+        int from = legacyEvolvesFrom(number);
+        return from == 0 ? number : legacyRoot(from);
+    }
+    
+    /** Números de la familia de la raíz, ordenados */
+    private static int[] legacyFamily(int root) {
+        List<Integer> family = new ArrayList<>();
+        family.add(root);
+        for (int i = 0; i < family.size(); i++) {
+            for (int j = 0; j < pairFrom.length; j++) {
+                if (pairFrom[j] == family.get(i)) family.add(pairTo[j]);
+            }
+        }
+        int[] numbers = new int[family.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = family.get(i);
+        }
+        Arrays.sort(numbers);
+        return numbers;
+    }
+    
+    private static int legacyEvolvesFrom(int number) {
+        for (int i = 0; i < pairTo.length; i++) {
+            if (pairTo[i] == number) return pairFrom[i];
+        }
+        return 0;
+    }
+    
+    private static int legacyEvolvesTo(int number) {
+        for (int i = 0; i < pairFrom.length; i++) {
+            if (pairFrom[i] == number) return pairTo[i];
+        }
+        return 0;
+    }
+    
+    private static int legacyStage(int number) {
+        int from = legacyEvolvesFrom(number);
+        return from == 0 ? 0 : legacyStage(from) + 1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.pokerun.data.catalog;
+
+import com.example.pokerun.data.json.JsonCodecs;
+import com.example.pokerun.data.json.PokedexRecord;
+import com.example.pokerun.data.json.PokedexRecordCodec;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica la codificación de PokemonType contra pokedex.json y contra los
+ * nombres que la semilla lee del enum.
+ */
+public class PokemonTypeTest {
+    private static final String POKEDEX_ASSET = "src/main/assets/pokedex.json";
+    private static final String ENUM_SOURCE = "src/main/java/com/example/pokerun/data/catalog/PokemonType.java";
+    
+    @Test
+    public void codesAndMasksAreStable() {
+        assertEquals(18, PokemonType.values().length);
+        int allMasks = 0;
+        for (PokemonType type : PokemonType.values()) {
+            assertEquals(type.ordinal() + 1, type.code);
+            assertEquals(type, PokemonType.fromCode(type.code));
+            assertEquals(type, PokemonType.fromName(type.jsonName));
+            assertEquals(type, PokemonType.fromName(type.label(false)));
+            assertEquals(0, allMasks & type.mask);
+            allMasks |= type.mask;
+        }
+        assertNull(PokemonType.fromCode(PokemonType.NONE));
+        assertNull(PokemonType.fromCode(19));
+        assertNull(PokemonType.fromName(""));
+        assertNull(PokemonType.fromName("Sonido"));
+        
+        int grassPoison = PokemonType.maskOf(PokemonType.GRASS, PokemonType.POISON);
+        assertEquals(grassPoison, PokemonType.maskOf(PokemonType.GRASS, (PokemonType) null) | PokemonType.POISON.mask);
+        assertTrue((grassPoison & PokemonType.POISON.mask) != 0);
+        assertEquals(0, grassPoison & PokemonType.maskOf(PokemonType.FIRE, PokemonType.WATER));
+        assertEquals("Planta / Veneno", PokemonType.label(PokemonType.GRASS, PokemonType.POISON, false));
+        assertEquals("Fire", PokemonType.label(PokemonType.FIRE, null, true));
+    }
+    
+    @Test
+    public void everyAssetTypeIsKnown() throws IOException {
+        for (PokedexRecord record : readPokedex()) {
+            assertNotNull("type1 #" + record.number, PokemonType.fromName(record.type1));
+            if (record.type2 != null) {
+                assertNotNull("type2 #" + record.number, PokemonType.fromName(record.type2));
+            }
+        }
+    }
+    
+    @Test
+    public void seedReadsTypeNamesInEnumOrder() throws IOException {
+        // CatalogDerivation.typeNames (build.gradle.kts) asigna los códigos de la semilla
+        // leyendo las constantes del código fuente con este mismo patrón
+        String source = new String(Files.readAllBytes(Paths.get(ENUM_SOURCE)), StandardCharsets.UTF_8);
+        int start = source.indexOf("enum PokemonType {");
+        assertTrue("Falta el enum en " + ENUM_SOURCE, start >= 0);
+        String constants = source.substring(start, source.indexOf(");", start));
+        Matcher constant = Pattern.compile("^\\s+[A-Z_]+\\(\"([^\"]+)\"", Pattern.MULTILINE).matcher(constants);
+        List<String> seedNames = new ArrayList<>();
+        while (constant.find()) {
+            seedNames.add(constant.group(1));
+        }
+        List<String> enumNames = new ArrayList<>();
+        for (PokemonType type : PokemonType.values()) {
+            enumNames.add(type.jsonName);
+        }
+        assertEquals(enumNames, seedNames);
+    }
+    
+    private static List<PokedexRecord> readPokedex() throws IOException {
+        List<PokedexRecord> records = new ArrayList<>();
+        try (JsonReader reader = JsonCodecs.newReader(new FileInputStream(POKEDEX_ASSET))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                PokedexRecord record = new PokedexRecord();
+                PokedexRecordCodec.INSTANCE.read(reader, record);
+                records.add(record);
+            }
+            reader.endArray();
+        }
+        return records;
+    }
+}
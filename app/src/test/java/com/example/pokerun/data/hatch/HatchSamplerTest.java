@@ -0,0 +1,118 @@
+package com.example.pokerun.data.hatch;
+
+import com.example.pokerun.data.database.model.HatchCandidate;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica HatchSampler: sorteos sin repetición, rollback de lo no
+ * confirmado y distribución uniforme con pesos uniformes.
+ * 
+ * El catálogo sintético imita la primera generación: 151 especies de las que
+ * una de cada dos es de primera etapa.
+ */
+public class HatchSamplerTest {
+    private static final int SPECIES = 151;
+    
+    @Test
+    public void drawsAreDistinctUntilExhausted() {
+        HatchSampler sampler = new HatchSampler(new Random(7));
+        sampler.rebuild(candidates(), HatchWeights.uniform());
+        int expected = sampler.size();
+        
+        Set<Integer> seen = new HashSet<>();
+        int[] out = new int[3];
+        int drawn;
+        while ((drawn = sampler.draw(3, out)) > 0) {
+            for (int i = 0; i < drawn; i++) {
+                assertTrue("Repetido: " + out[i], seen.add(out[i]));
+                assertFalse(sampler.contains(out[i]));
+            }
+        }
+        assertEquals(expected, seen.size());
+        assertEquals(new HashSet<>(baseStageIds()), seen);
+        assertEquals(0, sampler.size());
+    }
+    
+    @Test
+    public void rollbackRestoresUncommittedDraws() {
+        HatchSampler sampler = new HatchSampler(new Random(11));
+        sampler.rebuild(candidates(), HatchWeights.uniform());
+        sampler.commit();
+        int initial = sampler.size();
+        int[] out = new int[5];
+        
+        sampler.draw(2, out);
+        sampler.commit();
+        int kept = out[0];
+        
+        sampler.draw(5, out);
+        sampler.remove(baseStageIds().get(0));
+        sampler.rollback();
+        
+        assertEquals(initial - 2, sampler.size());
+        assertFalse(sampler.contains(kept));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(sampler.contains(out[i]));
+        }
+        
+        // Una reconstrucción revertida no se conserva
+        sampler.rebuild(candidates(), HatchWeights.uniform());
+        sampler.rollback();
+        assertFalse(sampler.isLoaded());
+    }
+    
+    @Test
+    public void drawIsUniform() {
+        HatchSampler sampler = new HatchSampler(new Random(3));
+        List<Integer> ids = baseStageIds();
+        sampler.rebuild(candidates(), HatchWeights.uniform());
+        sampler.commit();
+        
+        int[] hits = new int[SPECIES + 1];
+        int[] out = new int[1];
+        int draws = ids.size() * 2_000;
+        for (int i = 0; i < draws; i++) {
+            sampler.draw(1, out);
+            sampler.rollback();
+            hits[out[0]]++;
+        }
+        
+        // Chi-cuadrado con k - 1 grados de libertad; 3 desviaciones de margen
+        double expected = (double) draws / ids.size();
+        double chiSquare = 0;
+        for (int id : ids) {
+            double diff = hits[id] - expected;
+            chiSquare += diff * diff / expected;
+        }
+        int freedom = ids.size() - 1;
+        assertTrue("chi² = " + chiSquare, chiSquare < freedom + 3 * Math.sqrt(2.0 * freedom));
+    }
+    
+    /** Ids de primera etapa del catálogo sintético (impares) */
+    private static List<Integer> baseStageIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= SPECIES; id += 2) {
+            ids.add(id);
+        }
+        return ids;
+    }
+    
+    private static List<HatchCandidate> candidates() {
+        List<HatchCandidate> candidates = new ArrayList<>();
+        for (int id : baseStageIds()) {
+            candidates.add(new HatchCandidate(id));
+        }
+        return candidates;
+    }
+}
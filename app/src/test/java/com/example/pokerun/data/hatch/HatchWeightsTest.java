@@ -0,0 +1,127 @@
+package com.example.pokerun.data.hatch;
+
+import com.example.pokerun.data.database.model.HatchCandidate;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica las tablas de alias contra hatch_weights.json.
+ * 
+ * La precisión se comprueba con un chi-cuadrado sobre las frecuencias de
+ * cada especie frente a peso / peso total.
+ */
+public class HatchWeightsTest {
+    private static final String WEIGHTS_ASSET = "src/main/assets/hatch_weights.json";
+    private static final int SPECIES = 151;
+    private static final int DRAWS = 2_000_000;
+    
+    private static HatchWeights weights;
+    
+    @BeforeClass
+    public static void loadAsset() throws IOException {
+        weights = HatchWeights.read(new FileInputStream(WEIGHTS_ASSET));
+    }
+    
+    @Test
+    public void assetWeights() {
+        assertEquals(10, weights.weight(EggTier.STANDARD, 16));
+        assertEquals(1, weights.weight(EggTier.STANDARD, 150));
+        assertEquals(4, weights.weight(EggTier.LONG, 16));
+        assertEquals(8, weights.weight(EggTier.LONG, 133));
+        assertEquals(1, HatchWeights.uniform().weight(EggTier.LONG, 150));
+        
+        assertNull(EggTier.forDistanceKm(4.9));
+        assertEquals(EggTier.STANDARD, EggTier.forDistanceKm(7.5));
+        assertEquals(EggTier.LONG, EggTier.forDistanceKm(12.0));
+    }
+    
+    @Test
+    public void aliasTableMatchesWeights() {
+        for (EggTier tier : EggTier.values()) {
+            int[] ids = new int[SPECIES];
+            int[] tierWeights = new int[SPECIES];
+            long total = 0;
+            for (int i = 0; i < SPECIES; i++) {
+                ids[i] = i + 1;
+                tierWeights[i] = weights.weight(tier, i + 1);
+                total += tierWeights[i];
+            }
+            AliasTable table = new AliasTable();
+            table.build(SPECIES, ids, tierWeights);
+            assertEquals(total, table.totalWeight());
+            
+            Random random = new Random(42 + tier.ordinal());
+            int[] hits = new int[SPECIES + 1];
+            for (int i = 0; i < DRAWS; i++) {
+                hits[table.sample(random)]++;
+            }
+            assertChiSquare(tier.name(), hits, tierWeights, total, DRAWS);
+        }
+    }
+    
+    @Test
+    public void samplerFollowsTierWeights() {
+        // Sorteo con devolución (draw + rollback): cada tirada ve el conjunto completo
+        HatchSampler sampler = new HatchSampler(new Random(5));
+        List<HatchCandidate> candidates = new ArrayList<>();
+        for (int number = 1; number <= SPECIES; number++) {
+            candidates.add(new HatchCandidate(number));
+        }
+        sampler.rebuild(candidates, weights);
+        sampler.commit();
+        
+        int[] tierWeights = new int[SPECIES];
+        long total = 0;
+        for (int i = 0; i < SPECIES; i++) {
+            tierWeights[i] = weights.weight(EggTier.LONG, i + 1);
+            total += tierWeights[i];
+        }
+        int[] hits = new int[SPECIES + 1];
+        int[] out = new int[1];
+        int draws = DRAWS / 4;
+        for (int i = 0; i < draws; i++) {
+            sampler.draw(EggTier.LONG, 1, out);
+            sampler.rollback();
+            hits[out[0]]++;
+        }
+        assertChiSquare("sampler LONG", hits, tierWeights, total, draws);
+        
+        // Sin devolución: se agotan todos, sin repetir
+        boolean[] seen = new boolean[SPECIES + 1];
+        int[] batch = new int[50];
+        int drawn;
+        int distinct = 0;
+        while ((drawn = sampler.draw(EggTier.STANDARD, 50, batch)) > 0) {
+            for (int i = 0; i < drawn; i++) {
+                assertTrue("Repetido: " + batch[i], !seen[batch[i]]);
+                seen[batch[i]] = true;
+                distinct++;
+            }
+        }
+        assertEquals(SPECIES, distinct);
+    }
+    
+    /** hits está indexado por id (= posición + 1 en weights) */
+    private static void assertChiSquare(String label, int[] hits, int[] weights, long total, int draws) {
+        double chiSquare = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double expected = (double) draws * weights[i] / total;
+            double diff = hits[i + 1] - expected;
+            chiSquare += diff * diff / expected;
+        }
+        // k - 1 grados de libertad; 4 desviaciones de margen para no fallar por azar
+        int freedom = weights.length - 1;
+        assertTrue(label + ": chi² = " + chiSquare, chiSquare < freedom + 4 * Math.sqrt(2.0 * freedom));
+    }
+}
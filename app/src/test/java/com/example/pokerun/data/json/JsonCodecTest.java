@@ -0,0 +1,104 @@
+package com.example.pokerun.data.json;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Verifica PokedexRecordCodec contra Gson por reflexión y que lo escrito por
+ * los codecs se vuelve a leer igual.
+ */
+public class JsonCodecTest {
+    private static final String POKEDEX_ASSET = "src/main/assets/pokedex.json";
+    private static final String EVOLUTIONS_ASSET = "src/main/assets/evolutions.json";
+    
+    private static String pokedexJson;
+    
+    @BeforeClass
+    public static void loadAsset() throws IOException {
+        pokedexJson = new String(Files.readAllBytes(Paths.get(POKEDEX_ASSET)), StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    public void codecMatchesGson() throws IOException {
+        List<PokedexData> expected = parseWithGson(new Gson());
+        List<PokedexRecord> actual = JsonCodecs.readList(new JsonReader(new StringReader(pokedexJson)),
+            PokedexRecordCodec.INSTANCE);
+        
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            PokedexData data = expected.get(i);
+            PokedexRecord record = actual.get(i);
+            assertEquals(data.number, record.number);
+            assertEquals(data.name, record.name);
+            assertEquals(data.nameEn, record.nameEn);
+            assertEquals(data.type1, record.type1);
+            assertEquals(data.type2 == null || data.type2.isEmpty() ? null : data.type2, record.type2);
+            assertEquals(data.description, record.description);
+            assertEquals(data.descriptionEn, record.descriptionEn);
+        }
+    }
+    
+    @Test
+    public void roundTrip() throws IOException {
+        List<PokedexRecord> records = JsonCodecs.readList(new JsonReader(new StringReader(pokedexJson)),
+            PokedexRecordCodec.INSTANCE);
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            JsonCodecs.writeArray(writer, PokedexRecordCodec.INSTANCE, records);
+        }
+        List<PokedexRecord> reread = JsonCodecs.readList(new JsonReader(new StringReader(out.toString())),
+            PokedexRecordCodec.INSTANCE);
+        
+        assertEquals(records.size(), reread.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i).number, reread.get(i).number);
+            assertEquals(records.get(i).name, reread.get(i).name);
+            assertEquals(records.get(i).type2, reread.get(i).type2);
+            assertEquals(records.get(i).descriptionEn, reread.get(i).descriptionEn);
+        }
+        
+        List<EvolutionRecord> evolutions = JsonCodecs.readList(JsonCodecs.newReader(
+            Files.newInputStream(Paths.get(EVOLUTIONS_ASSET))), EvolutionCodec.INSTANCE);
+        assertEquals(1, evolutions.get(0).from);
+        assertEquals(2, evolutions.get(0).to);
+        
+        PokedexRecord empty = PokedexRecordCodec.INSTANCE.create();
+        PokedexRecordCodec.INSTANCE.read(new JsonReader(new StringReader(
+            "{\"number\": 7, \"type2\": \"\", \"extra\": [1, 2]}")), empty);
+        assertEquals(7, empty.number);
+        assertNull(empty.type2);
+    }
+    
+    private static List<PokedexData> parseWithGson(Gson gson) {
+        Type listType = new TypeToken<List<PokedexData>>(){}.getType();
+        return gson.fromJson(pokedexJson, listType);
+    }
+    
+    /** Forma del registro usada por el antiguo parseo con TypeToken */
+    private static class PokedexData {
+        int number;
+        String name;
+        String nameEn;
+        String type1;
+        String type2;
+        String description;
+        String descriptionEn;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.pokerun.data.repository;
+
+import com.example.pokerun.data.json.JsonCodecs;
+import com.example.pokerun.data.json.PokedexRecord;
+import com.example.pokerun.data.json.PokedexRecordCodec;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifica que CatalogSeeder.encodeUtf8 produce los mismos bytes que
+ * String.getBytes(UTF_8), de los que depende el hash de fila comparado con
+ * catalog_rows, con las filas de pokedex.json y casos límite de UTF-16.
+ */
+public class CatalogRowHashTest {
+    private static final String POKEDEX_ASSET = "src/main/assets/pokedex.json";
+    
+    private static List<String> rows;
+    
+    @BeforeClass
+    public static void loadRows() throws IOException {
+        rows = new ArrayList<>();
+        try (JsonReader reader = JsonCodecs.newReader(new FileInputStream(POKEDEX_ASSET))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                PokedexRecord record = new PokedexRecord();
+                PokedexRecordCodec.INSTANCE.read(reader, record);
+                rows.add(record.number + "\u001f" + record.name + "\u001f" + record.nameEn + "\u001f"
+                    + record.type1 + "\u001f" + record.type2 + "\u001f" + record.description + "\u001f"
+                    + record.descriptionEn);
+            }
+            reader.endArray();
+        }
+    }
+    
+    @Test
+    public void encodingMatchesGetBytes() {
+        List<String> samples = new ArrayList<>(rows);
+        samples.addAll(Arrays.asList("", "Pokémon ♀ ♂", "\u0000\u001f", "😀 huevo",
+            "\uD800 sin pareja", "fin \uDBFF", "\uDC00\uD800"));
+        byte[] buffer = new byte[16];
+        for (String text : samples) {
+            if (buffer.length < text.length() * 3) {
+                buffer = new byte[text.length() * 3];
+            }
+            int length = CatalogSeeder.encodeUtf8(text, buffer);
+            assertArrayEquals(text, text.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(buffer, length));
+        }
+    }
+    
+    @Test
+    public void reusedBufferGivesSameCrc() {
+        // Un único StringBuilder y un único buffer para todas las filas, como en CatalogSeeder
+        CRC32 expected = new CRC32();
+        CRC32 actual = new CRC32();
+        StringBuilder canonical = new StringBuilder(512);
+        byte[] buffer = new byte[512 * 3];
+        for (String row : rows) {
+            canonical.setLength(0);
+            canonical.append(row);
+            if (buffer.length < canonical.length() * 3) {
+                buffer = new byte[canonical.length() * 3];
+            }
+            expected.reset();
+            expected.update(row.getBytes(StandardCharsets.UTF_8));
+            actual.reset();
+            actual.update(buffer, 0, CatalogSeeder.encodeUtf8(canonical, buffer));
+            assertEquals(row, expected.getValue(), actual.getValue());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.pokerun.data.write;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica la fusión de WriteQueue y que, con varios productores a la vez,
+ * deja el mismo estado que escribir cada modificación en su propia
+ * transacción, con menos commits.
+ * 
+ * La base de datos se simula con un bloqueo de escritura (como el de SQLite)
+ * y un coste fijo por commit que representa el fsync, de modo que las
+ * escrituras se acumulan mientras el escritor está ocupado. Cada acción de
+ * usuario son las escrituras que hace la app: fin de entrenamiento (insertar
+ * entrenamiento + huevos + caramelos) o eclosión (marcar obtenido +
+ * desbloquear en la Pokédex).
+ */
+public class WriteQueueTest {
+    private static final long FSYNC_NANOS = TimeUnit.MICROSECONDS.toNanos(300);
+    private static final int PRODUCERS = 4;
+    private static final int ACTIONS_PER_PRODUCER = 250;
+    
+    @Test
+    public void adjacentBagDeltasAreMerged() throws Exception {
+        FakeDatabase db = new FakeDatabase(0);
+        List<Runnable> scheduled = new ArrayList<>();
+        WriteQueue queue = new WriteQueue(db::runInTransaction, db::addToBag, scheduled::add);
+        
+        queue.addToBag(1, 0);
+        queue.addToBag(0, 2);
+        WriteFuture<Integer> read = queue.submit(() -> db.eggs * 100 + db.candies);
+        queue.addToBag(1, 1);
+        assertEquals(1, scheduled.size());
+        
+        scheduled.remove(0).run();
+        
+        assertEquals("La escritura intermedia ve los incrementos anteriores", 102, (int) read.get());
+        assertEquals(2, db.eggs);
+        assertEquals(3, db.candies);
+        assertEquals(2, queue.getBagUpdates());
+        assertEquals(1, queue.getCommittedTransactions());
+        assertTrue(scheduled.isEmpty());
+    }
+    
+    @Test
+    public void failedBatchIsRetriedPerWrite() throws Exception {
+        FakeDatabase db = new FakeDatabase(0);
+        List<Runnable> scheduled = new ArrayList<>();
+        WriteQueue queue = new WriteQueue(db::runInTransaction, db::addToBag, scheduled::add);
+        
+        WriteFuture<Void> eggs = queue.addToBag(1, 0);
+        WriteFuture<Object> broken = queue.submit(() -> {
+            throw new IllegalStateException("fallo simulado");
+        });
+        WriteFuture<Void> candies = queue.addToBag(0, 1);
+        scheduled.remove(0).run();
+        
+        eggs.get();
+        candies.get();
+        assertTrue(broken.isDone());
+        assertEquals(1, db.eggs);
+        assertEquals(1, db.candies);
+        try {
+            broken.get();
+            throw new AssertionError("La escritura defectuosa debía fallar");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+    }
+    
+    @Test
+    public void concurrentProducersMatchDirectWrites() throws Exception {
+        FakeDatabase direct = new FakeDatabase(FSYNC_NANOS);
+        runProducers(producer -> {
+            for (int i = 0; i < ACTIONS_PER_PRODUCER; i++) {
+                if (i % 2 == 0) {
+                    direct.runInTransaction(direct::insertWorkout);
+                    direct.runInTransaction(() -> direct.addToBag(1, 0));
+                    direct.runInTransaction(() -> direct.addToBag(0, 2));
+                } else {
+                    direct.runInTransaction(direct::markObtained);
+                    direct.runInTransaction(direct::unlockEntry);
+                }
+            }
+        });
+        
+        FakeDatabase queued = new FakeDatabase(FSYNC_NANOS);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        WriteQueue queue = new WriteQueue(queued::runInTransaction, queued::addToBag, writer);
+        List<WriteFuture<Void>> last = new ArrayList<>();
+        runProducers(producer -> {
+            WriteFuture<Void> future = null;
+            for (int i = 0; i < ACTIONS_PER_PRODUCER; i++) {
+                if (i % 2 == 0) {
+                    queue.execute(queued::insertWorkout);
+                    queue.addToBag(1, 0);
+                    future = queue.addToBag(0, 2);
+                } else {
+                    queue.execute(queued::markObtained);
+                    future = queue.execute(queued::unlockEntry);
+                }
+            }
+            // El orden del escritor único garantiza que todo lo anterior ya hizo commit
+            future.get();
+        });
+        writer.shutdown();
+        
+        assertEquals(direct.eggs, queued.eggs);
+        assertEquals(direct.candies, queued.candies);
+        assertEquals(direct.rows, queued.rows);
+        assertTrue("La cola debe hacer menos commits", queue.getCommittedTransactions() < direct.commits);
+    }
+    
+    private interface Producer {
+        void run(int producer) throws Exception;
+    }
+    
+    private static void runProducers(Producer body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            futures.add(pool.submit(() -> {
+                body.run(producer);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+    }
+    
+    /**
+     * Base de datos simulada: un bloqueo de escritura, un coste por commit y
+     * rollback del estado si la transacción lanza una excepción.
+     */
+    private static final class FakeDatabase {
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final long commitNanos;
+        int eggs;
+        int candies;
+        /** Filas escritas fuera de la mochila (entrenamientos, Pokémon, Pokédex) */
+        int rows;
+        int commits;
+        
+        FakeDatabase(long commitNanos) {
+            this.commitNanos = commitNanos;
+        }
+        
+        void runInTransaction(Runnable body) {
+            writeLock.lock();
+            int[] before = {eggs, candies, rows};
+            try {
+                body.run();
+                if (commitNanos > 0) {
+                    LockSupport.parkNanos(commitNanos);
+                }
+                commits++;
+            } catch (RuntimeException e) {
+                // Revertir, como haría SQLite
+                eggs = before[0];
+                candies = before[1];
+                rows = before[2];
+                throw e;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        
+        void addToBag(int eggDelta, int candyDelta) {
+            eggs += eggDelta;
+            candies += candyDelta;
+        }
+        
+        void insertWorkout() {
+            rows++;
+        }
+        
+        void markObtained() {
+            rows++;
+        }
+        
+        void unlockEntry() {
+            rows++;
+        }
+    }
+}